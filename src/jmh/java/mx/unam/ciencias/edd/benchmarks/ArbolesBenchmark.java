@@ -0,0 +1,95 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import mx.unam.ciencias.edd.ArbolAVL;
+import mx.unam.ciencias.edd.ArbolBinarioOrdenado;
+import mx.unam.ciencias.edd.ArbolRojinegro;
+
+/**
+ * Benchmarks de {@link ArbolBinarioOrdenado}, {@link ArbolRojinegro} y
+ * {@link ArbolAVL}: construcción elemento por elemento y de una vez a partir
+ * de elementos ordenados, búsquedas y recorridos.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArbolesBenchmark {
+
+    @Param({"ARBOLBINARIOORDENADO", "ARBOLROJINEGRO", "ARBOLAVL"})
+    public String arbol;
+
+    @Param({"1000", "100000", "1000000"})
+    public int n;
+
+    @Param({"aleatorio", "ordenado"})
+    public String distribucion;
+
+    private Integer[] datos;
+    private Integer[] ordenados;
+    private ArbolBinarioOrdenado<Integer> construido;
+    private int siguiente;
+
+    @Setup public void prepara() {
+        int[] enteros = Datos.aleatorios(n);
+        if (distribucion.equals("ordenado"))
+            Arrays.sort(enteros);
+        datos = Datos.envuelve(enteros);
+        ordenados = datos.clone();
+        Arrays.sort(ordenados);
+        construido = agrega();
+    }
+
+    private ArbolBinarioOrdenado<Integer> nuevo() {
+        switch (arbol) {
+            case "ARBOLROJINEGRO": return new ArbolRojinegro<>();
+            case "ARBOLAVL": return new ArbolAVL<>();
+            default: return new ArbolBinarioOrdenado<>();
+        }
+    }
+
+    @Benchmark public ArbolBinarioOrdenado<Integer> agrega() {
+        ArbolBinarioOrdenado<Integer> a = nuevo();
+        for (Integer e : datos)
+            a.agrega(e);
+        return a;
+    }
+
+    @Benchmark public ArbolBinarioOrdenado<Integer> construyeOrdenado() {
+        switch (arbol) {
+            case "ARBOLROJINEGRO": return new ArbolRojinegro<>(ordenados);
+            case "ARBOLAVL": return new ArbolAVL<>(ordenados);
+            default: return new ArbolBinarioOrdenado<>(ordenados);
+        }
+    }
+
+    @Benchmark @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean contiene() {
+        siguiente = (siguiente + 0x9E3779B9) & Integer.MAX_VALUE;
+        return construido.contiene(datos[siguiente % n]);
+    }
+
+    @Benchmark public void dfsInOrder(Blackhole bh) {
+        construido.dfsInOrder(v -> bh.consume(v));
+    }
+
+    @Benchmark public int altura() {
+        return construido.altura();
+    }
+}
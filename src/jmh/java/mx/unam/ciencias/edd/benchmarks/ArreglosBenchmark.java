@@ -0,0 +1,95 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Arreglos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de los ordenamientos y búsquedas de {@link Arreglos}. Cada
+ * ordenamiento trabaja sobre una copia de los datos; los benchmarks
+ * <code>copia*</code> miden sólo la copia, para poder restarla. Los
+ * ordenamientos cuadráticos están en {@link SelectionSortBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArreglosBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int n;
+
+    private int[] enteros;
+    private Integer[] envueltos;
+    private int[] ordenados;
+    private Integer[] ordenadosEnvueltos;
+    private int siguiente;
+
+    @Setup public void prepara() {
+        enteros = Datos.aleatorios(n);
+        envueltos = Datos.envuelve(enteros);
+        ordenados = enteros.clone();
+        Arreglos.radixSort(ordenados);
+        ordenadosEnvueltos = Datos.envuelve(ordenados);
+    }
+
+    /* Regresa el índice de un elemento distinto para cada búsqueda. */
+    private int indice() {
+        siguiente = (siguiente + 0x9E3779B9) & Integer.MAX_VALUE;
+        return siguiente % n;
+    }
+
+    @Benchmark public int[] copiaEnteros() {
+        return enteros.clone();
+    }
+
+    @Benchmark public Integer[] copiaEnvueltos() {
+        return envueltos.clone();
+    }
+
+    @Benchmark public Integer[] quickSortEnvueltos() {
+        Integer[] a = envueltos.clone();
+        Arreglos.quickSort(a);
+        return a;
+    }
+
+    @Benchmark public Integer[] parallelSortEnvueltos() {
+        Integer[] a = envueltos.clone();
+        Arreglos.parallelSort(a);
+        return a;
+    }
+
+    @Benchmark public int[] quickSortEnteros() {
+        int[] a = enteros.clone();
+        Arreglos.quickSort(a);
+        return a;
+    }
+
+    @Benchmark public int[] radixSortEnteros() {
+        int[] a = enteros.clone();
+        Arreglos.radixSort(a);
+        return a;
+    }
+
+    @Benchmark @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int busquedaBinariaEnvueltos() {
+        return Arreglos.busquedaBinaria(ordenadosEnvueltos, ordenadosEnvueltos[indice()]);
+    }
+
+    @Benchmark @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int busquedaBinariaEnteros() {
+        return Arreglos.busquedaBinaria(ordenados, ordenados[indice()]);
+    }
+}
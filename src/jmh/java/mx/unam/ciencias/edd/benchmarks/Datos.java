@@ -0,0 +1,65 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Datos de entrada para los benchmarks. Se generan con semilla fija, así que
+ * todas las corridas miden lo mismo.
+ */
+final class Datos {
+
+    /* La semilla de los datos. */
+    private static final long SEMILLA = 20240501L;
+
+    private Datos() {}
+
+    /* Regresa n enteros aleatorios. */
+    static int[] aleatorios(int n) {
+        Random random = new Random(SEMILLA);
+        int[] datos = new int[n];
+        for (int i = 0; i < n; i++)
+            datos[i] = random.nextInt();
+        return datos;
+    }
+
+    /* Regresa n enteros aleatorios, envueltos. */
+    static Integer[] aleatoriosEnvueltos(int n) {
+        return envuelve(aleatorios(n));
+    }
+
+    /* Envuelve los enteros de un arreglo. */
+    static Integer[] envuelve(int[] datos) {
+        Integer[] envueltos = new Integer[datos.length];
+        for (int i = 0; i < datos.length; i++)
+            envueltos[i] = datos[i];
+        return envueltos;
+    }
+
+    /* Regresa n enteros con la distribución recibida: aleatorios, ordenados,
+     * en orden inverso o aleatorios con muchos repetidos. */
+    static int[] distribucion(String distribucion, int n) {
+        int[] datos;
+        switch (distribucion) {
+            case "aleatorio":
+                return aleatorios(n);
+            case "ordenado":
+                datos = new int[n];
+                for (int i = 0; i < n; i++)
+                    datos[i] = i;
+                return datos;
+            case "reverso":
+                datos = new int[n];
+                for (int i = 0; i < n; i++)
+                    datos[i] = n - i;
+                return datos;
+            case "repetidos":
+                datos = aleatorios(n);
+                int m = Math.max((int)Math.sqrt(n), 1);
+                for (int i = 0; i < n; i++)
+                    datos[i] = Math.floorMod(datos[i], m);
+                return datos;
+            default:
+                throw new IllegalArgumentException("Distribución inválida: " + distribucion);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import mx.unam.ciencias.edd.Grafica;
+
+/**
+ * Benchmarks de {@link Grafica}: construcción, adyacencias y recorridos. Las
+ * gráficas tienen <em>n</em> vértices y, en promedio, dos aristas por
+ * vértice.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraficaBenchmark {
+
+    @Param({"1000", "100000"})
+    public int n;
+
+    private int[] aristas;
+    private Grafica<Integer> grafica;
+    private int siguiente;
+
+    @Setup public void prepara() {
+        int[] aleatorios = Datos.aleatorios(4 * n);
+        aristas = new int[4 * n];
+        for (int i = 0; i < aristas.length; i++)
+            aristas[i] = Math.floorMod(aleatorios[i], n);
+        grafica = construye();
+    }
+
+    @Benchmark public Grafica<Integer> construye() {
+        Grafica<Integer> g = new Grafica<>();
+        for (int i = 0; i < n; i++)
+            g.agrega(i);
+        for (int i = 0; i < aristas.length; i += 2) {
+            int a = aristas[i], b = aristas[i + 1];
+            if (a != b && !g.sonVecinos(a, b))
+                g.conecta(a, b);
+        }
+        return g;
+    }
+
+    @Benchmark @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean sonVecinos() {
+        siguiente = (siguiente + 2) % aristas.length;
+        return grafica.sonVecinos(aristas[siguiente], aristas[siguiente + 1]);
+    }
+
+    @Benchmark public void bfs(Blackhole bh) {
+        grafica.bfs(0, v -> bh.consume(v));
+    }
+
+    @Benchmark public void dfs(Blackhole bh) {
+        grafica.dfs(0, v -> bh.consume(v));
+    }
+}
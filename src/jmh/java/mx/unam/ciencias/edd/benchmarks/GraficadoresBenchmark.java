@@ -0,0 +1,133 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.ArbolAVL;
+import mx.unam.ciencias.edd.ArbolBinarioCompleto;
+import mx.unam.ciencias.edd.ArbolBinarioOrdenado;
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import mx.unam.ciencias.edd.Grafica;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.proyecto2.ArregloEnteros;
+import mx.unam.ciencias.edd.proyecto2.LectorEntrada;
+import mx.unam.ciencias.edd.proyecto2.plotter.GraficaABC;
+import mx.unam.ciencias.edd.proyecto2.plotter.GraficaABO;
+import mx.unam.ciencias.edd.proyecto2.plotter.GraficaAVL;
+import mx.unam.ciencias.edd.proyecto2.plotter.GraficaCola;
+import mx.unam.ciencias.edd.proyecto2.plotter.GraficaGrafica;
+import mx.unam.ciencias.edd.proyecto2.plotter.GraficaListas;
+import mx.unam.ciencias.edd.proyecto2.plotter.GraficaMM;
+import mx.unam.ciencias.edd.proyecto2.plotter.GraficaPila;
+import mx.unam.ciencias.edd.proyecto2.plotter.GraficaRojinegros;
+import mx.unam.ciencias.edd.proyecto2.plotter.SalidaSVG;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de los graficadores SVG. La estructura se construye una vez y
+ * cada operación la dibuja completa en una salida que descarta lo que
+ * recibe, así que se mide el acomodo y la escritura del SVG, pero no la
+ * entrada ni la salida estándar.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraficadoresBenchmark {
+
+    @Param({"ARBOLAVL", "ARBOLBINARIOCOMPLETO", "ARBOLBINARIOORDENADO",
+            "ARBOLROJINEGRO", "COLA", "GRAFICA", "LISTA", "MONTICULOMINIMO",
+            "PILA"})
+    public String estructura;
+
+    @Param({"100", "10000", "100000"})
+    public int n;
+
+    private ArregloEnteros enteros;
+    private ArbolAVL<Integer> avl;
+    private ArbolBinarioCompleto<Integer> abc;
+    private ArbolBinarioOrdenado<Integer> abo;
+    private ArbolRojinegro<Integer> rojinegro;
+    private Grafica<Integer> grafica;
+    private Lista<Integer> ordenada;
+
+    @Setup public void prepara() {
+        enteros = new ArregloEnteros(n);
+        int[] aleatorios = Datos.aleatorios(n);
+        for (int i = 0; i < n; i++)
+            enteros.agrega(estructura.equals("GRAFICA") ?
+                           Math.floorMod(aleatorios[i], n / 2) : aleatorios[i]);
+        switch (estructura) {
+            case "ARBOLAVL":
+                avl = LectorEntrada.avlElementos(enteros);
+                break;
+            case "ARBOLBINARIOCOMPLETO":
+                abc = LectorEntrada.abcElementos(enteros);
+                break;
+            case "ARBOLBINARIOORDENADO":
+                abo = LectorEntrada.aboElementos(enteros);
+                break;
+            case "ARBOLROJINEGRO":
+                rojinegro = LectorEntrada.arnElementos(enteros);
+                break;
+            case "GRAFICA":
+                grafica = LectorEntrada.graficaElementos(enteros);
+                break;
+            case "MONTICULOMINIMO":
+                ordenada = LectorEntrada.elementos(enteros);
+                Lista.ordena(ordenada);
+                abc = new ArbolBinarioCompleto<>(ordenada);
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Benchmark public SalidaSVG dibuja() {
+        SalidaSVG salida = new SalidaSVG(Writer.nullWriter());
+        switch (estructura) {
+            case "ARBOLAVL":
+                new GraficaAVL().dibujaAVL(avl, salida);
+                break;
+            case "ARBOLBINARIOCOMPLETO":
+                new GraficaABC().dibujaABC(abc, salida);
+                break;
+            case "ARBOLBINARIOORDENADO":
+                new GraficaABO().dibujaABO(abo, salida);
+                break;
+            case "ARBOLROJINEGRO":
+                new GraficaRojinegros().dibujaAR(rojinegro, salida);
+                break;
+            case "COLA":
+                new GraficaCola().dibujaCola(enteros.arreglo(), enteros.getElementos(), salida);
+                break;
+            case "GRAFICA":
+                new GraficaGrafica().dibujaGrafica(grafica, salida);
+                break;
+            case "LISTA":
+                new GraficaListas().dibujaLista(enteros.arreglo(), enteros.getElementos(), salida);
+                break;
+            case "MONTICULOMINIMO":
+                new GraficaMM().dibujaMM(abc, ordenada, salida);
+                break;
+            case "PILA":
+                new GraficaPila().dibujaPila(enteros.arreglo(), enteros.getElementos(), salida);
+                break;
+            default:
+                throw new IllegalArgumentException(estructura);
+        }
+        salida.flush();
+        return salida;
+    }
+}
@@ -0,0 +1,75 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import mx.unam.ciencias.edd.Lista;
+
+/**
+ * Benchmarks de {@link Lista}: construcción, ordenamiento y búsqueda.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListaBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int n;
+
+    private Integer[] datos;
+    private Lista<Integer> lista;
+    /* Lista desordenada nueva para cada ordenamiento en su lugar. */
+    private Lista<Integer> desordenada;
+
+    @Setup public void prepara() {
+        datos = Datos.aleatoriosEnvueltos(n);
+        lista = llena();
+    }
+
+    @Setup(Level.Invocation) public void preparaDesordenada() {
+        desordenada = llena();
+    }
+
+    private Lista<Integer> llena() {
+        Lista<Integer> l = new Lista<>();
+        for (Integer e : datos)
+            l.agrega(e);
+        return l;
+    }
+
+    @Benchmark public Lista<Integer> agrega() {
+        return llena();
+    }
+
+    @Benchmark public Lista<Integer> mergeSort() {
+        return Lista.mergeSort(lista);
+    }
+
+    @Benchmark public Lista<Integer> ordena() {
+        Lista.ordena(desordenada);
+        return desordenada;
+    }
+
+    @Benchmark public void recorre(Blackhole bh) {
+        for (Integer e : lista)
+            bh.consume(e);
+    }
+
+    @Benchmark public boolean contieneUltimo() {
+        return lista.contiene(datos[n - 1]);
+    }
+}
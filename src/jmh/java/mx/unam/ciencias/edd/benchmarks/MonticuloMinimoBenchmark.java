@@ -0,0 +1,45 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MonticuloMinimo;
+
+/**
+ * Benchmarks de {@link MonticuloMinimo#heapSort}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonticuloMinimoBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int n;
+
+    private Lista<Integer> lista;
+
+    @Setup public void prepara() {
+        lista = new Lista<>();
+        for (Integer e : Datos.aleatoriosEnvueltos(n))
+            lista.agrega(e);
+    }
+
+    @Benchmark public Lista<Integer> heapSort() {
+        return MonticuloMinimo.heapSort(lista);
+    }
+}
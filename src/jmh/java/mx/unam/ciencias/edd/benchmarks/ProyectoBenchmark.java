@@ -0,0 +1,126 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.proyecto2.CreaEstructura;
+import mx.unam.ciencias.edd.proyecto2.LectorEntrada;
+import mx.unam.ciencias.edd.proyecto2.Tokenizador;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark del programa completo: cada operación lee un archivo de entrada,
+ * construye la estructura y escribe su SVG, como lo hace {@link
+ * mx.unam.ciencias.edd.proyecto2.Proyecto2}. La salida se descarta, pero se
+ * cuentan los bytes escritos y el tiempo hasta el primer byte; la memoria
+ * reservada se mide agregando <code>-prof gc</code> a los argumentos de JMH.
+ *
+ * Las entradas grandes tardan segundos en dibujarse, así que cada iteración
+ * es una sola operación.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProyectoBenchmark {
+
+    @Param({"ARBOLAVL", "ARBOLBINARIOCOMPLETO", "ARBOLBINARIOORDENADO",
+            "ARBOLROJINEGRO", "COLA", "GRAFICA", "LISTA", "MONTICULOMINIMO",
+            "PILA"})
+    public String estructura;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int n;
+
+    @Param({"aleatorio", "ordenado", "reverso", "repetidos"})
+    public String distribucion;
+
+    /* El archivo con la entrada del programa. */
+    private Path archivo;
+
+    /**
+     * Los contadores de la salida de una operación: los bytes escritos y los
+     * nanosegundos desde que empezó la operación hasta el primer byte. JMH
+     * suma los contadores de todas las iteraciones medidas, así que el valor
+     * por operación es el reportado entre <code>Cnt</code>.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Contadores {
+        public long bytes;
+        public long primerByteNs;
+
+        @Setup(Level.Iteration) public void limpia() {
+            bytes = primerByteNs = 0;
+        }
+    }
+
+    /* Flujo que descarta lo que recibe, contando los bytes y el momento en
+     * que llegó el primero. */
+    private static class Contador extends OutputStream {
+
+        private long inicio, primero = -1, bytes;
+
+        public Contador() {
+            inicio = System.nanoTime();
+        }
+
+        private void cuenta(int n) {
+            if (primero < 0 && n > 0)
+                primero = System.nanoTime();
+            bytes += n;
+        }
+
+        @Override public void write(int b) {
+            cuenta(1);
+        }
+
+        @Override public void write(byte[] b, int off, int len) {
+            cuenta(len);
+        }
+    }
+
+    @Setup(Level.Trial) public void prepara() throws IOException {
+        int[] datos = Datos.distribucion(distribucion, n);
+        archivo = Files.createTempFile("proyecto2-", ".txt");
+        try (PrintWriter escritor = new PrintWriter(Files.newBufferedWriter(archivo))) {
+            escritor.println(estructura);
+            int m = Math.max(n / 2, 1);
+            for (int i = 0; i < n; i++)
+                escritor.println(estructura.equals("GRAFICA") ?
+                                 Math.floorMod(datos[i], m) : datos[i]);
+        }
+    }
+
+    @TearDown(Level.Trial) public void borra() throws IOException {
+        Files.deleteIfExists(archivo);
+    }
+
+    @Benchmark public void programa(Contadores contadores) throws IOException {
+        Contador contador = new Contador();
+        try (Tokenizador entrada = LectorEntrada.reader(archivo.toString())) {
+            CreaEstructura.estructura(entrada, contador);
+        }
+        contadores.bytes += contador.bytes;
+        if (contador.primero >= 0)
+            contadores.primerByteNs += contador.primero - contador.inicio;
+    }
+}
@@ -0,0 +1,51 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import mx.unam.ciencias.edd.Arreglos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de {@link Arreglos#selectionSort}, con tamaños chicos porque el
+ * ordenamiento es cuadrático.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectionSortBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int n;
+
+    private int[] enteros;
+    private Integer[] envueltos;
+
+    @Setup public void prepara() {
+        enteros = Datos.aleatorios(n);
+        envueltos = Datos.envuelve(enteros);
+    }
+
+    @Benchmark public Integer[] selectionSortEnvueltos() {
+        Integer[] a = envueltos.clone();
+        Arreglos.selectionSort(a);
+        return a;
+    }
+
+    @Benchmark public int[] selectionSortEnteros() {
+        int[] a = enteros.clone();
+        Arreglos.selectionSort(a);
+        return a;
+    }
+}
@@ -14,9 +14,6 @@ public class ArbolAVL<T extends Comparable<T>>
      */
     protected class VerticeAVL extends Vertice {
 
-        /** La altura del vértice. */
-        public int altura;
-
         /**
          * Constructor único que recibe un elemento.
          * @param elemento el elemento del vértice.
@@ -26,15 +23,6 @@ public class ArbolAVL<T extends Comparable<T>>
 	    super(elemento);
         }
 
-        /**
-         * Regresa la altura del vértice.
-         * @return la altura del vértice.
-         */
-        @Override public int altura() {
-            // Aquí va su código.
-	    return altura;
-        }
-
         /**
          * Regresa una representación en cadena del vértice AVL.
          * @return una representación en cadena del vértice AVL.
@@ -77,6 +65,31 @@ public class ArbolAVL<T extends Comparable<T>>
         super(coleccion);
     }
 
+    /**
+     * Construye un árbol AVL balanceado a partir de un arreglo ordenado, en
+     * tiempo <em>O(n)</em> y sin hacer ningún giro.
+     * @param ordenados el arreglo ordenado con los elementos del árbol.
+     * @throws IllegalArgumentException si el arreglo no está ordenado o
+     *         contiene a <code>null</code>.
+     */
+    public ArbolAVL(T[] ordenados) {
+        super(ordenados);
+    }
+
+    /**
+     * Construye un árbol AVL balanceado a partir de una lista, en tiempo
+     * <em>O(n)</em> si la lista ya está ordenada. Si no lo está, primero se
+     * ordena una copia de ella.
+     * @param lista la lista con los elementos del árbol.
+     * @param ordenada si la lista ya está ordenada.
+     * @throws IllegalArgumentException si la lista no está ordenada y
+     *         <code>ordenada</code> es <code>true</code>, o si contiene a
+     *         <code>null</code>.
+     */
+    public ArbolAVL(Lista<T> lista, boolean ordenada) {
+        super(lista, ordenada);
+    }
+
     /**
      * Construye un nuevo vértice, usando una instancia de {@link VerticeAVL}.
      * @param elemento el elemento dentro del vértice.
@@ -88,9 +101,11 @@ public class ArbolAVL<T extends Comparable<T>>
     }
 
     private void rebalanceo(VerticeAVL v){
-	if(v == null)
-	    return;
+	for(; v != null; v = vAVL(v.padre))
+	    rebalanceaVertice(v);
+    }
 
+    private void rebalanceaVertice(VerticeAVL v){
 	v.altura = Math.max(altura(vAVL(v.izquierdo)), altura(vAVL(v.derecho))) + 1;
 	
 	if(balance(v) == -2){
@@ -118,11 +133,14 @@ public class ArbolAVL<T extends Comparable<T>>
 	    hi.altura = Math.max(altura(vAVL(hi.izquierdo)), altura(vAVL(hi.derecho))) + 1;
 	    v.altura = Math.max(altura(vAVL(v.izquierdo)), altura(vAVL(v.derecho))) + 1;	    
 	}
-
-	rebalanceo(vAVL(v.padre));
-	
     }
 
+    /**
+     * No hace nada: el rebalanceo recalcula las alturas de todo el camino a
+     * la raíz después de agregar, así que las alturas nunca son inválidas.
+     */
+    @Override protected void invalidaAlturas() {}
+
     private int balance(VerticeAVL v){
 	return altura(vAVL(v.izquierdo)) - altura(vAVL(v.derecho));
     }
@@ -23,6 +23,9 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
         protected Vertice izquierdo;
         /** El derecho del vértice. */
         protected Vertice derecho;
+        /** La altura del vértice; las subclases la mantienen al modificar
+         *  la forma del árbol. */
+        protected int altura;
 
         /**
          * Constructor único que recibe un elemento.
@@ -104,20 +107,16 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
         }
 
         /**
-         * Regresa la altura del vértice.
+         * Regresa la altura del vértice. La altura se guarda en el vértice,
+         * así que este método es de tiempo constante, salvo la primera vez
+         * que se llama después de que el árbol invalidó sus alturas.
          * @return la altura del vértice.
          */
         @Override public int altura() {
             // Aquí va su código.
-			
-	    if(!hayIzquierdo() && !hayDerecho())
-		return 0;
-	    else if(hayIzquierdo() && !hayDerecho())
-		return 1 + izquierdo.altura();
-	    else if(!hayIzquierdo() && hayDerecho())
-		return 1 + derecho.altura();
-	    else
-		return 1 + Math.max(izquierdo.altura(), derecho.altura());
+	    if(alturasInvalidas)
+		calculaAlturas();
+	    return altura;
         }
 
         /**
@@ -126,10 +125,11 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
          */
         @Override public int profundidad() {
             // Aquí va su código.
-	    if(padre == null) // Es la raíz
-		return 0;
-	    
-	    return 1 + padre.profundidad(); // No es la raíæ
+	    int profundidad = 0;
+	    for(Vertice v = padre; v != null; v = v.padre)
+		profundidad++;
+
+	    return profundidad;
         }
 
         /**
@@ -184,6 +184,8 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
     protected Vertice raiz;
     /** El número de elementos */
     protected int elementos;
+    /* Si las alturas guardadas en los vértices dejaron de ser válidas. */
+    private boolean alturasInvalidas;
 
     /**
      * Constructor sin parámetros. Tenemos que definirlo para no perderlo.
@@ -227,6 +229,138 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
 			
     }
 
+    /**
+     * Recalcula la altura del vértice recibido a partir de las alturas de sus
+     * hijos, y la de sus ancestros mientras siga cambiando. Las subclases deben
+     * llamarlo sobre el padre de cualquier vértice que agreguen o eliminen.
+     * @param vertice el primer vértice cuya altura se recalcula; puede ser
+     *        <code>null</code>.
+     */
+    protected void actualizaAlturas(Vertice vertice) {
+	if(alturasInvalidas)
+	    return;
+	while(vertice != null){
+	    int altura = alturaCalculada(vertice);
+	    if(altura == vertice.altura)
+		return;
+	    vertice.altura = altura;
+	    vertice = vertice.padre;
+	}
+    }
+
+    /**
+     * Marca las alturas de todos los vértices como inválidas; se recalculan
+     * todas juntas, en tiempo <em>O(n)</em>, la siguiente vez que se pida
+     * alguna. Las subclases lo usan en lugar de {@link #actualizaAlturas}
+     * cuando actualizar las alturas en cada operación es demasiado caro, como
+     * al agregar elementos ordenados a un árbol que no se balancea.
+     */
+    protected void invalidaAlturas() {
+	alturasInvalidas = true;
+    }
+
+    /* Recalcula las alturas de todos los vértices en post-orden. */
+    private void calculaAlturas() {
+	alturasInvalidas = false;
+	for(Vertice v = primeroPostOrden(raiz); v != null; v = siguientePostOrden(v))
+	    v.altura = alturaCalculada(v);
+    }
+
+    /**
+     * Regresa el primer vértice en pre-orden después del vértice recibido.
+     * Los recorridos con este método y sus parecidos no usan recursión ni
+     * memoria adicional: suben por los padres de los vértices.
+     * @param vertice un vértice del árbol.
+     * @return el siguiente vértice en pre-orden, o <code>null</code> si el
+     *         vértice recibido es el último.
+     */
+    protected Vertice siguientePreOrden(Vertice vertice) {
+	if(vertice.izquierdo != null)
+	    return vertice.izquierdo;
+	if(vertice.derecho != null)
+	    return vertice.derecho;
+	while(vertice.padre != null){
+	    Vertice padre = vertice.padre;
+	    if(padre.izquierdo == vertice && padre.derecho != null)
+		return padre.derecho;
+	    vertice = padre;
+	}
+	return null;
+    }
+
+    /**
+     * Regresa el primer vértice en in-order del subárbol del vértice recibido.
+     * @param vertice la raíz del subárbol; puede ser <code>null</code>.
+     * @return el vértice de más a la izquierda del subárbol, o
+     *         <code>null</code> si el subárbol es vacío.
+     */
+    protected Vertice primeroInOrden(Vertice vertice) {
+	if(vertice == null)
+	    return null;
+	while(vertice.izquierdo != null)
+	    vertice = vertice.izquierdo;
+	return vertice;
+    }
+
+    /**
+     * Regresa el primer vértice en in-order después del vértice recibido.
+     * @param vertice un vértice del árbol.
+     * @return el siguiente vértice en in-order, o <code>null</code> si el
+     *         vértice recibido es el último.
+     */
+    protected Vertice siguienteInOrden(Vertice vertice) {
+	if(vertice.derecho != null)
+	    return primeroInOrden(vertice.derecho);
+	while(vertice.padre != null && vertice.padre.derecho == vertice)
+	    vertice = vertice.padre;
+	return vertice.padre;
+    }
+
+    /**
+     * Regresa el primer vértice en post-order del subárbol del vértice
+     * recibido.
+     * @param vertice la raíz del subárbol; puede ser <code>null</code>.
+     * @return la primera hoja del subárbol bajando por la izquierda siempre
+     *         que se pueda, o <code>null</code> si el subárbol es vacío.
+     */
+    protected Vertice primeroPostOrden(Vertice vertice) {
+	if(vertice == null)
+	    return null;
+	while(true){
+	    if(vertice.izquierdo != null)
+		vertice = vertice.izquierdo;
+	    else if(vertice.derecho != null)
+		vertice = vertice.derecho;
+	    else
+		return vertice;
+	}
+    }
+
+    /**
+     * Regresa el primer vértice en post-order después del vértice recibido.
+     * @param vertice un vértice del árbol.
+     * @return el siguiente vértice en post-order, o <code>null</code> si el
+     *         vértice recibido es la raíz.
+     */
+    protected Vertice siguientePostOrden(Vertice vertice) {
+	Vertice padre = vertice.padre;
+	if(padre != null && padre.izquierdo == vertice && padre.derecho != null)
+	    return primeroPostOrden(padre.derecho);
+	return padre;
+    }
+
+    /**
+     * Regresa la altura de un vértice calculada a partir de las alturas
+     * guardadas en sus hijos.
+     * @param vertice el vértice; no puede ser <code>null</code>.
+     * @return la altura del vértice según sus hijos.
+     */
+    protected int alturaCalculada(Vertice vertice) {
+	int izquierda = vertice.izquierdo == null ? -1 : vertice.izquierdo.altura;
+	int derecha = vertice.derecho == null ? -1 : vertice.derecho.altura;
+	return 1 + Math.max(izquierda, derecha);
+    }
+
     /**
      * Regresa el número de elementos que se han agregado al árbol.
      * @return el número de elementos en el árbol.
@@ -256,25 +390,11 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
      */
     public VerticeArbolBinario<T> busca(T elemento) {
         // Aquí va su código.
-	return buscaAux(elemento, raiz);
-    }
+	for(Vertice v = raiz; v != null; v = siguientePreOrden(v))
+	    if(v.elemento.equals(elemento))
+		return v;
 
-    private VerticeArbolBinario<T> buscaAux(T elemento, Vertice v){
-
-	if(v == null)
-	    return null;
-
-	if(v.elemento.equals(elemento))
-			return v;
-		
-	VerticeArbolBinario<T> izq = buscaAux(elemento, v.izquierdo);
-	VerticeArbolBinario<T> der = buscaAux(elemento, v.derecho);
-	
-	if(izq != null)
-	    return izq;
-	
-	return der;
-  
+	return null;
     }
 
     /**
@@ -307,6 +427,7 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
         // Aquí va su código.
 	raiz = null;
 	elementos = 0;
+	alturasInvalidas = false;
     }
 
     /**
@@ -328,50 +449,17 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
 	return esVacia() && arbol.esVacia();
     }
 
-    private String dibujaEspacios(int level, int [] arr){
-		
-	String s = "";
+    private void dibujaEspacios(StringBuilder s, int level, int [] arr){
 		
 	for(int i = 0; i <= level - 1; i++){
 	    if(arr[i] == 1)
-		s += "│  ";
+		s.append("│  ");
 	    else
-		s += "   ";
+		s.append("   ");
 	}
-	
-	return s;
 
     }
 
-
-    private String toString(Vertice v, int nivel, int [] arreglo){
-
-	String s = v.toString() + "\n";
-	arreglo[nivel] = 1;
-
-        if (v.izquierdo != null && v.derecho != null) {
-            s += dibujaEspacios(nivel, arreglo);
-	    s += "├─›";
-            s += toString(v.izquierdo, nivel + 1, arreglo);
-            s += dibujaEspacios(nivel, arreglo);
-	    s += "└─»";
-            arreglo[nivel] = 0;
-            s += toString(v.derecho, nivel + 1, arreglo);
-        } else if (v.izquierdo != null) {
-            s += dibujaEspacios(nivel, arreglo);
-	    s += "└─›";
-            arreglo[nivel] = 0;
-            s += toString(v.izquierdo, nivel + 1, arreglo);
-        } else if (v.derecho != null) {
-            s += dibujaEspacios(nivel, arreglo);
-	    s += "└─»";
-            arreglo[nivel] = 0;
-            s += toString(v.derecho, nivel + 1, arreglo);
-        }
-
-        return s;	
-    }
-
 	/**
      * Regresa una representación en cadena del árbol.
      * @return una representación en cadena del árbol.
@@ -382,12 +470,38 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
 	if(raiz == null)
 	    return "";
 
+	/* Recorremos el árbol en pre-orden sin recursión. a[i] es 1 si el
+	 * ancestro de nivel i todavía tiene que dibujar a su hijo derecho. */
 	int [] a = new int[altura() + 1];
+	StringBuilder s = new StringBuilder();
+	int nivel = 0;
+	Vertice v = raiz;
+
+	while(true){
+	    s.append(v.toString()).append('\n');
+
+	    Vertice siguiente = siguientePreOrden(v);
+	    if(siguiente == null)
+		break;
+
+	    /* Subimos desde v hasta el padre del siguiente vértice. */
+	    for(Vertice u = v; u != siguiente.padre; u = u.padre)
+		nivel--;
+	    nivel++;
+
+	    Vertice padre = siguiente.padre;
+	    dibujaEspacios(s, nivel - 1, a);
+	    if(padre.izquierdo == siguiente && padre.derecho != null){
+		s.append("├─›");
+		a[nivel - 1] = 1;
+	    } else {
+		s.append(padre.izquierdo == siguiente ? "└─›" : "└─»");
+		a[nivel - 1] = 0;
+	    }
+	    v = siguiente;
+	}
 
-	for(int i = 0; i < altura() + 1; i++)
-	    a[i] = 0;
-
-	return toString(raiz, 0, a);
+	return s.toString();
     }
 
     /**
@@ -1,6 +1,7 @@
 package mx.unam.ciencias.edd;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * <p>Clase para árboles binarios completos.</p>
@@ -13,39 +14,35 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
     /* Clase interna privada para iteradores. */
     private class Iterador implements Iterator<T> {
 
-        /* Cola para recorrer los vértices en BFS. */
-        private Cola<Vertice> cola;
+        /* Índice del siguiente vértice en orden BFS. */
+        private int siguiente;
 
         /* Inicializa al iterador. */
         private Iterador() {
             // Aquí va su código.
-            this.cola = new Cola<Vertice>();
-
-            if (raiz != null)
-                cola.mete(raiz);
+            siguiente = 0;
         }
 
         /* Nos dice si hay un elemento siguiente. */
         @Override public boolean hasNext() {
             // Aquí va su código.
-			return !cola.esVacia();
+			return siguiente < elementos;
         }
 
         /* Regresa el siguiente elemento en orden BFS. */
         @Override public T next() {
             // Aquí va su código.
-			Vertice v = cola.saca();
-
-			if(v.hayIzquierdo())
-				cola.mete(v.izquierdo);
-			if(v.hayDerecho())
-				cola.mete(v.derecho);
+			if(!hasNext())
+				throw new NoSuchElementException("No hay elemento siguiente.");
 
-			return v.elemento;
-			
+			return arreglo[siguiente++].elemento;
         }
     }
 
+    /* Los vértices del árbol en orden BFS. El padre del vértice en el índice
+     * i está en el índice (i-1)/2, y sus hijos en 2i+1 y 2i+2. */
+    private Vertice[] arreglo;
+
     /**
      * Constructor sin parámetros. Para no perder el constructor sin parámetros
      * de {@link ArbolBinario}.
@@ -75,43 +72,46 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
 			throw new IllegalArgumentException("Elemento inexistente");
 		// Vertice a agregar
 		Vertice v = nuevoVertice(elemento);
-		elementos ++;
-		
-		if(raiz == null){
+
+		// El arreglo se crea aquí y no en su declaración, porque el
+		// constructor que recibe una colección agrega antes de inicializar
+		// los campos de esta clase.
+		if(arreglo == null)
+			arreglo = nuevoArreglo(64);
+		else if(elementos == arreglo.length)
+			creceArreglo();
+
+		arreglo[elementos] = v;
+
+		if(elementos == 0){
 			raiz = v;
+			elementos ++;
 			return;
 		}
-		// Vertice con el primer hoyo.
-		Vertice ver = vertice(hoyoAux());
+		// Vertice con el primer hoyo; es el padre del índice nuevo.
+		Vertice ver = arreglo[(elementos - 1) / 2];
 		v.padre = ver;
 
 		if(ver.izquierdo == null)
 			ver.izquierdo = v;
 		else
 			ver.derecho = v;
-    }
-	
-	/* Nos da el primer vertice que no tiene hijo izquierdo
-	 * e hijo derecho, es decir, el primer hoyo. Para posteriormente
-	 * hacerlo padre el vertice a agregar. */
-	
-    private VerticeArbolBinario<T> hoyoAux() {
-        Cola<Vertice> cola = new Cola<Vertice>();
-        cola.mete(raiz);
-
-        Vertice v;
-        while(!cola.esVacia()) {
-            v = cola.saca();
 
-            if (v.izquierdo == null || v.derecho == null)
-                return v;
+		actualizaAlturas(ver);
+		elementos ++;
+    }
 
-            cola.mete(v.izquierdo);
-            cola.mete(v.derecho);
-        }
+	/* Truco para crear arreglos de vértices, que son genéricos. */
+	@SuppressWarnings("unchecked") private Vertice[] nuevoArreglo(int n) {
+		return (Vertice[])(new ArbolBinario.Vertice[n]);
+	}
 
-        return null;
-    }
+	/* Duplica el tamaño del arreglo de vértices. */
+	private void creceArreglo() {
+		Vertice[] nuevo = nuevoArreglo(arreglo.length * 2);
+		System.arraycopy(arreglo, 0, nuevo, 0, elementos);
+		arreglo = nuevo;
+	}
 
 	
     /**
@@ -131,10 +131,13 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
 
 		if(elementos == 0){
 			raiz = null;
+			arreglo[0] = null;
 			return;
 		}
 
-		Vertice ultimo = vertice(ultimoVertice());
+		// El último vértice en BFS es el último del arreglo.
+		Vertice ultimo = arreglo[elementos];
+		arreglo[elementos] = null;
 		v.elemento = ultimo.elemento;
 
 		if(ultimo.padre.izquierdo == ultimo)
@@ -142,36 +145,17 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
 
 		if(ultimo.padre.derecho == ultimo)
 			ultimo.padre.derecho = null;
-		
-		
-    }
-
-	/* Nos devuelve el último vertice agregado.
-	 * Por definición es el último que queda en la cola despús
-	 * de recorrer el árbol por BFS */
-	
-	private VerticeArbolBinario<T> ultimoVertice(){
-
-        Cola<Vertice> cola = new Cola<Vertice>();
-        cola.mete(raiz);
-		Vertice ultimo = raiz;
-        Vertice v;
-
-        while(!cola.esVacia()) {
-            v = cola.saca();
-			ultimo = v;
-			
-            if(v.izquierdo != null)
-				cola.mete(v.izquierdo);
-
-            if(v.derecho != null)
-				cola.mete(v.derecho);
-
-        }
 
-        return ultimo;
+		actualizaAlturas(ultimo.padre);
+    }
 
-	}
+    /**
+     * Limpia el árbol de elementos, dejándolo vacío.
+     */
+    @Override public void limpia() {
+        super.limpia();
+        arreglo = null;
+    }
 	
     /**
      * Regresa la altura del árbol. La altura de un árbol binario completo
@@ -196,21 +180,8 @@ public class ArbolBinarioCompleto<T> extends ArbolBinario<T> {
 		if(esVacia())
 			return;
 
-        Cola<Vertice> cola = new Cola<>();
-        cola.mete(raiz);
-	
-		while(!cola.esVacia()){
-			
-			Vertice v = cola.saca();
-			accion.actua(v);
-
-            if (v.izquierdo != null)
-                cola.mete(v.izquierdo);
-
-            if (v.derecho != null)
-                cola.mete(v.derecho);			
-			
-		}
+		for(int i = 0; i < elementos; i++)
+			accion.actua(arreglo[i]);
 		
 	}
 
@@ -1,6 +1,8 @@
 package mx.unam.ciencias.edd;
 
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * <p>Clase para árboles binarios ordenados. Los árboles son genéricos, pero
@@ -20,41 +22,30 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
     /* Clase interna privada para iteradores. */
     private class Iterador implements Iterator<T> {
 
-        /* Pila para recorrer los vértices en DFS in-order. */
-        private Pila<Vertice> pila;
+        /* El siguiente vértice en DFS in-order; se encuentra subiendo por
+         * los padres, así que el iterador no necesita una pila. */
+        private Vertice siguiente;
 
         /* Inicializa al iterador. */
         private Iterador() {
             // Aquí va su código.
-	    pila = new Pila<Vertice>();
-	    if(raiz == null)
-		return;
-
-	    pila.mete(raiz);
-	    Vertice v = raiz;
-
-	    while((v = v.izquierdo) != null)
-		pila.mete(v);
+	    siguiente = primeroInOrden(raiz);
         }
 
         /* Nos dice si hay un elemento siguiente. */
         @Override public boolean hasNext() {
             // Aquí va su código.
-	    return !pila.esVacia();
+	    return siguiente != null;
         }
 
         /* Regresa el siguiente elemento en orden DFS in-order. */
         @Override public T next() {
             // Aquí va su código.
-	    Vertice v = pila.saca();
+	    if(siguiente == null)
+		throw new NoSuchElementException("No hay elemento siguiente");
 
-	    if(v.hayDerecho()){
-		Vertice vder = v.derecho;
-		pila.mete(vder);
-
-		while((vder = vder.izquierdo) != null)
-		    pila.mete(vder);
-	    }
+	    Vertice v = siguiente;
+	    siguiente = siguienteInOrden(v);
 
 	    return v.elemento;
         }
@@ -69,6 +60,13 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
      */
     protected Vertice ultimoAgregado;
 
+    /* Dedo para agregar elementos ordenados: el último vértice agregado y
+     * los elementos de sus ancestros más cercanos por la derecha y por la
+     * izquierda, que acotan a los elementos que pueden colgar de él. Es
+     * null si otra operación cambió la forma del árbol. */
+    private Vertice dedo;
+    private T cotaInferior, cotaSuperior;
+
     /**
      * Constructor sin parámetros. Para no perder el constructor sin parámetros
      * de {@link ArbolBinario}.
@@ -85,6 +83,93 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
         super(coleccion);
     }
 
+    /**
+     * Construye un árbol binario ordenado balanceado a partir de un arreglo
+     * ordenado, en tiempo <em>O(n)</em>. Cada subárbol tiene en su raíz al
+     * elemento de en medio de los suyos, así que la altura del árbol es
+     * &lfloor;log<sub>2</sub> <em>n</em>&rfloor;.
+     * @param ordenados el arreglo ordenado con los elementos del árbol.
+     * @throws IllegalArgumentException si el arreglo no está ordenado o
+     *         contiene a <code>null</code>.
+     */
+    public ArbolBinarioOrdenado(T[] ordenados) {
+        construyeBalanceado(Arrays.asList(ordenados).iterator(), ordenados.length);
+    }
+
+    /**
+     * Construye un árbol binario ordenado balanceado a partir de una lista,
+     * en tiempo <em>O(n)</em> si la lista ya está ordenada. Si no lo está,
+     * primero se ordena una copia de ella.
+     * @param lista la lista con los elementos del árbol.
+     * @param ordenada si la lista ya está ordenada.
+     * @throws IllegalArgumentException si la lista no está ordenada y
+     *         <code>ordenada</code> es <code>true</code>, o si contiene a
+     *         <code>null</code>.
+     */
+    public ArbolBinarioOrdenado(Lista<T> lista, boolean ordenada) {
+        if (!ordenada)
+            lista = Lista.mergeSort(lista);
+        construyeBalanceado(lista.iterator(), lista.getLongitud());
+    }
+
+    /* Construye el árbol balanceado con los n elementos ordenados del
+     * iterador; el árbol debe ser vacío. */
+    private void construyeBalanceado(Iterator<T> ordenados, int n) {
+	int profundidadMaxima = n == 0 ? 0 : 31 - Integer.numberOfLeadingZeros(n);
+	elementos = n;
+	raiz = construyeSubarbol(ordenados, n, 0, profundidadMaxima);
+
+	/* Revisamos el orden recorriendo el árbol ya construido. */
+	T anterior = null;
+	for(Vertice v = primeroInOrden(raiz); v != null; v = siguienteInOrden(v)){
+	    if(v.elemento == null || (anterior != null && anterior.compareTo(v.elemento) > 0)){
+		limpia();
+		throw new IllegalArgumentException("Elementos no ordenados.");
+	    }
+	    anterior = v.elemento;
+	}
+    }
+
+    /* Construye un subárbol balanceado con los siguientes n elementos del
+     * iterador. El subárbol izquierdo recibe la mitad de los elementos
+     * restantes, redondeada hacia abajo; la recursión tiene profundidad
+     * logarítmica. */
+    private Vertice construyeSubarbol(Iterator<T> ordenados, int n,
+				      int profundidad, int profundidadMaxima) {
+	if(n == 0)
+	    return null;
+
+	int izquierdos = (n - 1) / 2;
+	Vertice izquierdo = construyeSubarbol(ordenados, izquierdos,
+					      profundidad + 1, profundidadMaxima);
+	Vertice v = nuevoVertice(ordenados.next());
+	Vertice derecho = construyeSubarbol(ordenados, n - 1 - izquierdos,
+					    profundidad + 1, profundidadMaxima);
+
+	v.izquierdo = izquierdo;
+	v.derecho = derecho;
+	if(izquierdo != null)
+	    izquierdo.padre = v;
+	if(derecho != null)
+	    derecho.padre = v;
+	v.altura = alturaCalculada(v);
+	verticeConstruido(v, profundidad, profundidadMaxima);
+	return v;
+    }
+
+    /**
+     * Método que se invoca sobre cada vértice al construir un árbol
+     * balanceado a partir de elementos ordenados, después de colgarle sus
+     * hijos y calcular su altura. Las subclases pueden sobrecargarlo para
+     * completar sus vértices; en esta clase no hace nada.
+     * @param vertice el vértice construido.
+     * @param profundidad la profundidad del vértice.
+     * @param profundidadMaxima la profundidad máxima de los vértices del
+     *        árbol; todas las hojas están en ella o en la anterior.
+     */
+    protected void verticeConstruido(Vertice vertice, int profundidad,
+				     int profundidadMaxima) {}
+
     /**
      * Agrega un nuevo elemento al árbol. El árbol conserva su orden in-order.
      * @param elemento el elemento a agregar.
@@ -97,33 +182,64 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
 	Vertice v = nuevoVertice(elemento);
 	elementos++;
 
-	if(raiz == null)
+	if(raiz == null){
 	    raiz = v;
-	else
-	   agregaAux(raiz, v);
+	    cotaInferior = cotaSuperior = null;
+	} else if(!agregaEnDedo(v)){
+	    agregaAux(raiz, v);
+	    actualizaAlturas(v.padre);
+	}
 
-	ultimoAgregado = v;
+	ultimoAgregado = dedo = v;
 	
     }
 
-    private void agregaAux(Vertice actual, Vertice nuevo){
-	if(nuevo.elemento.compareTo(actual.elemento) <= 0){
-	    if(actual.izquierdo == null){
-		actual.izquierdo = nuevo;
-		nuevo.padre = actual;
-	    } else {
-		agregaAux(actual.izquierdo, nuevo);
-	    }
+    /* Cuelga al vértice nuevo del dedo si ahí es donde lo dejaría el
+     * recorrido desde la raíz, lo que pasa siempre con elementos ordenados.
+     * Las alturas de todo el camino cambiarían, así que se invalidan. */
+    private boolean agregaEnDedo(Vertice nuevo){
+	if(dedo == null)
+	    return false;
+
+	T e = nuevo.elemento;
+	if(e.compareTo(dedo.elemento) <= 0){
+	    if(dedo.izquierdo != null || (cotaInferior != null && e.compareTo(cotaInferior) <= 0))
+		return false;
+	    dedo.izquierdo = nuevo;
+	    cotaSuperior = dedo.elemento;
 	} else {
-	    if(actual.derecho == null){
-		actual.derecho = nuevo;
-		nuevo.padre = actual;
+	    if(dedo.derecho != null || (cotaSuperior != null && e.compareTo(cotaSuperior) > 0))
+		return false;
+	    dedo.derecho = nuevo;
+	    cotaInferior = dedo.elemento;
+	}
+	nuevo.padre = dedo;
+	invalidaAlturas();
+	return true;
+    }
+
+    /* Baja desde el vértice actual hasta el lugar del vértice nuevo,
+     * guardando las cotas del dedo. */
+    private void agregaAux(Vertice actual, Vertice nuevo){
+	cotaInferior = cotaSuperior = null;
+	while(true){
+	    if(nuevo.elemento.compareTo(actual.elemento) <= 0){
+		cotaSuperior = actual.elemento;
+		if(actual.izquierdo == null){
+		    actual.izquierdo = nuevo;
+		    break;
+		}
+		actual = actual.izquierdo;
 	    } else {
-		agregaAux(actual.derecho, nuevo);
+		cotaInferior = actual.elemento;
+		if(actual.derecho == null){
+		    actual.derecho = nuevo;
+		    break;
+		}
+		actual = actual.derecho;
 	    }
-	      
-	} 
-	
+	}
+	nuevo.padre = actual;
     }
     
     /**
@@ -168,10 +284,10 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
     }
 
     private Vertice maximoEnSubarbol(Vertice v){
-	if(v.derecho == null)
-	    return v;
+	while(v.derecho != null)
+	    v = v.derecho;
 
-	return maximoEnSubarbol(v.derecho);
+	return v;
     }
     
     /**
@@ -194,7 +310,17 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
 
 	if(hijo != null)
 	    hijo.padre = vertice.padre;	
-	    
+
+	actualizaAlturas(vertice.padre);
+	dedo = null;
+    }
+
+    /**
+     * Limpia el árbol de elementos, dejándolo vacío.
+     */
+    @Override public void limpia() {
+	super.limpia();
+	dedo = null;
     }
 
     /**
@@ -206,21 +332,16 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
      */
     @Override public VerticeArbolBinario<T> busca(T elemento) {
         // Aquí va su código.
-	return buscaAux(elemento, raiz);
-    }
-
-    private VerticeArbolBinario<T> buscaAux(T elemento, Vertice v){
-	if(v == null)
-	    return null;
+	Vertice v = raiz;
 
-	if(elemento.equals(v.elemento))
-	    return v;
+	while(v != null){
+	    if(elemento.equals(v.elemento))
+		return v;
 
-	if(elemento.compareTo(v.elemento) < 0)
-	    return buscaAux(elemento, v.izquierdo);
+	    v = elemento.compareTo(v.elemento) < 0 ? v.izquierdo : v.derecho;
+	}
 
-	return buscaAux(elemento, v.derecho);
-		
+	return null;
     }
 
     /**
@@ -269,6 +390,11 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
 	
         hijo.derecho = actual;
         actual.padre = hijo;
+
+        actual.altura = alturaCalculada(actual);
+        hijo.altura = alturaCalculada(hijo);
+        actualizaAlturas(hijo.padre);
+        dedo = null;
     }
 
     /**
@@ -302,7 +428,11 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
 
 	hijo.izquierdo = actual;
         actual.padre = hijo;
-	
+
+        actual.altura = alturaCalculada(actual);
+        hijo.altura = alturaCalculada(hijo);
+        actualizaAlturas(hijo.padre);
+        dedo = null;
     }
 
     /**
@@ -312,17 +442,8 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
      */
     public void dfsPreOrder(AccionVerticeArbolBinario<T> accion) {
         // Aquí va su código.
-	dfsPreOrderAux(accion, raiz);
-    }
-
-    private void dfsPreOrderAux(AccionVerticeArbolBinario<T> accion, Vertice v){
-	if(v == null)
-	    return;
-	
-	accion.actua(v);
-	dfsPreOrderAux(accion, v.izquierdo);
-	dfsPreOrderAux(accion, v.derecho);
-	    
+	for(Vertice v = raiz; v != null; v = siguientePreOrden(v))
+	    accion.actua(v);
     }
 
     /**
@@ -332,17 +453,8 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
      */
     public void dfsInOrder(AccionVerticeArbolBinario<T> accion) {
         // Aquí va su código.
-	dfsInOrderAux(accion, raiz);
-    }
-
-    private void dfsInOrderAux(AccionVerticeArbolBinario<T> accion, Vertice v){
-	if(v == null)
-	    return;
-	
-	dfsInOrderAux(accion, v.izquierdo);
-	accion.actua(v);
-	dfsInOrderAux(accion, v.derecho);
-	    
+	for(Vertice v = primeroInOrden(raiz); v != null; v = siguienteInOrden(v))
+	    accion.actua(v);
     }
 
     /**
@@ -352,17 +464,8 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
      */
     public void dfsPostOrder(AccionVerticeArbolBinario<T> accion) {
         // Aquí va su código.
-	dfsPostOrderAux(accion, raiz);
-    }
-
-    private void dfsPostOrderAux(AccionVerticeArbolBinario<T> accion, Vertice v){
-	if(v == null)
-	    return;
-	
-	dfsPostOrderAux(accion, v.izquierdo);
-	dfsPostOrderAux(accion, v.derecho);
-	accion.actua(v);
-	
+	for(Vertice v = primeroPostOrden(raiz); v != null; v = siguientePostOrden(v))
+	    accion.actua(v);
     }
 
     
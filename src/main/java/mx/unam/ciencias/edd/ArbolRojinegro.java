@@ -82,6 +82,31 @@ public class ArbolRojinegro<T extends Comparable<T>>
         super(coleccion);
     }
 
+    /**
+     * Construye un árbol rojinegro balanceado a partir de un arreglo
+     * ordenado, en tiempo <em>O(n)</em> y sin hacer ningún giro.
+     * @param ordenados el arreglo ordenado con los elementos del árbol.
+     * @throws IllegalArgumentException si el arreglo no está ordenado o
+     *         contiene a <code>null</code>.
+     */
+    public ArbolRojinegro(T[] ordenados) {
+        super(ordenados);
+    }
+
+    /**
+     * Construye un árbol rojinegro balanceado a partir de una lista, en
+     * tiempo <em>O(n)</em> si la lista ya está ordenada. Si no lo está,
+     * primero se ordena una copia de ella.
+     * @param lista la lista con los elementos del árbol.
+     * @param ordenada si la lista ya está ordenada.
+     * @throws IllegalArgumentException si la lista no está ordenada y
+     *         <code>ordenada</code> es <code>true</code>, o si contiene a
+     *         <code>null</code>.
+     */
+    public ArbolRojinegro(Lista<T> lista, boolean ordenada) {
+        super(lista, ordenada);
+    }
+
     /**
      * Construye un nuevo vértice, usando una instancia de {@link
      * VerticeRojinegro}.
@@ -98,6 +123,23 @@ public class ArbolRojinegro<T extends Comparable<T>>
 	
     } 
 
+    /**
+     * Colorea los vértices de un árbol construido a partir de elementos
+     * ordenados: si el último nivel está incompleto sus vértices son ROJOS,
+     * y todos los demás son NEGROS. Así todo camino a una hoja tiene tantos
+     * vértices NEGROS como niveles completos tiene el árbol.
+     * @param vertice el vértice construido.
+     * @param profundidad la profundidad del vértice.
+     * @param profundidadMaxima la profundidad máxima de los vértices del
+     *        árbol.
+     */
+    @Override protected void verticeConstruido(Vertice vertice, int profundidad,
+                                                int profundidadMaxima) {
+        boolean incompleto = ((elementos + 1) & elementos) != 0;
+        vRojinegro(vertice).color = incompleto && profundidad == profundidadMaxima ?
+            Color.ROJO : Color.NEGRO;
+    }
+
     /**
      * Regresa el color del vértice rojinegro.
      * @param vertice el vértice del que queremos el color.
@@ -1,15 +1,194 @@
 package mx.unam.ciencias.edd;
 
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Clase para ordenar y buscar arreglos genéricos.
  */
 public class Arreglos {
 
+    /* Tamaño a partir del cual los subarreglos se ordenan por inserción. */
+    private static final int UMBRAL_INSERCION = 16;
+    /* Tamaño a partir del cual los subarreglos se ordenan en un solo hilo. */
+    private static final int UMBRAL_SECUENCIAL = 1 << 13;
+
+    /* Tarea de ordenamiento en paralelo de un subarreglo. Parte el subarreglo
+     * mientras sea grande, deja la parte menor a otro hilo y sigue con la
+     * mayor; al final espera a las partes que dejó. */
+    private static class Ordenamiento<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final T[] arreglo;
+        private final Comparator<T> comparador;
+        private int ini, fin, profundidad;
+        /* La siguiente tarea que dejó la misma tarea padre. */
+        private Ordenamiento<T> siguiente;
+
+        private Ordenamiento(T[] arreglo, Comparator<T> comparador,
+                             int ini, int fin, int profundidad) {
+            this.arreglo = arreglo;
+            this.comparador = comparador;
+            this.ini = ini;
+            this.fin = fin;
+            this.profundidad = profundidad;
+        }
+
+        @Override protected void compute() {
+            Ordenamiento<T> pendientes = null;
+            while (fin - ini + 1 > UMBRAL_SECUENCIAL && profundidad > 0) {
+                profundidad--;
+                int p = particion(arreglo, comparador, ini, fin);
+                Ordenamiento<T> t;
+                if (p - ini < fin - p) {
+                    t = new Ordenamiento<>(arreglo, comparador, ini, p, profundidad);
+                    ini = p + 1;
+                } else {
+                    t = new Ordenamiento<>(arreglo, comparador, p + 1, fin, profundidad);
+                    fin = p;
+                }
+                t.siguiente = pendientes;
+                pendientes = t;
+                t.fork();
+            }
+            ordenaSecuencial(arreglo, comparador, ini, fin, profundidad);
+            for (; pendientes != null; pendientes = pendientes.siguiente)
+                pendientes.join();
+        }
+    }
+
     /* Constructor privado para evitar instanciación. */
     private Arreglos() {}
 
+    /**
+     * Ordena el arreglo recibido en paralelo, usando QuickSort sobre el
+     * {@link ForkJoinPool} común. El pivote es la mediana de tres elementos,
+     * los subarreglos pequeños se ordenan por inserción, y los que ya son
+     * suficientemente chicos se ordenan en un solo hilo. Cada hilo sigue
+     * iterativamente con la parte mayor de cada partición, así que la pila
+     * crece a lo más logarítmicamente; y si las particiones salen muy
+     * desbalanceadas el subarreglo se termina con HeapSort, así que el peor
+     * caso es <em>O(n</em> log <em>n)</em>. El ordenamiento no es estable.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo el arreglo a ordenar.
+     * @param comparador el comparador para ordenar el arreglo; se usa desde
+     *        varios hilos a la vez.
+     */
+    public static <T> void
+    parallelSort(T[] arreglo, Comparator<T> comparador) {
+        int profundidad = 2 * (32 - Integer.numberOfLeadingZeros(arreglo.length));
+        if (arreglo.length <= UMBRAL_SECUENCIAL)
+            ordenaSecuencial(arreglo, comparador, 0, arreglo.length - 1, profundidad);
+        else
+            ForkJoinPool.commonPool().invoke(
+                new Ordenamiento<>(arreglo, comparador, 0, arreglo.length - 1, profundidad));
+    }
+
+    /**
+     * Ordena el arreglo recibido en paralelo; ver {@link
+     * #parallelSort(Object[],Comparator)}.
+     * @param <T> tipo del que puede ser el arreglo.
+     * @param arreglo un arreglo cuyos elementos son comparables.
+     */
+    public static <T extends Comparable<T>> void
+    parallelSort(T[] arreglo) {
+        parallelSort(arreglo, (a, b) -> a.compareTo(b));
+    }
+
+    /* Ordena arreglo[ini..fin] en un solo hilo. Recursa sobre la parte menor
+     * de cada partición e itera sobre la mayor; cuando se acaba la
+     * profundidad permitida, termina con HeapSort. */
+    private static <T> void
+    ordenaSecuencial(T[] arreglo, Comparator<T> comparador, int ini, int fin, int profundidad) {
+        while (fin - ini + 1 > UMBRAL_INSERCION) {
+            if (profundidad-- == 0) {
+                heapSort(arreglo, comparador, ini, fin);
+                return;
+            }
+            int p = particion(arreglo, comparador, ini, fin);
+            if (p - ini < fin - p) {
+                ordenaSecuencial(arreglo, comparador, ini, p, profundidad);
+                ini = p + 1;
+            } else {
+                ordenaSecuencial(arreglo, comparador, p + 1, fin, profundidad);
+                fin = p;
+            }
+        }
+        insercion(arreglo, comparador, ini, fin);
+    }
+
+    /* Parte arreglo[ini..fin], con al menos tres elementos, alrededor de la
+     * mediana del primero, el de en medio y el último. Regresa un índice p
+     * con ini <= p < fin tal que arreglo[ini..p] no tiene elementos mayores
+     * al pivote y arreglo[p+1..fin] no tiene elementos menores. */
+    private static <T> int
+    particion(T[] arreglo, Comparator<T> comparador, int ini, int fin) {
+        int medio = (ini + fin) >>> 1;
+        if (comparador.compare(arreglo[medio], arreglo[ini]) < 0)
+            intercambia(arreglo, ini, medio);
+        if (comparador.compare(arreglo[fin], arreglo[ini]) < 0)
+            intercambia(arreglo, ini, fin);
+        if (comparador.compare(arreglo[fin], arreglo[medio]) < 0)
+            intercambia(arreglo, medio, fin);
+        T pivote = arreglo[medio];
+
+        /* Los extremos ya sirven de centinelas. */
+        int i = ini, j = fin;
+        while (true) {
+            do i++; while (comparador.compare(arreglo[i], pivote) < 0);
+            do j--; while (comparador.compare(arreglo[j], pivote) > 0);
+            if (i >= j)
+                return j;
+            intercambia(arreglo, i, j);
+        }
+    }
+
+    /* Ordena arreglo[ini..fin] por inserción. */
+    private static <T> void
+    insercion(T[] arreglo, Comparator<T> comparador, int ini, int fin) {
+        for (int i = ini + 1; i <= fin; i++) {
+            T e = arreglo[i];
+            int j = i - 1;
+            while (j >= ini && comparador.compare(arreglo[j], e) > 0) {
+                arreglo[j + 1] = arreglo[j];
+                j--;
+            }
+            arreglo[j + 1] = e;
+        }
+    }
+
+    /* Ordena arreglo[ini..fin] con HeapSort. */
+    private static <T> void
+    heapSort(T[] arreglo, Comparator<T> comparador, int ini, int fin) {
+        int n = fin - ini + 1;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            baja(arreglo, comparador, ini, i, n);
+        for (int m = n - 1; m > 0; m--) {
+            intercambia(arreglo, ini, ini + m);
+            baja(arreglo, comparador, ini, 0, m);
+        }
+    }
+
+    /* Baja el elemento i del montículo máximo de n elementos que empieza en
+     * arreglo[ini]. */
+    private static <T> void
+    baja(T[] arreglo, Comparator<T> comparador, int ini, int i, int n) {
+        T e = arreglo[ini + i];
+        while (2 * i + 1 < n) {
+            int h = 2 * i + 1;
+            if (h + 1 < n && comparador.compare(arreglo[ini + h + 1], arreglo[ini + h]) > 0)
+                h++;
+            if (comparador.compare(arreglo[ini + h], e) <= 0)
+                break;
+            arreglo[ini + i] = arreglo[ini + h];
+            i = h;
+        }
+        arreglo[ini + i] = e;
+    }
+
     /**
      * Ordena el arreglo recibido usando QickSort.
      * @param <T> tipo del que puede ser el arreglo.
@@ -154,4 +333,452 @@ public class Arreglos {
     busquedaBinaria(T[] arreglo, T elemento) {
         return busquedaBinaria(arreglo, elemento, (a, b) -> a.compareTo(b));
     }
+
+    /**
+     * Ordena el arreglo recibido usando QuickSort, con el pivote en la
+     * mediana de tres elementos, inserción para los subarreglos pequeños y
+     * HeapSort si las particiones salen muy desbalanceadas.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void quickSort(int[] arreglo) {
+        ordena(arreglo, 0, arreglo.length - 1,
+               2 * (32 - Integer.numberOfLeadingZeros(arreglo.length)));
+    }
+
+    /* Ordena arreglo[ini..fin]; ver ordenaSecuencial. */
+    private static void ordena(int[] arreglo, int ini, int fin, int profundidad) {
+        while (fin - ini + 1 > UMBRAL_INSERCION) {
+            if (profundidad-- == 0) {
+                heapSort(arreglo, ini, fin);
+                return;
+            }
+            int p = particion(arreglo, ini, fin);
+            if (p - ini < fin - p) {
+                ordena(arreglo, ini, p, profundidad);
+                ini = p + 1;
+            } else {
+                ordena(arreglo, p + 1, fin, profundidad);
+                fin = p;
+            }
+        }
+        for (int i = ini + 1; i <= fin; i++) {
+            int e = arreglo[i];
+            int j = i - 1;
+            while (j >= ini && arreglo[j] > e) {
+                arreglo[j + 1] = arreglo[j];
+                j--;
+            }
+            arreglo[j + 1] = e;
+        }
+    }
+
+    /* Parte arreglo[ini..fin]; ver particion para arreglos genéricos. */
+    private static int particion(int[] arreglo, int ini, int fin) {
+        int medio = (ini + fin) >>> 1;
+        if (arreglo[medio] < arreglo[ini])
+            intercambia(arreglo, ini, medio);
+        if (arreglo[fin] < arreglo[ini])
+            intercambia(arreglo, ini, fin);
+        if (arreglo[fin] < arreglo[medio])
+            intercambia(arreglo, medio, fin);
+        int pivote = arreglo[medio];
+        int i = ini, j = fin;
+        while (true) {
+            do i++; while (arreglo[i] < pivote);
+            do j--; while (arreglo[j] > pivote);
+            if (i >= j)
+                return j;
+            intercambia(arreglo, i, j);
+        }
+    }
+
+    /* Ordena arreglo[ini..fin] con HeapSort. */
+    private static void heapSort(int[] arreglo, int ini, int fin) {
+        int n = fin - ini + 1;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            baja(arreglo, ini, i, n);
+        for (int m = n - 1; m > 0; m--) {
+            intercambia(arreglo, ini, ini + m);
+            baja(arreglo, ini, 0, m);
+        }
+    }
+
+    /* Baja el elemento i del montículo máximo de n elementos que empieza en
+     * arreglo[ini]. */
+    private static void baja(int[] arreglo, int ini, int i, int n) {
+        int e = arreglo[ini + i];
+        while (2 * i + 1 < n) {
+            int h = 2 * i + 1;
+            if (h + 1 < n && arreglo[ini + h + 1] > arreglo[ini + h])
+                h++;
+            if (arreglo[ini + h] <= e)
+                break;
+            arreglo[ini + i] = arreglo[ini + h];
+            i = h;
+        }
+        arreglo[ini + i] = e;
+    }
+
+    /**
+     * Intercambia dos elementos del arreglo.
+     * @param arreglo el arreglo.
+     * @param i la primera posición a intercambiar.
+     * @param j la segunda posición a intercambiar.
+     */
+    public static void intercambia(int[] arreglo, int i, int j) {
+        int tmp = arreglo[i];
+        arreglo[i] = arreglo[j];
+        arreglo[j] = tmp;
+    }
+
+    /**
+     * Ordena el arreglo recibido usando SelectionSort.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void selectionSort(int[] arreglo) {
+        for (int i = 0; i < arreglo.length; i++) {
+            int min = i;
+            for (int j = i + 1; j < arreglo.length; j++)
+                if (arreglo[j] < arreglo[min])
+                    min = j;
+            intercambia(arreglo, i, min);
+        }
+    }
+
+    /**
+     * Hace una búsqueda binaria del elemento en el arreglo ordenado. Regresa
+     * el índice del elemento en el arreglo, o -1 si no se encuentra. La
+     * búsqueda no tiene saltos condicionales en el ciclo: cada paso reduce
+     * el intervalo a la mitad con una selección, que el compilador puede
+     * traducir a un movimiento condicional.
+     * @param arreglo el arreglo ordenado dónde buscar.
+     * @param elemento el elemento a buscar.
+     * @return el índice del elemento en el arreglo, o -1 si no se encuentra.
+     *         Si el elemento está varias veces, regresa el último.
+     */
+    public static int busquedaBinaria(int[] arreglo, int elemento) {
+        int n = arreglo.length;
+        if (n == 0)
+            return -1;
+        int base = 0;
+        while (n > 1) {
+            int mitad = n >>> 1;
+            base = arreglo[base + mitad] <= elemento ? base + mitad : base;
+            n -= mitad;
+        }
+        return arreglo[base] == elemento ? base : -1;
+    }
+
+    /**
+     * Ordena el arreglo recibido usando RadixSort de dígito menos
+     * significativo a más significativo, con dígitos de 8 bits. Toma tiempo
+     * <em>O(n)</em> y usa un arreglo auxiliar del mismo tamaño; las pasadas
+     * en las que todos los elementos tienen el mismo dígito se omiten.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void radixSort(int[] arreglo) {
+        int n = arreglo.length;
+        int[] origen = arreglo, destino = new int[n];
+        int[] cuentas = new int[256];
+        for (int corrimiento = 0; corrimiento < 32; corrimiento += 8) {
+            /* En el dígito más significativo se voltea el bit de signo, para
+             * que los negativos queden antes. */
+            int signo = corrimiento == 24 ? 0x80 : 0;
+            Arrays.fill(cuentas, 0);
+            for (int i = 0; i < n; i++)
+                cuentas[((origen[i] >>> corrimiento) & 0xFF) ^ signo]++;
+            if (n == 0 || cuentas[((origen[0] >>> corrimiento) & 0xFF) ^ signo] == n)
+                continue;
+            int suma = 0;
+            for (int d = 0; d < 256; d++) {
+                int c = cuentas[d];
+                cuentas[d] = suma;
+                suma += c;
+            }
+            for (int i = 0; i < n; i++) {
+                int e = origen[i];
+                destino[cuentas[((e >>> corrimiento) & 0xFF) ^ signo]++] = e;
+            }
+            int[] t = origen;
+            origen = destino;
+            destino = t;
+        }
+        if (origen != arreglo)
+            System.arraycopy(origen, 0, arreglo, 0, n);
+    }
+
+    /**
+     * Ordena el arreglo recibido usando QuickSort, con el pivote en la
+     * mediana de tres elementos, inserción para los subarreglos pequeños y
+     * HeapSort si las particiones salen muy desbalanceadas.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void quickSort(long[] arreglo) {
+        ordena(arreglo, 0, arreglo.length - 1,
+               2 * (32 - Integer.numberOfLeadingZeros(arreglo.length)));
+    }
+
+    /* Ordena arreglo[ini..fin]; ver ordenaSecuencial. */
+    private static void ordena(long[] arreglo, int ini, int fin, int profundidad) {
+        while (fin - ini + 1 > UMBRAL_INSERCION) {
+            if (profundidad-- == 0) {
+                heapSort(arreglo, ini, fin);
+                return;
+            }
+            int p = particion(arreglo, ini, fin);
+            if (p - ini < fin - p) {
+                ordena(arreglo, ini, p, profundidad);
+                ini = p + 1;
+            } else {
+                ordena(arreglo, p + 1, fin, profundidad);
+                fin = p;
+            }
+        }
+        for (int i = ini + 1; i <= fin; i++) {
+            long e = arreglo[i];
+            int j = i - 1;
+            while (j >= ini && arreglo[j] > e) {
+                arreglo[j + 1] = arreglo[j];
+                j--;
+            }
+            arreglo[j + 1] = e;
+        }
+    }
+
+    /* Parte arreglo[ini..fin]; ver particion para arreglos genéricos. */
+    private static int particion(long[] arreglo, int ini, int fin) {
+        int medio = (ini + fin) >>> 1;
+        if (arreglo[medio] < arreglo[ini])
+            intercambia(arreglo, ini, medio);
+        if (arreglo[fin] < arreglo[ini])
+            intercambia(arreglo, ini, fin);
+        if (arreglo[fin] < arreglo[medio])
+            intercambia(arreglo, medio, fin);
+        long pivote = arreglo[medio];
+        int i = ini, j = fin;
+        while (true) {
+            do i++; while (arreglo[i] < pivote);
+            do j--; while (arreglo[j] > pivote);
+            if (i >= j)
+                return j;
+            intercambia(arreglo, i, j);
+        }
+    }
+
+    /* Ordena arreglo[ini..fin] con HeapSort. */
+    private static void heapSort(long[] arreglo, int ini, int fin) {
+        int n = fin - ini + 1;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            baja(arreglo, ini, i, n);
+        for (int m = n - 1; m > 0; m--) {
+            intercambia(arreglo, ini, ini + m);
+            baja(arreglo, ini, 0, m);
+        }
+    }
+
+    /* Baja el elemento i del montículo máximo de n elementos que empieza en
+     * arreglo[ini]. */
+    private static void baja(long[] arreglo, int ini, int i, int n) {
+        long e = arreglo[ini + i];
+        while (2 * i + 1 < n) {
+            int h = 2 * i + 1;
+            if (h + 1 < n && arreglo[ini + h + 1] > arreglo[ini + h])
+                h++;
+            if (arreglo[ini + h] <= e)
+                break;
+            arreglo[ini + i] = arreglo[ini + h];
+            i = h;
+        }
+        arreglo[ini + i] = e;
+    }
+
+    /**
+     * Intercambia dos elementos del arreglo.
+     * @param arreglo el arreglo.
+     * @param i la primera posición a intercambiar.
+     * @param j la segunda posición a intercambiar.
+     */
+    public static void intercambia(long[] arreglo, int i, int j) {
+        long tmp = arreglo[i];
+        arreglo[i] = arreglo[j];
+        arreglo[j] = tmp;
+    }
+
+    /**
+     * Ordena el arreglo recibido usando SelectionSort.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void selectionSort(long[] arreglo) {
+        for (int i = 0; i < arreglo.length; i++) {
+            int min = i;
+            for (int j = i + 1; j < arreglo.length; j++)
+                if (arreglo[j] < arreglo[min])
+                    min = j;
+            intercambia(arreglo, i, min);
+        }
+    }
+
+    /**
+     * Hace una búsqueda binaria del elemento en el arreglo ordenado. Regresa
+     * el índice del elemento en el arreglo, o -1 si no se encuentra. La
+     * búsqueda no tiene saltos condicionales en el ciclo: cada paso reduce
+     * el intervalo a la mitad con una selección, que el compilador puede
+     * traducir a un movimiento condicional.
+     * @param arreglo el arreglo ordenado dónde buscar.
+     * @param elemento el elemento a buscar.
+     * @return el índice del elemento en el arreglo, o -1 si no se encuentra.
+     *         Si el elemento está varias veces, regresa el último.
+     */
+    public static int busquedaBinaria(long[] arreglo, long elemento) {
+        int n = arreglo.length;
+        if (n == 0)
+            return -1;
+        int base = 0;
+        while (n > 1) {
+            int mitad = n >>> 1;
+            base = arreglo[base + mitad] <= elemento ? base + mitad : base;
+            n -= mitad;
+        }
+        return arreglo[base] == elemento ? base : -1;
+    }
+
+    /**
+     * Ordena el arreglo recibido usando QuickSort, con el pivote en la
+     * mediana de tres elementos, inserción para los subarreglos pequeños y
+     * HeapSort si las particiones salen muy desbalanceadas. Los NaN quedan al final.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void quickSort(double[] arreglo) {
+        /* Los NaN van al final, y el resto se ordena con <. */
+        int fin = arreglo.length - 1;
+        for (int i = fin; i >= 0; i--)
+            if (Double.isNaN(arreglo[i]))
+                intercambia(arreglo, i, fin--);
+        ordena(arreglo, 0, fin, 2 * (32 - Integer.numberOfLeadingZeros(fin + 1)));
+    }
+
+    /* Ordena arreglo[ini..fin]; ver ordenaSecuencial. */
+    private static void ordena(double[] arreglo, int ini, int fin, int profundidad) {
+        while (fin - ini + 1 > UMBRAL_INSERCION) {
+            if (profundidad-- == 0) {
+                heapSort(arreglo, ini, fin);
+                return;
+            }
+            int p = particion(arreglo, ini, fin);
+            if (p - ini < fin - p) {
+                ordena(arreglo, ini, p, profundidad);
+                ini = p + 1;
+            } else {
+                ordena(arreglo, p + 1, fin, profundidad);
+                fin = p;
+            }
+        }
+        for (int i = ini + 1; i <= fin; i++) {
+            double e = arreglo[i];
+            int j = i - 1;
+            while (j >= ini && arreglo[j] > e) {
+                arreglo[j + 1] = arreglo[j];
+                j--;
+            }
+            arreglo[j + 1] = e;
+        }
+    }
+
+    /* Parte arreglo[ini..fin]; ver particion para arreglos genéricos. */
+    private static int particion(double[] arreglo, int ini, int fin) {
+        int medio = (ini + fin) >>> 1;
+        if (arreglo[medio] < arreglo[ini])
+            intercambia(arreglo, ini, medio);
+        if (arreglo[fin] < arreglo[ini])
+            intercambia(arreglo, ini, fin);
+        if (arreglo[fin] < arreglo[medio])
+            intercambia(arreglo, medio, fin);
+        double pivote = arreglo[medio];
+        int i = ini, j = fin;
+        while (true) {
+            do i++; while (arreglo[i] < pivote);
+            do j--; while (arreglo[j] > pivote);
+            if (i >= j)
+                return j;
+            intercambia(arreglo, i, j);
+        }
+    }
+
+    /* Ordena arreglo[ini..fin] con HeapSort. */
+    private static void heapSort(double[] arreglo, int ini, int fin) {
+        int n = fin - ini + 1;
+        for (int i = n / 2 - 1; i >= 0; i--)
+            baja(arreglo, ini, i, n);
+        for (int m = n - 1; m > 0; m--) {
+            intercambia(arreglo, ini, ini + m);
+            baja(arreglo, ini, 0, m);
+        }
+    }
+
+    /* Baja el elemento i del montículo máximo de n elementos que empieza en
+     * arreglo[ini]. */
+    private static void baja(double[] arreglo, int ini, int i, int n) {
+        double e = arreglo[ini + i];
+        while (2 * i + 1 < n) {
+            int h = 2 * i + 1;
+            if (h + 1 < n && arreglo[ini + h + 1] > arreglo[ini + h])
+                h++;
+            if (arreglo[ini + h] <= e)
+                break;
+            arreglo[ini + i] = arreglo[ini + h];
+            i = h;
+        }
+        arreglo[ini + i] = e;
+    }
+
+    /**
+     * Intercambia dos elementos del arreglo.
+     * @param arreglo el arreglo.
+     * @param i la primera posición a intercambiar.
+     * @param j la segunda posición a intercambiar.
+     */
+    public static void intercambia(double[] arreglo, int i, int j) {
+        double tmp = arreglo[i];
+        arreglo[i] = arreglo[j];
+        arreglo[j] = tmp;
+    }
+
+    /**
+     * Ordena el arreglo recibido usando SelectionSort. Los NaN quedan al final.
+     * @param arreglo el arreglo a ordenar.
+     */
+    public static void selectionSort(double[] arreglo) {
+        for (int i = 0; i < arreglo.length; i++) {
+            int min = i;
+            for (int j = i + 1; j < arreglo.length; j++)
+                if (arreglo[j] < arreglo[min] || (Double.isNaN(arreglo[min]) && !Double.isNaN(arreglo[j])))
+                    min = j;
+            intercambia(arreglo, i, min);
+        }
+    }
+
+    /**
+     * Hace una búsqueda binaria del elemento en el arreglo ordenado. Regresa
+     * el índice del elemento en el arreglo, o -1 si no se encuentra. La
+     * búsqueda no tiene saltos condicionales en el ciclo: cada paso reduce
+     * el intervalo a la mitad con una selección, que el compilador puede
+     * traducir a un movimiento condicional.
+     * Nunca encuentra a NaN.
+     * @param arreglo el arreglo ordenado dónde buscar.
+     * @param elemento el elemento a buscar.
+     * @return el índice del elemento en el arreglo, o -1 si no se encuentra.
+     *         Si el elemento está varias veces, regresa el último.
+     */
+    public static int busquedaBinaria(double[] arreglo, double elemento) {
+        int n = arreglo.length;
+        if (n == 0)
+            return -1;
+        int base = 0;
+        while (n > 1) {
+            int mitad = n >>> 1;
+            base = arreglo[base + mitad] <= elemento ? base + mitad : base;
+            n -= mitad;
+        }
+        return arreglo[base] == elemento ? base : -1;
+    }
 }
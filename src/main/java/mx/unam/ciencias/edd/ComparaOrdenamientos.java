@@ -0,0 +1,80 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Random;
+import java.text.NumberFormat;
+
+/**
+ * Compara {@link Arreglos#quickSort} con {@link Arreglos#parallelSort} en
+ * arreglos aleatorios de los tamaños recibidos, y mide además a {@link
+ * Arreglos#parallelSort} con arreglos ordenados y al revés, que a QuickSort
+ * con el primer elemento como pivote le toman tiempo cuadrático.
+ */
+public class ComparaOrdenamientos {
+
+    /* Número de veces que se repite cada medición; se reporta la mejor. */
+    private static final int REPETICIONES = 3;
+
+    /* Imprime el uso del programa y lo termina. */
+    private static void uso() {
+        System.err.println("Uso: java -cp proyecto2.jar " +
+                           "mx.unam.ciencias.edd.ComparaOrdenamientos N...");
+        System.exit(1);
+    }
+
+    /* Interfaz para los ordenamientos a medir. */
+    private interface Ordenamiento {
+        void ordena(Integer[] arreglo);
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0)
+            uso();
+
+        int[] tamanos = new int[args.length];
+        try {
+            for (int i = 0; i < args.length; i++)
+                tamanos[i] = Integer.parseInt(args[i].replace("_", ""));
+        } catch (NumberFormatException nfe) {
+            uso();
+        }
+
+        Random random = new Random(1);
+        NumberFormat nf = NumberFormat.getIntegerInstance();
+        for (int n : tamanos) {
+            if (n < 1)
+                uso();
+            Integer[] aleatorio = new Integer[n];
+            for (int i = 0; i < n; i++)
+                aleatorio[i] = random.nextInt();
+            Integer[] ordenado = new Integer[n];
+            for (int i = 0; i < n; i++)
+                ordenado[i] = i;
+            Integer[] reverso = new Integer[n];
+            for (int i = 0; i < n; i++)
+                reverso[i] = n - i;
+
+            mide("QuickSort", "aleatorio", aleatorio, Arreglos::quickSort, nf);
+            mide("parallelSort", "aleatorio", aleatorio, Arreglos::parallelSort, nf);
+            mide("parallelSort", "ordenado", ordenado, Arreglos::parallelSort, nf);
+            mide("parallelSort", "al revés", reverso, Arreglos::parallelSort, nf);
+        }
+    }
+
+    /* Ordena copias del arreglo y reporta el mejor tiempo. */
+    private static void mide(String nombre, String entrada, Integer[] arreglo,
+                             Ordenamiento ordenamiento, NumberFormat nf) {
+        long mejor = Long.MAX_VALUE;
+        for (int r = 0; r < REPETICIONES; r++) {
+            Integer[] copia = arreglo.clone();
+            long tiempoInicial = System.nanoTime();
+            ordenamiento.ordena(copia);
+            mejor = Math.min(mejor, System.nanoTime() - tiempoInicial);
+            for (int i = 1; i < copia.length; i++)
+                if (copia[i - 1] > copia[i])
+                    throw new IllegalStateException(nombre + " no ordenó el arreglo.");
+        }
+        System.out.printf("%2.9f segundos en ordenar un arreglo %s con " +
+                          "%s elementos usando %s.\n",
+                          (mejor/1000000000.0), entrada, nf.format(arreglo.length), nombre);
+    }
+}
@@ -43,6 +43,10 @@ public class Grafica<T> implements Coleccion<T> {
         private Color color;
         /* La lista de vecinos del vértice. */
         private Lista<Vertice> vecinos;
+        /* Los vecinos del vértice, para saber en tiempo constante si otro
+         * vértice es su vecino. Se crea al conectar el vértice por primera
+         * vez, así que los vértices aislados no la pagan. */
+        private TablaDispersion<Vertice, Vertice> conjuntoVecinos;
 
         /* Crea un nuevo vértice a partir de un elemento. */
         public Vertice(T elemento) {
@@ -52,6 +56,25 @@ public class Grafica<T> implements Coleccion<T> {
 	    vecinos = new Lista<>();
         }
 
+        /* Nos dice si el vértice recibido es vecino de éste. */
+        private boolean esVecino(Vertice vertice) {
+	    return conjuntoVecinos != null && conjuntoVecinos.contiene(vertice);
+        }
+
+        /* Agrega el vértice recibido a los vecinos de éste. */
+        private void agregaVecino(Vertice vertice) {
+	    if(conjuntoVecinos == null)
+		conjuntoVecinos = new TablaDispersion<>(2);
+	    vecinos.agrega(vertice);
+	    conjuntoVecinos.agrega(vertice, vertice);
+        }
+
+        /* Elimina el vértice recibido de los vecinos de éste. */
+        private void eliminaVecino(Vertice vertice) {
+	    vecinos.elimina(vertice);
+	    conjuntoVecinos.elimina(vertice);
+        }
+
         /* Regresa el elemento del vértice. */
         @Override public T get() {
             // Aquí va su código.
@@ -79,6 +102,8 @@ public class Grafica<T> implements Coleccion<T> {
 
     /* Vértices. */
     private Lista<Vertice> vertices;
+    /* Índice de los vértices por elemento. */
+    private TablaDispersion<T, Vertice> indice;
     /* Número de aristas. */
     private int aristas;
 
@@ -88,6 +113,7 @@ public class Grafica<T> implements Coleccion<T> {
     public Grafica() {
         // Aquí va su código.
 	vertices = new Lista<>();
+	indice = new TablaDispersion<>(16);
     }
 
     /**
@@ -122,6 +148,7 @@ public class Grafica<T> implements Coleccion<T> {
 
 	Vertice v = new Vertice(elemento);
 	vertices.agrega(v);
+	indice.agrega(elemento, v);
     }
 
     /**
@@ -135,16 +162,16 @@ public class Grafica<T> implements Coleccion<T> {
      */
     public void conecta(T a, T b) {
         // Aquí va su código.
-        if(!contiene(a) || !contiene(b))
-	    throw new NoSuchElementException("Algún elemento no están en la gráfica");
-	if(sonVecinos(a,b) || a.equals(b))
-	    throw new IllegalArgumentException("Los elementos son iguales o ya están conectados");
-
 	Vertice va = busca(a);
 	Vertice vb = busca(b);
 
-	va.vecinos.agrega(vb);
-	vb.vecinos.agrega(va);
+        if(va == null || vb == null)
+	    throw new NoSuchElementException("Algún elemento no están en la gráfica");
+	if(va.esVecino(vb) || a.equals(b))
+	    throw new IllegalArgumentException("Los elementos son iguales o ya están conectados");
+
+	va.agregaVecino(vb);
+	vb.agregaVecino(va);
 	aristas++;
     }
 
@@ -158,16 +185,16 @@ public class Grafica<T> implements Coleccion<T> {
      */
     public void desconecta(T a, T b) {
         // Aquí va su código.
-        if(!contiene(a) || !contiene(b))
-	    throw new NoSuchElementException("Algún elemento no están en la gráfica");
-	if(!sonVecinos(a,b) || a.equals(b))
-	    throw new IllegalArgumentException("Los elementos son iguales o ya están conectados");
-
 	Vertice va = busca(a);
 	Vertice vb = busca(b);
 
-	va.vecinos.elimina(vb);
-	vb.vecinos.elimina(va);
+        if(va == null || vb == null)
+	    throw new NoSuchElementException("Algún elemento no están en la gráfica");
+	if(!va.esVecino(vb) || a.equals(b))
+	    throw new IllegalArgumentException("Los elementos son iguales o ya están conectados");
+
+	va.eliminaVecino(vb);
+	vb.eliminaVecino(va);
 	aristas -= 1;	
     }
 
@@ -178,16 +205,15 @@ public class Grafica<T> implements Coleccion<T> {
      */
     @Override public boolean contiene(T elemento) {
         // Aquí va su código.
-	for(Vertice v : vertices)
-	    if(v.elemento.equals(elemento))
-		return true;
-	
-	return false;
+	return indice.contiene(elemento);
     }
 
     /**
      * Elimina un elemento de la gráfica. El elemento tiene que estar contenido
-     * en la gráfica.
+     * en la gráfica. El vértice se encuentra con el índice, pero sacarlo de la
+     * lista de vértices la recorre, así que eliminar toma tiempo lineal en el
+     * número de vértices; se deja así a propósito, porque el graficador nunca
+     * elimina vértices y la lista conserva el orden en que se agregaron.
      * @param elemento el elemento a eliminar.
      * @throws NoSuchElementException si el elemento no está contenido en la
      *         gráfica.
@@ -202,17 +228,14 @@ public class Grafica<T> implements Coleccion<T> {
 	    desconecta(v.elemento, n.elemento);
 	
 	vertices.elimina(v);
+	indice.elimina(elemento);
     }
 
     /* Método auxiliar que regresa el vertice dado un elemento (Si es que este
      * se eneuntra en la grafica). */
 
     private Vertice busca(T elemento){
-	for(Vertice v : vertices)
-	    if(v.elemento.equals(elemento))
-		return v;
-
-	return null;
+	return indice.get(elemento);
     }
     
     /**
@@ -225,17 +248,13 @@ public class Grafica<T> implements Coleccion<T> {
      */
     public boolean sonVecinos(T a, T b) {
         // Aquí va su código.
-	if(!contiene(a) || !contiene(b))
-	    throw new NoSuchElementException("Algún elemento no está en la gráfica");
-
 	Vertice va = busca(a);
 	Vertice vb = busca(b);
 
-	for(Vertice vertice : va.vecinos)
-	    if(vertice == vb)
-		return true;
+	if(va == null || vb == null)
+	    throw new NoSuchElementException("Algún elemento no está en la gráfica");
 
-	return false;
+	return va.esVecino(vb);
     }
 
     /**
@@ -246,9 +265,9 @@ public class Grafica<T> implements Coleccion<T> {
      */
     public VerticeGrafica<T> vertice(T elemento) {
         // Aquí va su código.
-	for(Vertice v : vertices)
-	    if(v.elemento.equals(elemento))
-		return v;
+	Vertice v = busca(elemento);
+	if(v != null)
+	    return v;
 
 	throw new NoSuchElementException("El elemento no está en la grafica");	
     }
@@ -384,6 +403,7 @@ public class Grafica<T> implements Coleccion<T> {
     @Override public void limpia() {
         // Aquí va su código.
 	vertices.limpia();
+	indice.limpia();
 	aristas = 0;
     }
 
@@ -546,96 +546,111 @@ public class Lista<T> implements Coleccion<T> {
      */
     public Lista<T> mergeSort(Comparator<T> comparador) {
         // Aquí va su código.
-		if(longitud <= 1) // Si la lista tiene 1 o menos elementos ya está ordenada por definición.
-			return copia();
+        Lista<T> ordenada = copia();
+        ordenada.ordena(comparador);
+        return ordenada;
+    }
 
-		int mid = longitud/2; // Para hallar la mitad de la lista para luego hacer las sub listas izquierda y derecha. 
-		Lista<T> midUno = new Lista<>(); // Sublista de la mitad izquierda :)
-		Lista<T> midDos = new Lista<>(); // Sublista de la mitad derecha :)
+    /**
+     * Ordena la lista usando el comparador recibido. El ordenamiento es un
+     * MergeSort natural de abajo hacia arriba: la lista se parte en corridas
+     * ya ordenadas (las corridas estrictamente decrecientes se voltean), y las
+     * corridas se mezclan como en un contador binario, donde la posición
+     * <em>k</em> guarda a lo más una lista pendiente. El método no crea nodos
+     * nuevos ni usa recursión: sólo vuelve a ligar los nodos de la lista. Toma
+     * tiempo <em>O(n</em> log <em>c)</em>, donde <em>c</em> es el número de
+     * corridas, y es estable.
+     * @param comparador el comparador que la lista usará para hacer el
+     *                   ordenamiento.
+     */
+    public void ordena(Comparator<T> comparador) {
+        if (longitud <= 1)
+            return;
 
-		Nodo n = cabeza; 
-		int aux = 0;
-		
-		/* Llenamos ambas sub listas nodos correspondientes (aún no están ordenadas).
-		 * Comparamos el entero aux (que cuenta en que poscición estamos) con mid (la mitad
-		 * en la lista original) si es menor, se agrega a la lista de la izquieda, si es
-		 * mayor a la lista de la derecha. Sumamos uno a nuestro contador y movemos n al
-		 * siguiente. Hacemos esto hasta que n sea null. */
-
-		while(n != null){
-			
-			if(aux < mid)
-				midUno.agrega(n.elemento);
-			else
-				midDos.agrega(n.elemento);
-
-			aux++;
-			n = n.siguiente;
-		}
-
-		/* Volvemos a dividir esas listas usando recursión, es decir, estas listas que ya
-		 * tienen los elementos correspondientes a su mitad se vuelven a dividir.*/
-		
-		midUno = midUno.mergeSort(comparador);
-		midDos = midDos.mergeSort(comparador);
+        /* Hay a lo más una corrida por nodo, así que bastan 32 posiciones
+         * más una para el acarreo. */
+        Object[] pendientes = new Object[33];
+        Nodo n = cabeza;
+        while (n != null) {
+            Nodo corrida;
+            Nodo siguiente = n.siguiente;
+            if (siguiente != null && comparador.compare(n.elemento, siguiente.elemento) > 0) {
+                /* Corrida estrictamente decreciente: la volteamos. */
+                corrida = null;
+                do {
+                    Nodo s = n.siguiente;
+                    n.siguiente = corrida;
+                    corrida = n;
+                    n = s;
+                } while (n != null && comparador.compare(corrida.elemento, n.elemento) > 0);
+            } else {
+                corrida = n;
+                while (siguiente != null && comparador.compare(n.elemento, siguiente.elemento) <= 0) {
+                    n = siguiente;
+                    siguiente = n.siguiente;
+                }
+                n.siguiente = null;
+                n = siguiente;
+            }
 
-		/* Por último hacemos la mezcla de ambas mitades para obtener la lista ordenada.*/
-		return merge(midUno, midDos, comparador);
-		
-	}
+            /* Las pendientes son anteriores a la corrida, así que van a la
+             * izquierda en la mezcla. */
+            int k = 0;
+            while (pendientes[k] != null) {
+                corrida = mezcla(nodo(pendientes[k]), corrida, comparador);
+                pendientes[k++] = null;
+            }
+            pendientes[k] = corrida;
+        }
+
+        Nodo ordenada = null;
+        for (int k = 0; k < pendientes.length; k++)
+            if (pendientes[k] != null)
+                ordenada = ordenada == null ? nodo(pendientes[k]) :
+                    mezcla(nodo(pendientes[k]), ordenada, comparador);
+
+        /* Reconstruimos las ligas hacia atrás y el rabo. */
+        cabeza = ordenada;
+        Nodo anterior = null;
+        for (Nodo m = cabeza; m != null; m = m.siguiente) {
+            m.anterior = anterior;
+            anterior = m;
+        }
+        rabo = anterior;
+    }
+
+    /* Convierte una lista pendiente del ordenamiento en nodo. */
+    @SuppressWarnings("unchecked") private Nodo nodo(Object o) {
+        return (Nodo)o;
+    }
+
+    /* Mezcla dos cadenas ordenadas de nodos ligados por el siguiente, y
+     * regresa la primera de la mezcla. Con elementos iguales va primero el
+     * de la cadena izquierda. */
+    private Nodo mezcla(Nodo izquierda, Nodo derecha, Comparator<T> comparador) {
+        Nodo primero = null, ultimo = null;
+        while (izquierda != null && derecha != null) {
+            Nodo menor;
+            if (comparador.compare(izquierda.elemento, derecha.elemento) <= 0) {
+                menor = izquierda;
+                izquierda = izquierda.siguiente;
+            } else {
+                menor = derecha;
+                derecha = derecha.siguiente;
+            }
+            if (ultimo == null)
+                primero = menor;
+            else
+                ultimo.siguiente = menor;
+            ultimo = menor;
+        }
+        Nodo resto = izquierda != null ? izquierda : derecha;
+        if (ultimo == null)
+            return resto;
+        ultimo.siguiente = resto;
+        return primero;
+    }
 
-    /**
-     * Método auxiliar, recibe dos listas ya ordenadas
-     * @param dos listas ya ordenadas y un comparador.
-     * @return una copia de la lista, pero ordenada.
-     */	
-		
-    private Lista<T> merge(Lista<T> listauno, Lista<T> listados, Comparator<T> comparador){
-	
-	Lista<T> ordenada = new Lista <>(); // Lista que contendrá los elementos ya ordenados.
-	
-	/* Creamos dos nodos que servirán para recorrer las listas. */
-	
-	Nodo i = listauno.cabeza;
-	Nodo j = listados.cabeza;
-
-	/* Mientras ninguno de los nodos llegue al final de su lista, comparamos los elementos en
-	 * cada uno. */
-	
-	while(i != null && j != null){
-	    
-	    /* Si el elemento de i es menor o igual que el elemento de j, agregamos el elemento
-	     * de i a la nueva lista y movemos i a su siguiente; si no, agregamos el elemento de j a 
-	     * la nueva lista y movemos j a su siguiente. */
-	    
-	    if(comparador.compare(i.elemento,j.elemento) <= 0){
-		ordenada.agrega(i.elemento);
-		i = i.siguiente;
-	    } else {
-		ordenada.agrega(j.elemento);
-		j = j.siguiente;
-	    }	
-	}
-	
-	/* Si algún nodo llega al final de su lista, agregamos todos los elementos restantes
-	 * de la lista del otro iterador a la nueva lista. */
-	
-	if(i == null){
-	    while(j != null){
-		ordenada.agrega(j.elemento);
-		j = j.siguiente;
-	    }
-		
-	} else if(j == null){
-	    while(i != null){
-		ordenada.agrega(i.elemento);
-		i = i.siguiente;			
-			}
-	}
-	/* Regresamios la lista ordeanada. */
-	return ordenada;
-    }
-	
     /**
      * Regresa una copia de la lista recibida, pero ordenada. La lista recibida
      * tiene que contener nada más elementos que implementan la interfaz {@link
@@ -649,6 +664,18 @@ public class Lista<T> implements Coleccion<T> {
         return lista.mergeSort((a, b) -> a.compareTo(b));
     }
 
+    /**
+     * Ordena la lista recibida sin copiarla. La lista recibida tiene que
+     * contener nada más elementos que implementan la interfaz {@link
+     * Comparable}.
+     * @param <T> tipo del que puede ser la lista.
+     * @param lista la lista que se ordenará.
+     */
+    public static <T extends Comparable<T>>
+    void ordena(Lista<T> lista) {
+        lista.ordena((a, b) -> a.compareTo(b));
+    }
+
     /**
      * Busca un elemento en la lista ordenada, usando el comparador recibido. El
      * método supone que la lista está ordenada usando el mismo comparador.
@@ -4,7 +4,9 @@ import java.util.Random;
 import java.text.NumberFormat;
 
 /**
- * Práctica 7: Montículos mínimos.
+ * Práctica 7: Montículos mínimos. Cada operación se mide una sola vez; para
+ * mediciones con calentamiento y repeticiones están los benchmarks de JMH del
+ * perfil <code>benchmarks</code>.
  */
 public class Practica7 {
 
@@ -36,7 +38,7 @@ public class Practica7 {
         for (int i = 0; i < N; i++)
             arreglo[i] = random.nextInt();
 
-        Integer[] qs = new Integer[N];
+        int[] qs = new int[N];
         tiempoInicial = System.nanoTime();
         for (int i = 0; i < N; i++)
             qs[i] = arreglo[i];
@@ -0,0 +1,171 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * <p>Clase para tablas de dispersión con direccionamiento abierto.</p>
+ *
+ * <p>La tabla asocia llaves con valores. Las colisiones se resuelven con sondeo
+ * lineal sobre un arreglo cuya longitud es potencia de dos, y la tabla crece
+ * al doble cuando la mitad de sus entradas están ocupadas. Al eliminar, las
+ * entradas siguientes del mismo grupo se recorren hacia atrás, así que la
+ * tabla no necesita marcas de borrado.</p>
+ *
+ * <p>Las tablas no aceptan a <code>null</code> como llave.</p>
+ *
+ * @param <K> El tipo de las llaves de la tabla.
+ * @param <V> El tipo de los valores de la tabla.
+ */
+class TablaDispersion<K, V> {
+
+    /* Las llaves de la tabla. */
+    private Object[] llaves;
+    /* Los valores de la tabla. */
+    private Object[] valores;
+    /* El número de entradas ocupadas. */
+    private int elementos;
+
+    /**
+     * Construye una tabla vacía con la capacidad inicial recibida.
+     * @param capacidad el número de entradas que la tabla puede guardar sin
+     *        crecer.
+     */
+    public TablaDispersion(int capacidad) {
+        int n = 4;
+        while (n < capacidad * 2)
+            n <<= 1;
+        llaves = new Object[n];
+        valores = new Object[n];
+    }
+
+    /**
+     * Regresa el valor asociado a la llave recibida.
+     * @param llave la llave a buscar.
+     * @return el valor asociado a la llave, o <code>null</code> si la llave no
+     *         está en la tabla.
+     */
+    @SuppressWarnings("unchecked") public V get(K llave) {
+        if (llave == null)
+            return null;
+        int i = indice(llave);
+        return i < 0 ? null : (V)valores[i];
+    }
+
+    /**
+     * Nos dice si la llave recibida está en la tabla.
+     * @param llave la llave a buscar.
+     * @return <code>true</code> si la llave está en la tabla,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(K llave) {
+        return llave != null && indice(llave) >= 0;
+    }
+
+    /**
+     * Asocia un valor a una llave. Si la llave ya estaba en la tabla, su valor
+     * se reemplaza.
+     * @param llave la llave.
+     * @param valor el valor a asociar.
+     * @throws IllegalArgumentException si la llave es <code>null</code>.
+     */
+    public void agrega(K llave, V valor) {
+        if (llave == null)
+            throw new IllegalArgumentException("Llave nula.");
+        if ((elementos + 1) * 2 > llaves.length)
+            crece();
+        int mascara = llaves.length - 1;
+        int i = dispersa(llave) & mascara;
+        while (llaves[i] != null) {
+            if (llaves[i].equals(llave)) {
+                valores[i] = valor;
+                return;
+            }
+            i = (i + 1) & mascara;
+        }
+        llaves[i] = llave;
+        valores[i] = valor;
+        elementos++;
+    }
+
+    /**
+     * Elimina una llave y su valor de la tabla. Si la llave no está en la
+     * tabla, no hace nada.
+     * @param llave la llave a eliminar.
+     */
+    public void elimina(K llave) {
+        if (llave == null)
+            return;
+        int i = indice(llave);
+        if (i < 0)
+            return;
+        int mascara = llaves.length - 1;
+        /* Recorremos hacia atrás las entradas que dejarían de alcanzarse. */
+        int j = i;
+        while (true) {
+            j = (j + 1) & mascara;
+            if (llaves[j] == null)
+                break;
+            int k = dispersa(llaves[j]) & mascara;
+            if (i <= j ? (i < k && k <= j) : (i < k || k <= j))
+                continue;
+            llaves[i] = llaves[j];
+            valores[i] = valores[j];
+            i = j;
+        }
+        llaves[i] = null;
+        valores[i] = null;
+        elementos--;
+    }
+
+    /**
+     * Regresa el número de llaves en la tabla.
+     * @return el número de llaves en la tabla.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Limpia la tabla, dejándola vacía.
+     */
+    public void limpia() {
+        llaves = new Object[4];
+        valores = new Object[4];
+        elementos = 0;
+    }
+
+    /* Regresa el índice de la llave en la tabla, o -1 si no está. */
+    private int indice(Object llave) {
+        int mascara = llaves.length - 1;
+        int i = dispersa(llave) & mascara;
+        while (llaves[i] != null) {
+            if (llaves[i].equals(llave))
+                return i;
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    /* Duplica el tamaño de la tabla y vuelve a insertar sus entradas. */
+    private void crece() {
+        Object[] viejasLlaves = llaves;
+        Object[] viejosValores = valores;
+        llaves = new Object[viejasLlaves.length * 2];
+        valores = new Object[viejasLlaves.length * 2];
+        int mascara = llaves.length - 1;
+        for (int i = 0; i < viejasLlaves.length; i++) {
+            if (viejasLlaves[i] == null)
+                continue;
+            int j = dispersa(viejasLlaves[i]) & mascara;
+            while (llaves[j] != null)
+                j = (j + 1) & mascara;
+            llaves[j] = viejasLlaves[i];
+            valores[j] = viejosValores[i];
+        }
+    }
+
+    /* Mezcla los bits del código de dispersión de la llave, para que llaves
+     * consecutivas no caigan en entradas consecutivas. */
+    private static int dispersa(Object llave) {
+        int h = llave.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
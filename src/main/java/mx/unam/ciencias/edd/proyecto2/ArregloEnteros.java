@@ -0,0 +1,110 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.ExcepcionIndiceInvalido;
+
+/**
+ * Arreglo de enteros primitivos que crece conforme se le agregan elementos.
+ * Sirve para leer la entrada sin crear un objeto por elemento.
+ *
+ * @author Luis
+ */
+public class ArregloEnteros {
+
+    /* Los elementos del arreglo. */
+    private int[] arreglo;
+    /* El número de elementos en el arreglo. */
+    private int elementos;
+
+    /**
+     * Crea un arreglo de enteros vacío.
+     */
+    public ArregloEnteros() {
+        this(1024);
+    }
+
+    /**
+     * Crea un arreglo de enteros vacío con la capacidad inicial recibida.
+     *
+     * @param capacidad la capacidad inicial del arreglo.
+     */
+    public ArregloEnteros(int capacidad) {
+        arreglo = new int[Math.max(capacidad, 1)];
+    }
+
+    /**
+     * Agrega un entero al final del arreglo.
+     *
+     * @param n el entero a agregar.
+     */
+    public void agrega(int n) {
+        if (elementos == arreglo.length)
+            crece(elementos + 1);
+        arreglo[elementos++] = n;
+    }
+
+    /**
+     * Agrega al final del arreglo todos los enteros de otro arreglo.
+     *
+     * @param otro el arreglo cuyos enteros se agregan.
+     */
+    public void agrega(ArregloEnteros otro) {
+        if (elementos + otro.elementos > arreglo.length)
+            crece(elementos + otro.elementos);
+        System.arraycopy(otro.arreglo, 0, arreglo, elementos, otro.elementos);
+        elementos += otro.elementos;
+    }
+
+    /**
+     * Garantiza que el arreglo tenga capacidad para al menos <em>n</em>
+     * enteros sin volver a crecer.
+     *
+     * @param n el número de enteros que debe poder guardar el arreglo.
+     */
+    public void reserva(int n) {
+        if (n > arreglo.length)
+            crece(n);
+    }
+
+    /**
+     * Regresa el <em>i</em>-ésimo entero del arreglo.
+     *
+     * @param i el índice del entero.
+     * @return el <em>i</em>-ésimo entero del arreglo.
+     * @throws ExcepcionIndiceInvalido si <em>i</em> es menor que cero o mayor
+     *         o igual que el número de elementos.
+     */
+    public int get(int i) {
+        if (i < 0 || i >= elementos)
+            throw new ExcepcionIndiceInvalido("Índice inválido.");
+        return arreglo[i];
+    }
+
+    /**
+     * Regresa el número de enteros en el arreglo.
+     *
+     * @return el número de enteros en el arreglo.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Regresa el arreglo interno. Sólo las primeras {@link #getElementos}
+     * entradas son válidas; el arreglo se comparte, no se copia.
+     *
+     * @return el arreglo interno.
+     */
+    public int[] arreglo() {
+        return arreglo;
+    }
+
+    /* Hace crecer el arreglo para que quepan al menos n elementos. */
+    private void crece(int n) {
+        int capacidad = Math.max(n, arreglo.length + (arreglo.length >> 1));
+        if (capacidad < 0)
+            capacidad = Integer.MAX_VALUE - 8;
+        int[] nuevo = new int[capacidad];
+        System.arraycopy(arreglo, 0, nuevo, 0, elementos);
+        arreglo = nuevo;
+    }
+}
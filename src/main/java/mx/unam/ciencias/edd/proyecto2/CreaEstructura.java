@@ -2,6 +2,13 @@ package mx.unam.ciencias.edd.proyecto2;
 
 import mx.unam.ciencias.edd.proyecto2.plotter.*;
 import mx.unam.ciencias.edd.*;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Clase para crear estructuras de datos y generar su representación gráfica.
@@ -9,74 +16,177 @@ import mx.unam.ciencias.edd.*;
  * @author Luis
  */
 public class CreaEstructura {
+
+	/* Los nombres de las estructuras que se pueden dibujar. */
+	private static final List<String> ESTRUCTURAS =
+		Arrays.asList("ARBOLAVL", "ARBOLBINARIOCOMPLETO", "ARBOLBINARIOORDENADO",
+					  "ARBOLROJINEGRO", "COLA", "GRAFICA", "LISTA", "MONTICULOMINIMO", "PILA");
 	
 	/**
-	 * Método para crear la estructura de datos especificada y generar su representación gráfica.
+	 * Método para crear la estructura de datos especificada y generar su
+	 * representación gráfica en la salida estándar.
+	 * 
+	 * @param entrada Tokenizador con la información para crear la estructura.
+	 */
+	public static void estructura(Tokenizador entrada) {
+		estructura(entrada, new FileOutputStream(FileDescriptor.out));
+	}
+
+	/**
+	 * Método para crear la estructura de datos especificada y escribir su
+	 * representación gráfica en el flujo recibido.
 	 * 
-	 * @param arreglo Arreglo de strings que contiene la información para crear la estructura.
+	 * @param entrada Tokenizador con la información para crear la estructura.
+	 * @param destino El flujo donde se escribe el SVG.
 	 */
-	public static void estructura(String[] arreglo) {
-		String s = LectorEntrada.tipoEstructura(arreglo).toUpperCase();	
+	public static void estructura(Tokenizador entrada, OutputStream destino) {
+		estructura(entrada, new SalidaSVG(Channels.newChannel(destino)));
+	}
+
+	/**
+	 * Método para crear la estructura de datos especificada y escribir su
+	 * representación gráfica en la salida recibida. La salida se vacía al
+	 * terminar, pero no se cierra.
+	 * 
+	 * @param entrada Tokenizador con la información para crear la estructura.
+	 * @param salida La salida donde se escribe el SVG.
+	 */
+	public static void estructura(Tokenizador entrada, SalidaSVG salida) {
+		estructura(entrada, salida, new Opciones());
+	}
+
+	/**
+	 * Método para crear la estructura de datos especificada y escribir su
+	 * representación gráfica en la salida recibida, con las opciones
+	 * recibidas. La salida se vacía al terminar, pero no se cierra. Si la
+	 * entrada es inválida no se escribe nada en la salida ni se crea el
+	 * directorio de los mosaicos.
+	 * 
+	 * @param entrada Tokenizador con la información para crear la estructura.
+	 * @param salida La salida donde se escribe el SVG.
+	 * @param opciones Las opciones del dibujo.
+	 * @throws IllegalArgumentException si la estructura es inválida, si sus
+	 *         elementos no son enteros, si una gráfica tiene un número impar
+	 *         de elementos o si se pide partir una gráfica en mosaicos.
+	 */
+	public static void estructura(Tokenizador entrada, SalidaSVG salida, Opciones opciones) {
+		String s = LectorEntrada.tipoEstructura(entrada).toUpperCase();	
+		if (!ESTRUCTURAS.contains(s))
+			throw new IllegalArgumentException("Estructura de datos inválida.\nPor favor ingrese una estructura válida.");
+		if (s.equals("GRAFICA") && opciones.getMosaicos() != null)
+			throw new IllegalArgumentException("Las gráficas no pueden partirse en mosaicos.");
+		Mosaicos mosaicos = mosaicos(salida, opciones);
 		switch(s) {
 			case "ARBOLAVL" :
-				ArbolAVL<Integer> avl = LectorEntrada.avlElementos(arreglo);
-				GraficaAVL gavl = new GraficaAVL();
-				gavl.dibujaAVL(avl);
+				ArbolAVL<Integer> avl = LectorEntrada.avlElementos(LectorEntrada.enteros(entrada));
+				GraficaAVL gavl = arbol(new GraficaAVL(), opciones);
+				if (mosaicos != null)
+					gavl.dibujaAVL(avl, mosaicos);
+				else
+					gavl.dibujaAVL(avl, salida);
 				break;
 
 			case "ARBOLBINARIOCOMPLETO" :
-				ArbolBinarioCompleto<Integer> abc = LectorEntrada.abcElementos(arreglo);
-				GraficaABC gabc = new GraficaABC();
-				gabc.dibujaABC(abc);
+				ArbolBinarioCompleto<Integer> abc = LectorEntrada.abcElementos(LectorEntrada.enteros(entrada));
+				GraficaABC gabc = arbol(new GraficaABC(), opciones);
+				if (mosaicos != null)
+					gabc.dibujaABC(abc, mosaicos);
+				else
+					gabc.dibujaABC(abc, salida);
 				break;
 
 			case "ARBOLBINARIOORDENADO" :
-				ArbolBinarioOrdenado<Integer> abo = LectorEntrada.aboElementos(arreglo);
-				GraficaABO gabo = new GraficaABO();
-				gabo.dibujaABO(abo);
+				ArbolBinarioOrdenado<Integer> abo = LectorEntrada.aboElementos(LectorEntrada.enteros(entrada));
+				GraficaABO gabo = arbol(new GraficaABO(), opciones);
+				if (mosaicos != null)
+					gabo.dibujaABO(abo, mosaicos);
+				else
+					gabo.dibujaABO(abo, salida);
 				break;
 
 			case "ARBOLROJINEGRO" :
-				ArbolRojinegro<Integer> ar = LectorEntrada.arnElementos(arreglo);
-				GraficaRojinegros gar = new GraficaRojinegros();
-				gar.dibujaAR(ar);
+				ArbolRojinegro<Integer> ar = LectorEntrada.arnElementos(LectorEntrada.enteros(entrada));
+				GraficaRojinegros gar = arbol(new GraficaRojinegros(), opciones);
+				if (mosaicos != null)
+					gar.dibujaAR(ar, mosaicos);
+				else
+					gar.dibujaAR(ar, salida);
 				break;
 			
 			case "COLA" :
-				Lista<Integer> cola = LectorEntrada.elementos(arreglo);
+				ArregloEnteros cola = LectorEntrada.enteros(entrada);
 				GraficaCola gc = new GraficaCola();	
-				gc.dibujaCola(cola);	
+				if (mosaicos != null)
+					gc.dibujaCola(cola.arreglo(), cola.getElementos(), mosaicos);
+				else
+					gc.dibujaCola(cola.arreglo(), cola.getElementos(), salida);
 				break;
 
 			case "GRAFICA" :
-			
+				ArregloEnteros aristas = LectorEntrada.enteros(entrada);
+				if (aristas.getElementos() % 2 != 0)
+					throw new IllegalArgumentException("Número impar de elementos.\nUna gráfica se describe con parejas de enteros.");
+				Grafica<Integer> grafica = LectorEntrada.graficaElementos(aristas);
+				GraficaGrafica gg = new GraficaGrafica();
+				gg.dibujaGrafica(grafica, salida);
+				break;
+
 			case "LISTA" :
-				Lista<Integer> lista = LectorEntrada.elementos(arreglo);
+				ArregloEnteros lista = LectorEntrada.enteros(entrada);
 				GraficaListas gl = new GraficaListas();	
-				gl.dibujaLista(lista);			
+				if (mosaicos != null)
+					gl.dibujaLista(lista.arreglo(), lista.getElementos(), mosaicos);
+				else
+					gl.dibujaLista(lista.arreglo(), lista.getElementos(), salida);
 				break;
 
 			case "MONTICULOMINIMO" :
-				Lista<Integer> arr = LectorEntrada.elementos(arreglo);
-				Lista<Integer> ord = arr.mergeSort(arr);
+				Lista<Integer> ord = LectorEntrada.elementos(LectorEntrada.enteros(entrada));
+				Lista.ordena(ord);
 
 				ArbolBinarioCompleto<Integer> mm = new ArbolBinarioCompleto<>();
 
 				for(Integer i : ord)
 					mm.agrega(i);
 
-				GraficaMM gmm = new GraficaMM();
-				gmm.dibujaMM(mm, ord);
+				GraficaMM gmm = arbol(new GraficaMM(), opciones);
+				if (mosaicos != null)
+					gmm.dibujaMM(mm, ord, mosaicos);
+				else
+					gmm.dibujaMM(mm, ord, salida);
 				break;
 
 			case "PILA" :
-				Lista<Integer> pila = LectorEntrada.elementos(arreglo);
+				ArregloEnteros pila = LectorEntrada.enteros(entrada);
 				GraficaPila gp = new GraficaPila();	
-				gp.dibujaPila(pila);	
+				if (mosaicos != null)
+					gp.dibujaPila(pila.arreglo(), pila.getElementos(), mosaicos);
+				else
+					gp.dibujaPila(pila.arreglo(), pila.getElementos(), salida);
 				break;
 
-			default :
-				System.out.println("Estructura de datos inválida.\nPor favor ingrese una estructura válida.");
 		}
+		salida.append(System.lineSeparator());
+		salida.flush();
+	}
+
+	/* Regresa el destino de los mosaicos si las opciones lo piden, con el
+	 * índice en la salida, o null. */
+	private static Mosaicos mosaicos(SalidaSVG salida, Opciones opciones) {
+		if (opciones.getMosaicos() == null)
+			return null;
+		Mosaicos mosaicos = new Mosaicos(Paths.get(opciones.getMosaicos()),
+										 opciones.getTamanoMosaico(), salida);
+		mosaicos.setCompactos(salida.esCompacta());
+		mosaicos.setGzip(opciones.esGzip(), opciones.getNivel());
+		return mosaicos;
+	}
+
+	/* Aplica a una gráfica de árboles las opciones del dibujo de árboles. */
+	private static <G extends SVG> G arbol(G grafica, Opciones opciones) {
+		grafica.setProfundidadParalela(opciones.getProfundidadParalela());
+		grafica.setProfundidadMaxima(opciones.getProfundidadMaxima());
+		grafica.setVerticesMaximos(opciones.getVerticesMaximos());
+		return grafica;
 	}
 }
@@ -1,14 +1,16 @@
 package mx.unam.ciencias.edd.proyecto2;
 
 import mx.unam.ciencias.edd.*;
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.BufferedWriter;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.text.Normalizer;
-import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 
 /**
  * Clase para leer la entrada de datos.
@@ -31,117 +33,168 @@ public class LectorEntrada {
     }
 
     /**
-     * Lee un archivo o la entrada estándar y retorna su contenido como un arreglo de strings.
+     * Abre un archivo o la entrada estándar y regresa un tokenizador que la
+     * lee. Los archivos regulares se mapean a memoria; la entrada estándar y
+     * los demás archivos se leen por bloques.
      * 
      * @param archivo El nombre del archivo a leer, o una cadena vacía para la entrada estándar.
-     * @return Un arreglo de strings con el contenido del archivo o de la entrada estándar.
+     * @return Un tokenizador sobre el contenido del archivo o de la entrada
+     *         estándar, o <code>null</code> si no se pudo abrir el archivo.
      */
-    public static String[] reader(String archivo) {
-        String[] arr = null;
-        BufferedReader bf = null;
+    public static Tokenizador reader(String archivo) {
         try {
-            String cadenaLimpia = "";
             if (!archivo.isEmpty()) {
-                bf = new BufferedReader(new FileReader(archivo));
-            } else {
-                bf = new BufferedReader(new InputStreamReader(System.in));
+                Path ruta = Paths.get(archivo);
+                FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ);
+                try {
+                    // Sólo los archivos regulares se pueden mapear a memoria.
+                    if (Files.isRegularFile(ruta))
+                        return new Tokenizador(canal);
+                    return new Tokenizador((ReadableByteChannel)canal);
+                } catch (IOException | RuntimeException e) {
+                    // Si no se creó el tokenizador, nadie más cerrará el canal.
+                    canal.close();
+                    throw e;
+                }
             }
-            String renglon;
-            // Leemos cada línea del archivo y la agregamos al array.
-            while ((renglon = bf.readLine()) != null) {
-                String a = renglon.trim();
-                if (a.startsWith("#") || a.isEmpty())
-                continue;
-                cadenaLimpia += renglon.trim() + " ";
-            }
-            arr = cadenaLimpia.split("\\s+");
-            bf.close();
-        } catch (IOException e) {
+            return new Tokenizador(Channels.newChannel(System.in));
+        } catch (IOException | InvalidPathException e) {
             System.err.println("\nAlgo salió mal: \n");
         }
-        return arr;
+        return null;
+    }
+
+    /**
+     * Lee los enteros restantes de la entrada en un arreglo de enteros
+     * primitivos.
+     * 
+     * @param entrada El tokenizador de donde se leen los enteros.
+     * @return Arreglo con los enteros de la entrada.
+     */
+    public static ArregloEnteros enteros(Tokenizador entrada) {
+        return entrada.enteros(new ArregloEnteros());
     }
 
     /**
-     * Convierte un arreglo de strings en una lista de enteros.
+     * Convierte un arreglo de enteros en una lista de enteros.
      * 
-     * @param arr Arreglo de strings a convertir en lista.
+     * @param arr Arreglo de enteros a convertir en lista.
      * @return Lista de enteros creada a partir del arreglo.
      */
-    public static Lista<Integer> elementos(String[] arr) {
+    public static Lista<Integer> elementos(ArregloEnteros arr) {
         Lista<Integer> l = new Lista<>();
-        for(int i = 1; i < arr.length; i++) {
-            l.agrega(Integer.parseInt(arr[i]));
+        int[] a = arr.arreglo();
+        for (int i = 0; i < arr.getElementos(); i++) {
+            l.agrega(a[i]);
         }
         return l;
     }
 
     /**
-     * Convierte un arreglo de strings en un árbol binario ordenado de enteros.
+     * Convierte un arreglo de enteros en un árbol binario ordenado.
      * 
-     * @param arr Arreglo de strings a convertir en árbol binario ordenado.
+     * @param arr Arreglo de enteros a convertir en árbol binario ordenado.
      * @return Árbol binario ordenado creado a partir del arreglo.
      */
-    public static ArbolBinarioOrdenado<Integer> aboElementos(String[] arr) {
+    public static ArbolBinarioOrdenado<Integer> aboElementos(ArregloEnteros arr) {
         ArbolBinarioOrdenado<Integer> a = new ArbolBinarioOrdenado<>();
-        for(int i = 1; i < arr.length; i++) {
-            a.agrega(Integer.parseInt(arr[i]));
+        int[] e = arr.arreglo();
+        for (int i = 0; i < arr.getElementos(); i++) {
+            a.agrega(e[i]);
         }
         return a;
     }
 
     /**
-     * Convierte un arreglo de strings en un árbol binario completo de enteros.
+     * Convierte un arreglo de enteros en un árbol binario completo.
      * 
-     * @param arr Arreglo de strings a convertir en árbol binario completo.
+     * @param arr Arreglo de enteros a convertir en árbol binario completo.
      * @return Árbol binario completo creado a partir del arreglo.
      */
-    public static ArbolBinarioCompleto<Integer> abcElementos(String[] arr) {
+    public static ArbolBinarioCompleto<Integer> abcElementos(ArregloEnteros arr) {
         ArbolBinarioCompleto<Integer> a = new ArbolBinarioCompleto<>();
-        for(int i = 1; i < arr.length; i++) {
-            a.agrega(Integer.parseInt(arr[i]));
+        int[] e = arr.arreglo();
+        for (int i = 0; i < arr.getElementos(); i++) {
+            a.agrega(e[i]);
         }
         return a;
     }
 
     /**
-     * Convierte un arreglo de strings en un árbol rojinegro de enteros.
+     * Convierte un arreglo de enteros en un árbol rojinegro. Los enteros se
+     * ordenan y el árbol se construye balanceado de una vez, en lugar de
+     * agregarlos uno por uno.
      * 
-     * @param arr Arreglo de strings a convertir en árbol rojinegro.
+     * @param arr Arreglo de enteros a convertir en árbol rojinegro.
      * @return Árbol rojinegro creado a partir del arreglo.
      */
-    public static ArbolRojinegro<Integer> arnElementos(String[] arr) {
-        ArbolRojinegro<Integer> a = new ArbolRojinegro<>();
-        for(int i = 1; i < arr.length; i++) {
-            a.agrega(Integer.parseInt(arr[i]));
-        }
-        return a;
+    public static ArbolRojinegro<Integer> arnElementos(ArregloEnteros arr) {
+        return new ArbolRojinegro<>(ordenados(arr));
     }
 
     /**
-     * Convierte un arreglo de strings en un árbol AVL de enteros.
+     * Convierte un arreglo de enteros en un árbol AVL. Los enteros se ordenan
+     * y el árbol se construye balanceado de una vez, en lugar de agregarlos
+     * uno por uno.
      * 
-     * @param arr Arreglo de strings a convertir en árbol AVL.
+     * @param arr Arreglo de enteros a convertir en árbol AVL.
      * @return Árbol AVL creado a partir del arreglo.
      */
-    public static ArbolAVL<Integer> avlElementos(String[] arr) {
-        ArbolAVL<Integer> a = new ArbolAVL<>();
-        for(int i = 1; i < arr.length; i++) {
-            a.agrega(Integer.parseInt(arr[i]));
+    public static ArbolAVL<Integer> avlElementos(ArregloEnteros arr) {
+        return new ArbolAVL<>(ordenados(arr));
+    }
+
+    /* Regresa una copia ordenada de los enteros del arreglo. Se ordenan como
+     * primitivos, y sólo después se envuelven. */
+    private static Integer[] ordenados(ArregloEnteros arr) {
+        int[] e = Arrays.copyOf(arr.arreglo(), arr.getElementos());
+        Arrays.sort(e);
+        Integer[] o = new Integer[e.length];
+        for (int i = 0; i < e.length; i++)
+            o[i] = e[i];
+        return o;
+    }
+
+    /**
+     * Convierte un arreglo de enteros en una gráfica. Cada pareja consecutiva
+     * de enteros es una arista; una pareja con el mismo entero dos veces es un
+     * vértice sin aristas. Las aristas repetidas se ignoran.
+     * 
+     * @param arr Arreglo de enteros con un número par de elementos.
+     * @return Gráfica creada a partir del arreglo.
+     * @throws IllegalArgumentException si el arreglo tiene un número impar de
+     *         elementos.
+     */
+    public static Grafica<Integer> graficaElementos(ArregloEnteros arr) {
+        if (arr.getElementos() % 2 != 0)
+            throw new IllegalArgumentException("Número impar de elementos para una gráfica.");
+        Grafica<Integer> g = new Grafica<>();
+        int[] e = arr.arreglo();
+        for (int i = 0; i < arr.getElementos(); i += 2) {
+            int a = e[i];
+            int b = e[i + 1];
+            if (!g.contiene(a))
+                g.agrega(a);
+            if (!g.contiene(b))
+                g.agrega(b);
+            if (a != b && !g.sonVecinos(a, b))
+                g.conecta(a, b);
         }
-        return a;
+        return g;
     }
 
     /**
-     * Devuelve el tipo de estructura de datos especificado en el arreglo de entrada.
+     * Devuelve el tipo de estructura de datos especificado al inicio de la entrada.
      * 
-     * @param a Arreglo de strings con la entrada de datos.
-     * @return El tipo de estructura de datos especificado en la entrada.
+     * @param entrada El tokenizador con la entrada de datos.
+     * @return El tipo de estructura de datos especificado en la entrada, o
+     *         una cadena vacía si la entrada no tiene tokens.
      */
-    public static String tipoEstructura(String[] a) {
-        if (a == null || a.length == 0) {
-            throw new IllegalArgumentException("El arreglo de entrada no puede ser nulo o vacío.");
+    public static String tipoEstructura(Tokenizador entrada) {
+        if (entrada == null) {
+            throw new IllegalArgumentException("La entrada no puede ser nula.");
         }
-        return a[0];
+        String s = entrada.palabra();
+        return s == null ? "" : s;
     }
 }
@@ -0,0 +1,223 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import java.util.zip.Deflater;
+
+/**
+ * Opciones de la línea de comandos del programa. Se crean a partir de los
+ * argumentos con {@link #Opciones(String[])}; sin argumentos, el SVG se lee
+ * de la entrada estándar y se escribe en la salida estándar sin comprimir.
+ *
+ * @author Luis
+ */
+public class Opciones {
+
+    /* Lado por omisión de los mosaicos, en pixeles. */
+    private static final int TAMANO_MOSAICO = 4096;
+
+    /* La ruta de la entrada, o "-" para la entrada estándar. */
+    private String entrada = "-";
+    /* La ruta de la salida, o "-" para la salida estándar. */
+    private String salida = "-";
+    /* Si se comprime la salida, y con qué nivel. */
+    private boolean gzip;
+    private int nivel = Deflater.DEFAULT_COMPRESSION;
+    /* Si se usa el formato compacto. */
+    private boolean compacto;
+    /* La profundidad a la que se cortan los árboles para dibujarlos en
+     * paralelo, o -1 para elegirla automáticamente. */
+    private int profundidadParalela = -1;
+    /* La profundidad máxima y el número máximo de vértices que se dibujan de
+     * los árboles, o -1 sin límite. */
+    private int profundidadMaxima = -1;
+    private int verticesMaximos = -1;
+    /* El directorio de los mosaicos, o null si el dibujo no se parte en
+     * mosaicos, y el lado de los mosaicos. */
+    private String mosaicos;
+    private int tamanoMosaico = TAMANO_MOSAICO;
+    /* El puerto del servidor, o -1 si no se sirve. */
+    private int puerto = -1;
+
+    /**
+     * Crea las opciones por omisión.
+     */
+    public Opciones() {}
+
+    /**
+     * Crea las opciones a partir de los argumentos de la línea de comandos.
+     *
+     * @param args Los argumentos de la línea de comandos.
+     * @throws IllegalArgumentException si algún argumento es inválido, si
+     *         hay más de dos rutas, o si se piden mosaicos en el servidor.
+     */
+    public Opciones(String[] args) {
+        int rutas = 0;
+        for (String a : args) {
+            if (a.equals("--compacto")) {
+                compacto = true;
+            } else if (a.equals("--gzip")) {
+                gzip = true;
+            } else if (a.startsWith("--gzip=")) {
+                gzip = true;
+                nivel = entero(a, 0, 9);
+            } else if (a.startsWith("--profundidad=")) {
+                profundidadParalela = entero(a, 0, Integer.MAX_VALUE);
+            } else if (a.startsWith("--profundidad-maxima=")) {
+                profundidadMaxima = entero(a, 0, Integer.MAX_VALUE);
+            } else if (a.startsWith("--vertices-maximos=")) {
+                verticesMaximos = entero(a, 1, Integer.MAX_VALUE);
+            } else if (a.startsWith("--mosaicos=") && a.length() > 11) {
+                mosaicos = a.substring(11);
+            } else if (a.startsWith("--tamano-mosaico=")) {
+                tamanoMosaico = entero(a, 1, Integer.MAX_VALUE);
+            } else if (a.startsWith("--servidor=")) {
+                puerto = entero(a, 0, 65535);
+            } else if (a.startsWith("--") || rutas == 2) {
+                throw new IllegalArgumentException("Argumento inválido: " + a);
+            } else if (rutas++ == 0) {
+                entrada = a;
+            } else {
+                salida = a;
+            }
+        }
+        if (puerto >= 0 && (mosaicos != null || rutas > 0))
+            throw new IllegalArgumentException("El servidor no usa rutas ni mosaicos.");
+    }
+
+    /* Regresa el valor entero de una opción de la forma --nombre=valor, que
+     * debe estar entre el mínimo y el máximo. */
+    private static int entero(String opcion, int minimo, int maximo) {
+        int valor;
+        try {
+            valor = Integer.parseInt(opcion.substring(opcion.indexOf('=') + 1));
+        } catch (NumberFormatException nfe) {
+            throw new IllegalArgumentException("Argumento inválido: " + opcion);
+        }
+        if (valor < minimo || valor > maximo)
+            throw new IllegalArgumentException("Argumento inválido: " + opcion);
+        return valor;
+    }
+
+    /**
+     * Regresa la ruta de la entrada.
+     *
+     * @return La ruta de la entrada, o <code>-</code> para la entrada estándar.
+     */
+    public String getEntrada() {
+        return entrada;
+    }
+
+    /**
+     * Regresa la ruta de la salida.
+     *
+     * @return La ruta de la salida, o <code>-</code> para la salida estándar.
+     */
+    public String getSalida() {
+        return salida;
+    }
+
+    /**
+     * Nos dice si la salida se comprime en formato gzip.
+     *
+     * @return <code>true</code> si la salida se comprime,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esGzip() {
+        return gzip;
+    }
+
+    /**
+     * Regresa el nivel de compresión, de 0 a 9, o
+     * {@link Deflater#DEFAULT_COMPRESSION}.
+     *
+     * @return El nivel de compresión.
+     */
+    public int getNivel() {
+        return nivel;
+    }
+
+    /**
+     * Nos dice si se usa el formato compacto.
+     *
+     * @return <code>true</code> si se usa el formato compacto,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esCompacto() {
+        return compacto;
+    }
+
+    /**
+     * Regresa la profundidad a la que se cortan los árboles para dibujar sus
+     * subárboles en paralelo.
+     *
+     * @return La profundidad de corte; 0 para dibujar en secuencia, o -1
+     *         para elegirla automáticamente.
+     */
+    public int getProfundidadParalela() {
+        return profundidadParalela;
+    }
+
+    /**
+     * Define la profundidad a la que se cortan los árboles para dibujar sus
+     * subárboles en paralelo.
+     *
+     * @param profundidadParalela La profundidad de corte; 0 para dibujar en
+     *        secuencia, o -1 para elegirla automáticamente.
+     * @throws IllegalArgumentException si la profundidad es menor que -1.
+     */
+    public void setProfundidadParalela(int profundidadParalela) {
+        if (profundidadParalela < -1)
+            throw new IllegalArgumentException("Profundidad inválida: " + profundidadParalela);
+        this.profundidadParalela = profundidadParalela;
+    }
+
+    /**
+     * Regresa la profundidad máxima de los vértices de los árboles que se
+     * dibujan; los subárboles de los vértices a esa profundidad se dibujan
+     * colapsados.
+     *
+     * @return La profundidad máxima, o -1 si se dibujan todos los vértices.
+     */
+    public int getProfundidadMaxima() {
+        return profundidadMaxima;
+    }
+
+    /**
+     * Regresa el número máximo de vértices de los árboles que se dibujan.
+     *
+     * @return El número máximo de vértices, o -1 si se dibujan todos.
+     */
+    public int getVerticesMaximos() {
+        return verticesMaximos;
+    }
+
+    /**
+     * Regresa el directorio donde se escriben los mosaicos, si el dibujo se
+     * parte en mosaicos.
+     *
+     * @return El directorio de los mosaicos, o <code>null</code> si el
+     *         dibujo no se parte en mosaicos.
+     */
+    public String getMosaicos() {
+        return mosaicos;
+    }
+
+    /**
+     * Regresa el lado de los mosaicos, en pixeles.
+     *
+     * @return El lado de los mosaicos.
+     */
+    public int getTamanoMosaico() {
+        return tamanoMosaico;
+    }
+
+    /**
+     * Regresa el puerto donde escucha el servidor, si el programa se ejecuta
+     * como servidor.
+     *
+     * @return El puerto del servidor, 0 para elegir uno libre, o -1 si el
+     *         programa no se ejecuta como servidor.
+     */
+    public int getPuerto() {
+        return puerto;
+    }
+}
@@ -2,10 +2,50 @@ package mx.unam.ciencias.edd.proyecto2;
 
 import mx.unam.ciencias.edd.proyecto2.plotter.*;
 import mx.unam.ciencias.edd.Lista;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Clase principal del proyecto.
  * 
+ * Uso: <code>java -jar proyecto2.jar [--compacto] [--gzip[=nivel]] [--profundidad=N]
+ * [--profundidad-maxima=P] [--vertices-maximos=V] [--mosaicos=directorio
+ * [--tamano-mosaico=T]] [entrada [salida]]</code>, o bien
+ * <code>java -jar proyecto2.jar [opciones] --servidor=puerto</code>.
+ * Si no se da la entrada, o es <code>-</code>, se lee la entrada estándar; si
+ * no se da la salida, o es <code>-</code>, el SVG se escribe en la salida
+ * estándar. Con <code>--gzip</code> el SVG se comprime en formato gzip
+ * (un archivo <code>.svgz</code>) con el nivel de compresión dado, de 0 a 9.
+ * Con <code>--compacto</code> los estilos compartidos se escriben una sola
+ * vez en una hoja de estilos, y el SVG es varias veces más chico. Los
+ * árboles se cortan a la profundidad <code>N</code> y sus subárboles se
+ * dibujan en paralelo; con <code>--profundidad=0</code> se dibujan en
+ * secuencia, y sin la opción la profundidad se elige según el tamaño del
+ * árbol y el número de procesadores. Con <code>--profundidad-maxima</code>
+ * y <code>--vertices-maximos</code> los árboles se dibujan sólo hasta la
+ * profundidad <code>P</code>, o hasta la mayor profundidad con a lo más
+ * <code>V</code> vértices, y los subárboles más profundos se dibujan
+ * colapsados, con su número de elementos, su mínimo, su máximo y su altura.
+ * Con <code>--mosaicos</code> el dibujo se parte en mosaicos de
+ * <code>T</code> por <code>T</code> pixeles (4096 por omisión), cada uno en
+ * su propio archivo SVG en el directorio, y en la salida se escribe un
+ * índice de los mosaicos en JSON. Con <code>--servidor</code> el programa
+ * no dibuja una sola estructura, sino que atiende solicitudes en el puerto
+ * de la interfaz local; ver {@link Servidor}.
+ * Si la entrada es inválida o algo sale mal, el error se escribe en la
+ * salida de errores, no queda archivo de salida y el programa termina con
+ * estado 1.
+ * 
  * @author Luis
  */
 public class Proyecto2 {
@@ -15,13 +55,127 @@ public class Proyecto2 {
      * @param args Argumentos de la línea de comandos.
      */
 	public static void main(String args[]) {
-		String[] arreglo;
-		if(args.length == 0)
-			arreglo = LectorEntrada.reader("");
-		else
-			arreglo = LectorEntrada.reader(args[0]);
+		Opciones opciones;
+		try {
+			opciones = new Opciones(args);
+		} catch (IllegalArgumentException iae) {
+			uso();
+			System.exit(1);
+			return;
+		}
+
+		if (opciones.getPuerto() >= 0) {
+			sirve(opciones);
+			return;
+		}
+
+		Tokenizador entrada = LectorEntrada.reader(opciones.getEntrada().equals("-") ? "" : opciones.getEntrada());
+		if(entrada == null)
+			System.exit(1);
 	
-		CreaEstructura.estructura(arreglo);
-		
+		boolean dibujada = false;
+		CanalDiferido canal = new CanalDiferido(opciones);
+		try (entrada; canal) {
+			SalidaSVG salida = new SalidaSVG(canal);
+			salida.setCompacta(opciones.esCompacto());
+			CreaEstructura.estructura(entrada, salida, opciones);
+			dibujada = true;
+		} catch (IOException | UncheckedIOException | InvalidPathException e) {
+			System.err.println("\nAlgo salió mal: \n");
+		} catch (IllegalArgumentException iae) {
+			// La entrada es inválida; incluye los enteros mal escritos.
+			System.err.println(iae.getMessage());
+		}
+		if (!dibujada) {
+			if (canal.esAbierto())
+				borra(opciones.getSalida());
+			System.exit(1);
+		}
+	}
+
+	/* Borra el archivo de salida que dejó un dibujo fallido. */
+	private static void borra(String ruta) {
+		if (ruta.equals("-"))
+			return;
+		try {
+			Files.deleteIfExists(Paths.get(ruta));
+		} catch (IOException | InvalidPathException e) {
+			// No hay nada más que hacer; el error ya se reportó.
+		}
+	}
+
+	/* Ejecuta el programa como servidor hasta que lo terminen. */
+	private static void sirve(Opciones opciones) {
+		try {
+			Servidor servidor = new Servidor(opciones.getPuerto(), opciones);
+			System.err.println("Escuchando en 127.0.0.1:" + servidor.getPuerto());
+			servidor.sirve();
+		} catch (IOException e) {
+			System.err.println("\nAlgo salió mal: \n" + e.getMessage());
+			System.exit(1);
+		}
+	}
+
+	/* Imprime el uso del programa. */
+	private static void uso() {
+		System.err.println("Uso: java -jar proyecto2.jar [--compacto] [--gzip[=nivel]] [--profundidad=N]\n" +
+		                   "                         [--profundidad-maxima=P] [--vertices-maximos=V]\n" +
+		                   "                         [--mosaicos=directorio [--tamano-mosaico=T]] [entrada [salida]]\n" +
+		                   "       java -jar proyecto2.jar [opciones] --servidor=puerto");
+	}
+
+	/* Abre el canal de salida: la salida estándar si la ruta es "-", y si no
+	 * el archivo con esa ruta, que se crea o se trunca. Si se pide, el canal
+	 * comprime lo que recibe. */
+	private static WritableByteChannel canal(String ruta, boolean gzip, int nivel) throws IOException {
+		WritableByteChannel canal;
+		if (ruta.equals("-"))
+			canal = new FileOutputStream(FileDescriptor.out).getChannel();
+		else
+			canal = FileChannel.open(Paths.get(ruta), StandardOpenOption.CREATE,
+			                         StandardOpenOption.TRUNCATE_EXISTING,
+			                         StandardOpenOption.WRITE);
+		return gzip ? new CanalGzip(canal, nivel) : canal;
+	}
+
+	/* Canal de salida que se abre hasta la primera escritura. La entrada se
+	 * valida antes de escribir nada, así que con una entrada inválida no se
+	 * crea el archivo ni se escribe el encabezado gzip. */
+	private static class CanalDiferido implements WritableByteChannel {
+
+		/* Las opciones con la ruta y la compresión de la salida. */
+		private Opciones opciones;
+		/* El canal de destino; null mientras no se escriba nada. */
+		private WritableByteChannel canal;
+		/* Si el canal se cerró. */
+		private boolean cerrado;
+
+		/* Crea un canal diferido para la salida de las opciones. */
+		public CanalDiferido(Opciones opciones) {
+			this.opciones = opciones;
+		}
+
+		/* Nos dice si ya se abrió el destino. */
+		public boolean esAbierto() {
+			return canal != null;
+		}
+
+		@Override public int write(ByteBuffer fuente) throws IOException {
+			if (cerrado)
+				throw new ClosedChannelException();
+			if (canal == null)
+				canal = canal(opciones.getSalida(), opciones.esGzip(), opciones.getNivel());
+			return canal.write(fuente);
+		}
+
+		@Override public boolean isOpen() {
+			return !cerrado;
+		}
+
+		@Override public void close() throws IOException {
+			cerrado = true;
+			if (canal != null)
+				canal.close();
+		}
 	}
 }
@@ -0,0 +1,287 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import mx.unam.ciencias.edd.proyecto2.plotter.*;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor que dibuja estructuras sin volver a arrancar la máquina virtual
+ * para cada una. Escucha conexiones TCP en la interfaz local, y cada conexión
+ * puede mandar cualquier número de solicitudes, una tras otra.
+ *
+ * Una solicitud es un entero de 4 bytes, big-endian, con su longitud,
+ * seguido de esa cantidad de bytes con la entrada en el mismo formato que
+ * lee {@link LectorEntrada}: el nombre de la estructura y sus elementos. La
+ * respuesta es el SVG en trozos, conforme se escribe: cada trozo es un entero
+ * de 4 bytes con su longitud seguido de sus bytes, y un trozo de longitud 0
+ * termina la respuesta. Si la solicitud es inválida, la respuesta es el
+ * mensaje de error y la conexión sigue abierta para la siguiente. Una
+ * solicitud de más de 64 MiB recibe un mensaje de error y se cierra la
+ * conexión, porque su cuerpo no se lee.
+ *
+ * Todas las solicitudes se dibujan con las opciones con las que se creó el
+ * servidor. Cada conexión se atiende en un hilo de una alberca de tamaño
+ * fijo, el doble del número de procesadores, y reutiliza sus búferes de
+ * salida en todas sus solicitudes. Las conexiones que llegan con todos los
+ * hilos ocupados esperan en una cola acotada, y si la cola está llena se
+ * cierran.
+ *
+ * @author Luis
+ */
+public class Servidor {
+
+    /* Longitud máxima del cuerpo de una solicitud. */
+    private static final int LONGITUD_MAXIMA = 1 << 26;
+    /* Número máximo de conexiones que esperan un hilo. */
+    private static final int CONEXIONES_EN_ESPERA = 64;
+
+    /* Las opciones del dibujo. */
+    private Opciones opciones;
+    /* El canal donde se aceptan las conexiones. */
+    private ServerSocketChannel servidor;
+    /* Los hilos que atienden las conexiones. */
+    private ExecutorService hilos;
+
+    /**
+     * Crea un servidor que escucha en el puerto recibido de la interfaz
+     * local.
+     *
+     * @param puerto el puerto; con 0 se elige uno libre.
+     * @param opciones las opciones con las que se dibujan las estructuras.
+     * @throws IOException si no se puede escuchar en el puerto.
+     */
+    public Servidor(int puerto, Opciones opciones) throws IOException {
+        this.opciones = opciones;
+        servidor = ServerSocketChannel.open();
+        servidor.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), puerto));
+        AtomicInteger contador = new AtomicInteger();
+        int n = 2 * Runtime.getRuntime().availableProcessors();
+        hilos = new ThreadPoolExecutor(n, n, 0, TimeUnit.MILLISECONDS,
+                                       new ArrayBlockingQueue<>(CONEXIONES_EN_ESPERA), r -> {
+            Thread hilo = new Thread(r, "conexion-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Regresa el puerto donde escucha el servidor.
+     *
+     * @return el puerto donde escucha el servidor.
+     * @throws IOException si no se puede consultar el puerto.
+     */
+    public int getPuerto() throws IOException {
+        return ((InetSocketAddress)servidor.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Acepta conexiones hasta que se cierre el servidor.
+     *
+     * @throws IOException si ocurre un error al aceptar una conexión.
+     */
+    public void sirve() throws IOException {
+        try {
+            while (true) {
+                SocketChannel conexion = servidor.accept();
+                try {
+                    hilos.execute(() -> atiende(conexion));
+                } catch (RejectedExecutionException ree) {
+                    System.err.println("Demasiadas conexiones; se cierra una.");
+                    conexion.close();
+                }
+            }
+        } catch (ClosedChannelException cce) {
+            // El servidor se cerró.
+        } finally {
+            hilos.shutdown();
+        }
+    }
+
+    /**
+     * Deja de aceptar conexiones. Las conexiones abiertas terminan su
+     * solicitud en curso.
+     *
+     * @throws IOException si ocurre un error al cerrar el servidor.
+     */
+    public void cierra() throws IOException {
+        servidor.close();
+    }
+
+    /* Atiende las solicitudes de una conexión hasta que el cliente la
+     * cierre. Un error en una solicitud se manda como su respuesta; sólo los
+     * errores de la conexión la terminan. */
+    private void atiende(SocketChannel conexion) {
+        ByteBuffer encabezado = ByteBuffer.allocate(4);
+        SalidaSVG salida = null;
+        try (conexion) {
+            /* La respuesta se manda en varios trozos pequeños; sin esto el
+             * último esperaría la confirmación del anterior. */
+            conexion.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            while (leeEncabezado(conexion, encabezado)) {
+                int longitud = encabezado.getInt(0);
+                WritableByteChannel respuesta = new Respuesta(conexion);
+                if (opciones.esGzip())
+                    respuesta = new CanalGzip(respuesta, opciones.getNivel());
+                if (longitud < 0 || longitud > LONGITUD_MAXIMA) {
+                    error(respuesta, "Longitud de solicitud inválida: " + longitud +
+                          " (máximo " + LONGITUD_MAXIMA + ").");
+                    return;
+                }
+                if (salida == null) {
+                    salida = new SalidaSVG(respuesta);
+                    salida.setCompacta(opciones.esCompacto());
+                } else {
+                    salida.setCanal(respuesta);
+                }
+                try (Tokenizador entrada = new Tokenizador(new Solicitud(conexion, longitud))) {
+                    CreaEstructura.estructura(entrada, salida, opciones);
+                    salida.close();
+                } catch (UncheckedIOException uioe) {
+                    throw uioe.getCause();
+                } catch (RuntimeException e) {
+                    /* La salida puede tener bytes sin escribir; la siguiente
+                     * solicitud usa una nueva. */
+                    salida = null;
+                    error(respuesta, e.getMessage() != null ? e.getMessage() : e.toString());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error en la conexión: " + e);
+        }
+    }
+
+    /* Manda un mensaje de error como la respuesta a una solicitud. */
+    private static void error(WritableByteChannel respuesta, String mensaje)
+        throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap((mensaje + "\n").getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining())
+            respuesta.write(bytes);
+        respuesta.close();
+    }
+
+    /* Lee el encabezado de una solicitud; regresa false si el cliente cerró
+     * la conexión antes de mandarlo. */
+    private static boolean leeEncabezado(SocketChannel conexion, ByteBuffer encabezado)
+        throws IOException {
+        encabezado.clear();
+        while (encabezado.hasRemaining())
+            if (conexion.read(encabezado) < 0) {
+                if (encabezado.position() == 0)
+                    return false;
+                throw new EOFException("Encabezado de solicitud incompleto.");
+            }
+        return true;
+    }
+
+    /* Canal con el cuerpo de una solicitud: lee de la conexión sólo los
+     * bytes de la solicitud. Al cerrarlo se descartan los que no se leyeron,
+     * para que la conexión quede al inicio de la siguiente solicitud. */
+    private static class Solicitud implements ReadableByteChannel {
+
+        /* La conexión. */
+        private SocketChannel conexion;
+        /* Los bytes que faltan por leer. */
+        private int restantes;
+
+        /* Crea el canal de una solicitud con la longitud recibida. */
+        public Solicitud(SocketChannel conexion, int longitud) {
+            this.conexion = conexion;
+            restantes = longitud;
+        }
+
+        @Override public int read(ByteBuffer destino) throws IOException {
+            if (restantes == 0)
+                return -1;
+            int limite = destino.limit();
+            if (destino.remaining() > restantes)
+                destino.limit(destino.position() + restantes);
+            int n;
+            try {
+                n = conexion.read(destino);
+            } finally {
+                destino.limit(limite);
+            }
+            if (n < 0)
+                throw new EOFException("Solicitud incompleta.");
+            restantes -= n;
+            return n;
+        }
+
+        @Override public boolean isOpen() {
+            return conexion.isOpen();
+        }
+
+        @Override public void close() throws IOException {
+            if (restantes == 0)
+                return;
+            ByteBuffer descarte = ByteBuffer.allocate(Math.min(restantes, 1 << 16));
+            while (restantes > 0) {
+                descarte.clear();
+                read(descarte);
+            }
+        }
+    }
+
+    /* Canal de la respuesta a una solicitud: escribe en la conexión cada
+     * búfer que recibe como un trozo con su longitud, y al cerrarlo escribe
+     * el trozo vacío que termina la respuesta. No cierra la conexión. */
+    private static class Respuesta implements WritableByteChannel {
+
+        /* La conexión. */
+        private SocketChannel conexion;
+        /* El encabezado de los trozos. */
+        private ByteBuffer encabezado = ByteBuffer.allocate(4);
+        /* Si la respuesta está abierta. */
+        private boolean abierta = true;
+
+        /* Crea la respuesta en la conexión recibida. */
+        public Respuesta(SocketChannel conexion) {
+            this.conexion = conexion;
+        }
+
+        @Override public int write(ByteBuffer origen) throws IOException {
+            if (!abierta)
+                throw new ClosedChannelException();
+            int n = origen.remaining();
+            if (n == 0)
+                return 0;
+            encabezado.clear();
+            encabezado.putInt(n).flip();
+            ByteBuffer[] trozo = { encabezado, origen };
+            while (origen.hasRemaining())
+                conexion.write(trozo);
+            return n;
+        }
+
+        @Override public boolean isOpen() {
+            return abierta;
+        }
+
+        @Override public void close() throws IOException {
+            if (!abierta)
+                return;
+            abierta = false;
+            encabezado.clear();
+            encabezado.putInt(0).flip();
+            while (encabezado.hasRemaining())
+                conexion.write(encabezado);
+        }
+    }
+}
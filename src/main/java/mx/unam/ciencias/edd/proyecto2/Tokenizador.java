@@ -0,0 +1,410 @@
+package mx.unam.ciencias.edd.proyecto2;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Tokenizador de la entrada del graficador. Lee la entrada por bloques desde
+ * un canal, ignora los renglones que comienzan con <code>#</code> conforme
+ * los encuentra y regresa el nombre de la estructura seguido de enteros
+ * primitivos. La memoria que usa es independiente del tamaño de la entrada.
+ *
+ * Si la entrada es un archivo, se mapea a memoria por ventanas y los tokens
+ * se analizan directamente sobre la región mapeada, sin copiarla a un búfer.
+ * Las regiones mapeadas grandes se parten en trozos que comienzan después
+ * de un espacio, aunque la entrada sea un solo renglón, y los trozos se
+ * analizan en paralelo.
+ *
+ * @author Luis
+ */
+public class Tokenizador implements Closeable {
+
+    /* Tamaño del búfer de lectura. */
+    private static final int TAMANO_BUFER = 1 << 16;
+    /* Tamaño máximo de la región del archivo mapeada a la vez. */
+    private static final int TAMANO_VENTANA = 1 << 30;
+    /* Tamaño mínimo de la región para analizarla en paralelo. */
+    private static final int UMBRAL_PARALELO = 1 << 22;
+    /* Tamaño mínimo de cada trozo analizado en paralelo. */
+    private static final int TAMANO_TROZO = 1 << 20;
+    /* Indica que no hay un byte pendiente. */
+    private static final int NINGUNO = -2;
+
+    /* Estados del análisis al comienzo de un trozo: en un renglón que ya
+     * tiene tokens, al inicio de un renglón (sólo espacios desde el último
+     * fin de renglón), o dentro de un renglón de comentario. */
+    private static final int ENTRE_TOKENS = 0;
+    private static final int INICIO_RENGLON = 1;
+    private static final int COMENTARIO = 2;
+
+    /* El canal de donde se lee la entrada. */
+    private ReadableByteChannel canal;
+    /* El archivo mapeado a memoria; null si se lee por bloques. */
+    private FileChannel archivo;
+    /* El tamaño del archivo mapeado. */
+    private long tamano;
+    /* La posición en el archivo donde comienza la ventana mapeada. */
+    private long desplazamiento;
+    /* El búfer de lectura. */
+    private ByteBuffer bufer;
+    /* Si no hemos visto nada distinto de espacios en el renglón actual. */
+    private boolean inicioRenglon;
+    /* El primer byte del siguiente token, si ya lo leímos. */
+    private int pendiente;
+
+    /**
+     * Crea un tokenizador que lee del canal recibido.
+     *
+     * @param canal el canal de donde se lee la entrada.
+     */
+    public Tokenizador(ReadableByteChannel canal) {
+        this.canal = canal;
+        bufer = ByteBuffer.allocate(TAMANO_BUFER);
+        bufer.flip();
+        inicioRenglon = true;
+        pendiente = NINGUNO;
+    }
+
+    /* Crea un tokenizador sobre una región de un búfer, que comienza en el
+     * estado recibido; lo usan los trozos analizados en paralelo. */
+    private Tokenizador(ByteBuffer region, int estado) {
+        bufer = region;
+        inicioRenglon = estado == INICIO_RENGLON;
+        pendiente = NINGUNO;
+        if (estado == COMENTARIO)
+            saltaRenglon();
+    }
+
+    /**
+     * Crea un tokenizador que mapea a memoria el archivo recibido y analiza
+     * sus tokens directamente sobre la región mapeada.
+     *
+     * @param archivo el archivo de donde se lee la entrada.
+     * @throws IOException si no se puede mapear el archivo.
+     */
+    public Tokenizador(FileChannel archivo) throws IOException {
+        canal = archivo;
+        this.archivo = archivo;
+        tamano = archivo.size();
+        inicioRenglon = true;
+        pendiente = NINGUNO;
+        mapea(0);
+    }
+
+    /**
+     * Regresa la siguiente palabra de la entrada.
+     *
+     * @return la siguiente palabra de la entrada, o <code>null</code> si ya no
+     *         hay más tokens.
+     */
+    public String palabra() {
+        int c = siguiente();
+        if (c == -1)
+            return null;
+        byte[] bytes = new byte[16];
+        int n = 0;
+        do {
+            if (n == bytes.length) {
+                byte[] b = new byte[n * 2];
+                System.arraycopy(bytes, 0, b, 0, n);
+                bytes = b;
+            }
+            bytes[n++] = (byte)c;
+        } while ((c = lee()) > ' ');
+        finToken(c);
+        return new String(bytes, 0, n, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Nos dice si hay otro token en la entrada.
+     *
+     * @return <code>true</code> si hay otro token en la entrada,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean hayToken() {
+        if (pendiente == NINGUNO)
+            pendiente = saltaBlancos();
+        return pendiente != -1;
+    }
+
+    /**
+     * Regresa el siguiente token de la entrada como entero. Los dígitos se
+     * interpretan directamente desde el búfer de lectura.
+     *
+     * @return el siguiente entero de la entrada.
+     * @throws NoSuchElementException si ya no hay más tokens.
+     * @throws NumberFormatException si el token no es un entero válido.
+     */
+    public int entero() {
+        int c = siguiente();
+        if (c == -1)
+            throw new NoSuchElementException("No hay más elementos en la entrada.");
+
+        boolean negativo = c == '-';
+        if (c == '-' || c == '+')
+            c = lee();
+
+        int limite = negativo ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int resultado = 0;
+        boolean valido = c > ' ';
+        while (c > ' ') {
+            int digito = c - '0';
+            if (digito < 0 || digito > 9 || resultado < limite / 10 ||
+                resultado * 10 < limite + digito) {
+                valido = false;
+                while ((c = lee()) > ' ')
+                    ;
+                break;
+            }
+            /* Acumulamos en negativo para poder representar MIN_VALUE. */
+            resultado = resultado * 10 - digito;
+            c = lee();
+        }
+        finToken(c);
+
+        if (!valido)
+            throw new NumberFormatException("Entero inválido en la entrada.");
+        return negativo ? resultado : -resultado;
+    }
+
+    /**
+     * Lee todos los enteros restantes de la entrada y los agrega al arreglo
+     * recibido, sin crear una cadena ni un objeto por elemento. Si la entrada
+     * es un archivo mapeado suficientemente grande, cada ventana se parte en
+     * trozos que se analizan en paralelo.
+     *
+     * @param destino el arreglo donde se agregan los enteros.
+     * @return el arreglo recibido.
+     * @throws NumberFormatException si algún token no es un entero válido.
+     */
+    public ArregloEnteros enteros(ArregloEnteros destino) {
+        if (archivo != null) {
+            /* Un token ya empezado se termina de leer aquí. */
+            if (pendiente != NINGUNO && pendiente != -1)
+                destino.agrega(entero());
+            while (pendiente == NINGUNO && bufer.remaining() >= UMBRAL_PARALELO) {
+                int inicio = bufer.position();
+                int fin = bufer.limit();
+                boolean ultima = desplazamiento + fin >= tamano;
+                /* Si hay más ventanas, la región termina después del último
+                 * espacio, para que ningún token quede partido. */
+                if (!ultima)
+                    fin = ultimoBlanco(inicio, fin);
+                if (fin - inicio < UMBRAL_PARALELO)
+                    break;
+                int estado = enterosEnParalelo(inicio, fin, destino);
+                bufer.position(fin);
+                if (ultima)
+                    break;
+                try {
+                    mapea(desplazamiento + fin);
+                } catch (IOException ioe) {
+                    throw new UncheckedIOException(ioe);
+                }
+                inicioRenglon = estado == INICIO_RENGLON;
+                if (estado == COMENTARIO)
+                    saltaRenglon();
+            }
+        }
+        while (hayToken())
+            destino.agrega(entero());
+        return destino;
+    }
+
+    /**
+     * Cierra el canal de la entrada.
+     *
+     * @throws IOException si ocurre un error al cerrar el canal.
+     */
+    @Override public void close() throws IOException {
+        canal.close();
+    }
+
+    /* Regresa el primer byte del siguiente token, o -1 si no hay más. */
+    private int siguiente() {
+        int c = pendiente == NINGUNO ? saltaBlancos() : pendiente;
+        pendiente = NINGUNO;
+        return c;
+    }
+
+    /* Procesa el byte que terminó un token. */
+    private void finToken(int c) {
+        if (c == '\n')
+            inicioRenglon = true;
+    }
+
+    /* Salta espacios y renglones de comentario; regresa el primer byte del
+     * siguiente token, o -1 si se acabó la entrada. */
+    private int saltaBlancos() {
+        int c;
+        while ((c = lee()) != -1) {
+            if (c == '\n') {
+                inicioRenglon = true;
+            } else if (c == '#' && inicioRenglon) {
+                if (!saltaRenglon())
+                    return -1;
+            } else if (c > ' ') {
+                inicioRenglon = false;
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    /* Salta el resto del renglón actual, incluido su fin; regresa false si
+     * se acabó la entrada antes. */
+    private boolean saltaRenglon() {
+        int c;
+        while ((c = lee()) != -1 && c != '\n')
+            ;
+        if (c == -1)
+            return false;
+        inicioRenglon = true;
+        return true;
+    }
+
+    /* Regresa el siguiente byte de la entrada, o -1 si se acabó. */
+    private int lee() {
+        if (!bufer.hasRemaining() && !rellena())
+            return -1;
+        return bufer.get() & 0xff;
+    }
+
+    /* Analiza en paralelo los enteros del búfer entre las posiciones inicio
+     * y fin, y los agrega en orden al arreglo recibido; regresa el estado del
+     * análisis en fin. Los trozos se cortan después de un espacio, así que
+     * ningún token queda partido; el estado con el que comienza cada trozo,
+     * que indica si cae dentro de un renglón de comentario, se calcula a
+     * partir del estado del trozo anterior. */
+    private int enterosEnParalelo(int inicio, int fin, ArregloEnteros destino) {
+        int n = ForkJoinPool.getCommonPoolParallelism() * 4;
+        n = Math.max(1, Math.min(n, (fin - inicio) / TAMANO_TROZO));
+        Trozo[] trozos = new Trozo[n];
+        int a = inicio;
+        int estado = inicioRenglon ? INICIO_RENGLON : ENTRE_TOKENS;
+        int k = 0;
+        for (int i = 1; i <= n && a < fin; i++) {
+            int b = i == n ? fin : siguienteBlanco(inicio + (int)((long)(fin - inicio) * i / n), fin);
+            if (b <= a)
+                continue;
+            ByteBuffer region = bufer.duplicate();
+            region.limit(b);
+            region.position(a);
+            trozos[k++] = new Trozo(region, estado);
+            estado = estado(a, estado, b);
+            a = b;
+        }
+        ForkJoinTask.invokeAll(Arrays.asList(trozos).subList(0, k));
+        int total = destino.getElementos();
+        for (int i = 0; i < k; i++)
+            total += trozos[i].join().getElementos();
+        destino.reserva(total);
+        for (int i = 0; i < k; i++)
+            destino.agrega(trozos[i].join());
+        return estado;
+    }
+
+    /* Regresa el estado del análisis en la posición b, si en la posición
+     * a < b el estado era el recibido. Sólo se revisan los bytes desde el
+     * último fin de renglón antes de b, o desde a si no hay ninguno entre
+     * las dos posiciones, así que calcular los estados de trozos
+     * consecutivos recorre cada byte a lo más una vez. */
+    private int estado(int a, int estado, int b) {
+        int i = b;
+        while (i > a && bufer.get(i - 1) != '\n')
+            i--;
+        if (i > a)
+            estado = INICIO_RENGLON;
+        if (estado != INICIO_RENGLON)
+            return estado;
+        for (; i < b; i++) {
+            int c = bufer.get(i) & 0xff;
+            if (c > ' ')
+                return c == '#' ? COMENTARIO : ENTRE_TOKENS;
+        }
+        return INICIO_RENGLON;
+    }
+
+    /* Regresa la posición siguiente al primer espacio en o después de la
+     * posición i, o fin si no hay ninguno. */
+    private int siguienteBlanco(int i, int fin) {
+        while (i < fin)
+            if ((bufer.get(i++) & 0xff) <= ' ')
+                return i;
+        return fin;
+    }
+
+    /* Regresa la posición siguiente al último espacio antes de fin, o
+     * inicio si no hay ninguno. */
+    private int ultimoBlanco(int inicio, int fin) {
+        for (int i = fin - 1; i >= inicio; i--)
+            if ((bufer.get(i) & 0xff) <= ' ')
+                return i + 1;
+        return inicio;
+    }
+
+    /* Mapea la ventana del archivo que comienza en la posición recibida. */
+    private void mapea(long inicio) throws IOException {
+        long n = Math.min(TAMANO_VENTANA, tamano - inicio);
+        bufer = archivo.map(FileChannel.MapMode.READ_ONLY, inicio, n);
+        desplazamiento = inicio;
+    }
+
+    /* Vuelve a llenar el búfer desde el canal, o mapea la siguiente ventana
+     * del archivo; regresa false si se acabó la entrada. */
+    private boolean rellena() {
+        try {
+            if (canal == null)
+                return false;
+            if (archivo != null) {
+                long siguiente = desplazamiento + bufer.limit();
+                if (siguiente >= tamano)
+                    return false;
+                mapea(siguiente);
+                return true;
+            }
+            bufer.clear();
+            int n;
+            do {
+                n = canal.read(bufer);
+            } while (n == 0);
+            bufer.flip();
+            return n > 0;
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /* Trozo de la entrada que se analiza en paralelo. */
+    private static class Trozo extends RecursiveTask<ArregloEnteros> {
+
+        private static final long serialVersionUID = 1L;
+
+        /* La región del búfer que le toca al trozo. */
+        private ByteBuffer region;
+        /* El estado del análisis al comienzo de la región. */
+        private int estado;
+
+        /* Crea un trozo sobre la región recibida. */
+        public Trozo(ByteBuffer region, int estado) {
+            this.region = region;
+            this.estado = estado;
+        }
+
+        /* Analiza los enteros de la región. */
+        @Override protected ArregloEnteros compute() {
+            Tokenizador t = new Tokenizador(region, estado);
+            return t.enteros(new ArregloEnteros(region.remaining() / 4));
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package mx.unam.ciencias.edd.proyecto2.plotter;
+
+import java.util.ArrayDeque;
+import mx.unam.ciencias.edd.VerticeArbolBinario;
+
+/**
+ * Acomodo compacto de árboles binarios, con el algoritmo de Reingold y
+ * Tilford. Los subárboles se acomodan de abajo hacia arriba y se acercan lo
+ * más posible sin encimarse: para comparar los contornos de dos subárboles
+ * se siguen hilos que conectan cada contorno con el siguiente nivel, así que
+ * el acomodo completo toma tiempo <em>O(n)</em> y el ancho del dibujo crece
+ * con el número de vértices y no con 2<sup>altura</sup>.
+ *
+ * Los vértices se numeran en pre-orden, de modo que cada subárbol ocupa un
+ * intervalo contiguo de índices. Las coordenadas x se miden en medias
+ * unidades: dos vértices del mismo nivel quedan al menos a una unidad (dos
+ * medias unidades) de distancia, y el hijo único de un vértice queda a media
+ * unidad de él, del lado que le corresponde.
+ *
+ * El acomodo puede limitarse a una profundidad máxima: los vértices a esa
+ * profundidad se acomodan como hojas, y los que tienen hijos quedan
+ * <em>colapsados</em>, representando a todo su subárbol.
+ *
+ * @param <T> El tipo de los elementos del árbol.
+ * @author Luis
+ */
+public class AcomodoArbol<T> {
+
+    /* Separación mínima entre vértices del mismo nivel, en medias unidades. */
+    private static final int SEPARACION = 2;
+
+    /* El número de vértices. */
+    private int n;
+    /* Los vértices en pre-orden. */
+    private VerticeArbolBinario<T>[] vertices;
+    /* Índices del padre y de los hijos de cada vértice, o -1. */
+    private int[] padre, izquierdo, derecho;
+    /* Profundidad de cada vértice. */
+    private int[] profundidad;
+    /* Índice siguiente al último vértice del subárbol de cada vértice. */
+    private int[] fin;
+    /* Posición de cada vértice en medias unidades; durante el acomodo es
+     * relativa a su padre. */
+    private int[] x;
+    /* Hilo de cada hoja de contorno al siguiente vértice del contorno, o -1,
+     * y la distancia horizontal que recorre. */
+    private int[] hilo, despHilo;
+    /* Para cada subárbol: sus vértices más profundos de la izquierda y de la
+     * derecha, la posición de éstos relativa a la raíz del subárbol, y la
+     * altura del subárbol. */
+    private int[] extIzq, extDer, offIzq, offDer, altura;
+    /* La posición máxima y la profundidad máxima. */
+    private int anchura, profundidadMaxima;
+    /* La profundidad a partir de la cual no se acomodan vértices. */
+    private int limite;
+
+    /**
+     * Acomoda el árbol con la raíz recibida.
+     *
+     * @param raiz La raíz del árbol a acomodar.
+     */
+    public AcomodoArbol(VerticeArbolBinario<T> raiz) {
+        this(raiz, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Acomoda el árbol con la raíz recibida hasta la profundidad recibida.
+     * Los vértices más profundos no se acomodan.
+     *
+     * @param raiz La raíz del árbol a acomodar.
+     * @param limite La profundidad máxima de los vértices acomodados.
+     * @throws IllegalArgumentException si la profundidad es negativa.
+     */
+    public AcomodoArbol(VerticeArbolBinario<T> raiz, int limite) {
+        if (limite < 0)
+            throw new IllegalArgumentException("Profundidad inválida: " + limite);
+        this.limite = limite;
+        n = cuentaVertices(raiz);
+        reserva();
+        numera(raiz);
+        for (int v = n - 1; v >= 0; v--)
+            acomodaSubarbol(v);
+        posicionesAbsolutas();
+        /* Los arreglos de trabajo ya no se necesitan. */
+        hilo = despHilo = extIzq = extDer = offIzq = offDer = altura = null;
+    }
+
+    /**
+     * Regresa el número de vértices del árbol.
+     *
+     * @return El número de vértices del árbol.
+     */
+    public int getElementos() {
+        return n;
+    }
+
+    /**
+     * Regresa el <em>i</em>-ésimo vértice en pre-orden.
+     *
+     * @param i El índice del vértice.
+     * @return El <em>i</em>-ésimo vértice en pre-orden.
+     */
+    public VerticeArbolBinario<T> vertice(int i) {
+        return vertices[i];
+    }
+
+    /**
+     * Regresa el índice del padre de un vértice.
+     *
+     * @param i El índice del vértice.
+     * @return El índice del padre, o -1 si el vértice es la raíz.
+     */
+    public int padre(int i) {
+        return padre[i];
+    }
+
+    /**
+     * Nos dice si un vértice es hijo derecho de su padre.
+     *
+     * @param i El índice del vértice.
+     * @return <code>true</code> si el vértice es hijo derecho,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esDerecho(int i) {
+        return padre[i] >= 0 && derecho[padre[i]] == i;
+    }
+
+    /**
+     * Regresa la profundidad de un vértice.
+     *
+     * @param i El índice del vértice.
+     * @return La profundidad del vértice.
+     */
+    public int profundidad(int i) {
+        return profundidad[i];
+    }
+
+    /**
+     * Nos dice si un vértice está colapsado: si está a la profundidad
+     * máxima del acomodo y tiene hijos que no se acomodaron.
+     *
+     * @param i El índice del vértice.
+     * @return <code>true</code> si el vértice está colapsado,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esColapsado(int i) {
+        return profundidad[i] == limite &&
+            (vertices[i].hayIzquierdo() || vertices[i].hayDerecho());
+    }
+
+    /**
+     * Regresa el índice siguiente al último vértice del subárbol de un
+     * vértice. El subárbol ocupa los índices de <code>i</code> a
+     * <code>finSubarbol(i) - 1</code>.
+     *
+     * @param i El índice del vértice.
+     * @return El índice siguiente al último vértice de su subárbol.
+     */
+    public int finSubarbol(int i) {
+        return fin[i];
+    }
+
+    /**
+     * Regresa la posición horizontal de un vértice, en medias unidades. La
+     * posición mínima es cero.
+     *
+     * @param i El índice del vértice.
+     * @return La posición horizontal del vértice.
+     */
+    public int x(int i) {
+        return x[i];
+    }
+
+    /**
+     * Regresa la posición horizontal máxima, en medias unidades.
+     *
+     * @return La posición horizontal máxima.
+     */
+    public int getAnchura() {
+        return anchura;
+    }
+
+    /**
+     * Regresa la profundidad máxima de los vértices.
+     *
+     * @return La profundidad máxima de los vértices.
+     */
+    public int getProfundidad() {
+        return profundidadMaxima;
+    }
+
+    /**
+     * Regresa la mayor profundidad hasta la que un árbol tiene a lo más el
+     * número de vértices recibido. El árbol se recorre por niveles y el
+     * recorrido se detiene en cuanto se excede el número, así que toma
+     * tiempo proporcional a él y no al tamaño del árbol.
+     *
+     * @param raiz La raíz del árbol.
+     * @param vertices El número máximo de vértices.
+     * @return La mayor profundidad hasta la que el árbol tiene a lo más ese
+     *         número de vértices, o {@link Integer#MAX_VALUE} si el árbol
+     *         completo los tiene; al menos 0.
+     */
+    public static int profundidadPara(VerticeArbolBinario<?> raiz, int vertices) {
+        ArrayDeque<VerticeArbolBinario<?>> nivel = new ArrayDeque<>();
+        nivel.add(raiz);
+        int cuenta = 1;
+        for (int profundidad = 0; ; profundidad++) {
+            for (int k = nivel.size(); k > 0; k--) {
+                VerticeArbolBinario<?> v = nivel.poll();
+                if (v.hayIzquierdo())
+                    nivel.add(v.izquierdo());
+                if (v.hayDerecho())
+                    nivel.add(v.derecho());
+            }
+            if (nivel.isEmpty())
+                return Integer.MAX_VALUE;
+            cuenta += nivel.size();
+            if (cuenta > vertices)
+                return profundidad;
+        }
+    }
+
+    /* Cuenta los vértices del árbol hasta el límite sin recursión, bajando
+     * siempre que se pueda y subiendo por los padres. */
+    private int cuentaVertices(VerticeArbolBinario<T> raiz) {
+        int c = 0;
+        int profundidad = 0;
+        VerticeArbolBinario<T> v = raiz;
+        while (v != null) {
+            c++;
+            if (profundidad < limite && v.hayIzquierdo()) {
+                v = v.izquierdo();
+                profundidad++;
+                continue;
+            }
+            if (profundidad < limite && v.hayDerecho()) {
+                v = v.derecho();
+                profundidad++;
+                continue;
+            }
+            /* Subimos hasta un ancestro que llegó por la izquierda y tiene
+             * hijo derecho. */
+            VerticeArbolBinario<T> siguiente = null;
+            while (v != raiz) {
+                VerticeArbolBinario<T> p = v.padre();
+                if (p.hayIzquierdo() && p.izquierdo() == v && p.hayDerecho()) {
+                    siguiente = p.derecho();
+                    break;
+                }
+                v = p;
+                profundidad--;
+            }
+            v = siguiente;
+        }
+        return c;
+    }
+
+    /* Crea los arreglos del acomodo. */
+    @SuppressWarnings("unchecked") private void reserva() {
+        vertices = (VerticeArbolBinario<T>[])new VerticeArbolBinario[n];
+        padre = new int[n];
+        izquierdo = new int[n];
+        derecho = new int[n];
+        profundidad = new int[n];
+        fin = new int[n];
+        x = new int[n];
+        hilo = new int[n];
+        despHilo = new int[n];
+        extIzq = new int[n];
+        extDer = new int[n];
+        offIzq = new int[n];
+        offDer = new int[n];
+        altura = new int[n];
+    }
+
+    /* Numera los vértices en pre-orden y llena padres, hijos y
+     * profundidades. */
+    private void numera(VerticeArbolBinario<T> raiz) {
+        int i = 0;
+        int actual = -1;
+        VerticeArbolBinario<T> v = raiz;
+        while (v != null) {
+            vertices[i] = v;
+            padre[i] = actual;
+            izquierdo[i] = derecho[i] = hilo[i] = -1;
+            profundidad[i] = actual < 0 ? 0 : profundidad[actual] + 1;
+            profundidadMaxima = Math.max(profundidadMaxima, profundidad[i]);
+            if (actual >= 0) {
+                if (vertices[actual].hayIzquierdo() && vertices[actual].izquierdo() == v)
+                    izquierdo[actual] = i;
+                else
+                    derecho[actual] = i;
+            }
+            actual = i++;
+            if (profundidad[actual] < limite && v.hayIzquierdo()) {
+                v = v.izquierdo();
+                continue;
+            }
+            if (profundidad[actual] < limite && v.hayDerecho()) {
+                v = v.derecho();
+                continue;
+            }
+            /* Una hoja: subimos cerrando subárboles hasta el siguiente hijo
+             * derecho pendiente. */
+            v = null;
+            while (actual >= 0) {
+                fin[actual] = i;
+                int p = padre[actual];
+                if (p >= 0 && izquierdo[p] == actual && vertices[p].hayDerecho()) {
+                    v = vertices[p].derecho();
+                    actual = p;
+                    break;
+                }
+                actual = p;
+            }
+        }
+    }
+
+    /* Regresa el siguiente vértice del contorno izquierdo. */
+    private int siguienteIzquierdo(int v) {
+        return izquierdo[v] >= 0 ? izquierdo[v] : derecho[v] >= 0 ? derecho[v] : hilo[v];
+    }
+
+    /* Regresa el siguiente vértice del contorno derecho. */
+    private int siguienteDerecho(int v) {
+        return derecho[v] >= 0 ? derecho[v] : izquierdo[v] >= 0 ? izquierdo[v] : hilo[v];
+    }
+
+    /* Regresa la distancia horizontal de un vértice al siguiente de su
+     * contorno. */
+    private int desplazamiento(int v, int siguiente) {
+        return siguiente == izquierdo[v] || siguiente == derecho[v] ? x[siguiente] : despHilo[v];
+    }
+
+    /* Acomoda el subárbol de un vértice cuyos hijos ya están acomodados. */
+    private void acomodaSubarbol(int v) {
+        int i = izquierdo[v], d = derecho[v];
+        if (i < 0 && d < 0) {
+            extIzq[v] = extDer[v] = v;
+            offIzq[v] = offDer[v] = 0;
+            altura[v] = 0;
+            return;
+        }
+        if (i < 0 || d < 0) {
+            int h = i < 0 ? d : i;
+            x[h] = i < 0 ? SEPARACION / 2 : -SEPARACION / 2;
+            extIzq[v] = extIzq[h];
+            extDer[v] = extDer[h];
+            offIzq[v] = offIzq[h] + x[h];
+            offDer[v] = offDer[h] + x[h];
+            altura[v] = altura[h] + 1;
+            return;
+        }
+
+        /* Recorremos el contorno derecho del subárbol izquierdo y el
+         * izquierdo del derecho, nivel por nivel. */
+        int l = i, r = d;
+        int ol = 0, or = 0;
+        int distancia = SEPARACION;
+        while (true) {
+            distancia = Math.max(distancia, SEPARACION + ol - or);
+            int sl = siguienteDerecho(l), sr = siguienteIzquierdo(r);
+            if (sl < 0 || sr < 0) {
+                if (sl >= 0)
+                    ol += desplazamiento(l, sl);
+                if (sr >= 0)
+                    or += desplazamiento(r, sr);
+                l = sl;
+                r = sr;
+                break;
+            }
+            ol += desplazamiento(l, sl);
+            or += desplazamiento(r, sr);
+            l = sl;
+            r = sr;
+        }
+        if (distancia % 2 != 0)
+            distancia++;
+        x[i] = -distancia / 2;
+        x[d] = distancia / 2;
+
+        if (altura[d] > altura[i]) {
+            /* El subárbol derecho es más profundo: el contorno izquierdo
+             * continúa en él. */
+            int e = extIzq[i];
+            hilo[e] = r;
+            despHilo[e] = (x[d] + or) - (x[i] + offIzq[i]);
+            extIzq[v] = extIzq[d];
+            offIzq[v] = offIzq[d] + x[d];
+        } else {
+            extIzq[v] = extIzq[i];
+            offIzq[v] = offIzq[i] + x[i];
+        }
+        if (altura[i] > altura[d]) {
+            /* El subárbol izquierdo es más profundo: el contorno derecho
+             * continúa en él. */
+            int e = extDer[d];
+            hilo[e] = l;
+            despHilo[e] = (x[i] + ol) - (x[d] + offDer[d]);
+            extDer[v] = extDer[i];
+            offDer[v] = offDer[i] + x[i];
+        } else {
+            extDer[v] = extDer[d];
+            offDer[v] = offDer[d] + x[d];
+        }
+        altura[v] = Math.max(altura[i], altura[d]) + 1;
+    }
+
+    /* Convierte las posiciones relativas en absolutas, con mínimo cero. */
+    private void posicionesAbsolutas() {
+        if (n == 0)
+            return;
+        x[0] = 0;
+        int minimo = 0, maximo = 0;
+        for (int v = 1; v < n; v++) {
+            x[v] += x[padre[v]];
+            minimo = Math.min(minimo, x[v]);
+            maximo = Math.max(maximo, x[v]);
+        }
+        for (int v = 0; v < n; v++)
+            x[v] -= minimo;
+        anchura = maximo - minimo;
+    }
+}
@@ -0,0 +1,299 @@
+package mx.unam.ciencias.edd.proyecto2.plotter;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Acomodo de gráficas dirigido por fuerzas. Las aristas atraen a sus extremos
+ * y todos los vértices se repelen entre sí, como en el algoritmo de
+ * Fruchterman y Reingold. La repulsión se aproxima con el algoritmo de
+ * Barnes y Hut: en cada iteración los vértices se guardan en un árbol de
+ * cuadrantes, y los grupos de vértices suficientemente lejanos se tratan como
+ * un solo vértice en su centro de masa. Cada iteración cuesta
+ * <em>O(n</em> log <em>n + m)</em>, y la repulsión de los vértices se calcula
+ * en paralelo. Una gravedad débil hacia el origen evita que las componentes
+ * conexas se alejen indefinidamente.
+ *
+ * La gráfica se recibe con sus vecinos en arreglos: los vecinos del vértice
+ * <em>i</em> son <code>vecinos[inicio[i]]</code> hasta
+ * <code>vecinos[inicio[i+1]-1]</code>.
+ *
+ * @author Luis
+ */
+public class AcomodoGrafica {
+
+    /* Cociente entre el tamaño de un cuadrante y su distancia a partir del
+     * cual se aproxima el cuadrante por su centro de masa. */
+    private static final double THETA = 0.9;
+    /* Profundidad máxima del árbol de cuadrantes; los vértices que coinciden
+     * más allá de ella comparten una hoja. */
+    private static final int PROFUNDIDAD_MAXIMA = 48;
+    /* Intensidad de la gravedad hacia el origen. */
+    private static final double GRAVEDAD = 0.05;
+    /* Número de vértices cuya repulsión calcula cada tarea paralela. */
+    private static final int VERTICES_POR_TAREA = 1024;
+
+    /* El número de vértices. */
+    private int n;
+    /* Dónde empiezan los vecinos de cada vértice. */
+    private int[] inicio;
+    /* Los vecinos de todos los vértices. */
+    private int[] vecinos;
+    /* La distancia ideal entre vértices. */
+    private double distancia;
+    /* Las posiciones de los vértices. */
+    private double[] x, y;
+    /* Los desplazamientos de la iteración en curso. */
+    private double[] dx, dy;
+
+    /* Los nodos del árbol de cuadrantes: centro y mitad del lado del
+     * cuadrante, número de vértices y suma de sus posiciones, índice del
+     * primero de sus cuatro hijos (o -1 si es hoja) y el vértice de la hoja
+     * (o -1 si está vacía). */
+    private double[] centroX, centroY, mitad, sumaX, sumaY;
+    private int[] masa, hijo, cuerpo;
+    /* El número de nodos del árbol de cuadrantes. */
+    private int nodos;
+
+    /**
+     * Crea un acomodo para la gráfica recibida. Los vértices comienzan en una
+     * espiral alrededor del origen.
+     *
+     * @param n El número de vértices.
+     * @param inicio Dónde empiezan los vecinos de cada vértice; tiene
+     *        <code>n+1</code> entradas.
+     * @param vecinos Los vecinos de todos los vértices.
+     * @param distancia La distancia ideal entre vértices.
+     */
+    public AcomodoGrafica(int n, int[] inicio, int[] vecinos, double distancia) {
+        this.n = n;
+        this.inicio = inicio;
+        this.vecinos = vecinos;
+        this.distancia = distancia;
+        x = new double[n];
+        y = new double[n];
+        dx = new double[n];
+        dy = new double[n];
+        for (int i = 0; i < n; i++) {
+            /* Espiral con ángulo áureo: posiciones iniciales deterministas y
+             * bien repartidas. */
+            double r = distancia * Math.sqrt(i + 0.5);
+            double angulo = i * 2.399963229728653;
+            x[i] = r * Math.cos(angulo);
+            y[i] = r * Math.sin(angulo);
+        }
+        int capacidad = 4 * n + 4;
+        centroX = new double[capacidad];
+        centroY = new double[capacidad];
+        mitad = new double[capacidad];
+        sumaX = new double[capacidad];
+        sumaY = new double[capacidad];
+        masa = new int[capacidad];
+        hijo = new int[capacidad];
+        cuerpo = new int[capacidad];
+    }
+
+    /**
+     * Acomoda la gráfica con el número de iteraciones recibido. La temperatura,
+     * que limita cuánto se mueve cada vértice, baja linealmente hasta cero.
+     *
+     * @param iteraciones El número de iteraciones.
+     */
+    public void acomoda(int iteraciones) {
+        if (n < 2)
+            return;
+        double temperatura = distancia * Math.sqrt(n) / 4;
+        for (int it = 0; it < iteraciones; it++) {
+            double t = temperatura * (iteraciones - it) / iteraciones;
+            construyeArbol();
+            int tareas = (n + VERTICES_POR_TAREA - 1) / VERTICES_POR_TAREA;
+            IntStream.range(0, tareas).parallel().forEach(this::repulsiones);
+            atraccion();
+            for (int i = 0; i < n; i++) {
+                double d = Math.sqrt(dx[i] * dx[i] + dy[i] * dy[i]);
+                if (d > t) {
+                    x[i] += dx[i] / d * t;
+                    y[i] += dy[i] / d * t;
+                } else {
+                    x[i] += dx[i];
+                    y[i] += dy[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Regresa la coordenada x de un vértice.
+     *
+     * @param i El índice del vértice.
+     * @return La coordenada x del vértice.
+     */
+    public double getX(int i) {
+        return x[i];
+    }
+
+    /**
+     * Regresa la coordenada y de un vértice.
+     *
+     * @param i El índice del vértice.
+     * @return La coordenada y del vértice.
+     */
+    public double getY(int i) {
+        return y[i];
+    }
+
+    /* Construye el árbol de cuadrantes con las posiciones actuales. */
+    private void construyeArbol() {
+        double minX = x[0], maxX = x[0], minY = y[0], maxY = y[0];
+        for (int i = 1; i < n; i++) {
+            minX = Math.min(minX, x[i]);
+            maxX = Math.max(maxX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+        nodos = 0;
+        nuevoNodo((minX + maxX) / 2, (minY + maxY) / 2,
+                  Math.max(maxX - minX, maxY - minY) / 2 + 1);
+        for (int i = 0; i < n; i++)
+            inserta(i);
+    }
+
+    /* Agrega un nodo vacío al árbol de cuadrantes y regresa su índice. */
+    private int nuevoNodo(double cx, double cy, double m) {
+        if (nodos == masa.length)
+            creceArbol();
+        centroX[nodos] = cx;
+        centroY[nodos] = cy;
+        mitad[nodos] = m;
+        sumaX[nodos] = 0;
+        sumaY[nodos] = 0;
+        masa[nodos] = 0;
+        hijo[nodos] = -1;
+        cuerpo[nodos] = -1;
+        return nodos++;
+    }
+
+    /* Duplica la capacidad de los arreglos del árbol de cuadrantes. */
+    private void creceArbol() {
+        int c = masa.length * 2;
+        centroX = Arrays.copyOf(centroX, c);
+        centroY = Arrays.copyOf(centroY, c);
+        mitad = Arrays.copyOf(mitad, c);
+        sumaX = Arrays.copyOf(sumaX, c);
+        sumaY = Arrays.copyOf(sumaY, c);
+        masa = Arrays.copyOf(masa, c);
+        hijo = Arrays.copyOf(hijo, c);
+        cuerpo = Arrays.copyOf(cuerpo, c);
+    }
+
+    /* Parte un nodo hoja en cuatro cuadrantes vacíos. */
+    private void divide(int nodo) {
+        double m = mitad[nodo] / 2;
+        double cx = centroX[nodo], cy = centroY[nodo];
+        int primero = nuevoNodo(cx - m, cy - m, m);
+        nuevoNodo(cx + m, cy - m, m);
+        nuevoNodo(cx - m, cy + m, m);
+        nuevoNodo(cx + m, cy + m, m);
+        hijo[nodo] = primero;
+    }
+
+    /* Regresa el hijo del nodo cuyo cuadrante contiene al punto. */
+    private int cuadrante(int nodo, double px, double py) {
+        int q = (px < centroX[nodo] ? 0 : 1) + (py < centroY[nodo] ? 0 : 2);
+        return hijo[nodo] + q;
+    }
+
+    /* Inserta un vértice en el árbol de cuadrantes. */
+    private void inserta(int i) {
+        int nodo = 0;
+        for (int profundidad = 0; ; profundidad++) {
+            masa[nodo]++;
+            sumaX[nodo] += x[i];
+            sumaY[nodo] += y[i];
+            if (hijo[nodo] < 0) {
+                if (masa[nodo] == 1) {
+                    cuerpo[nodo] = i;
+                    return;
+                }
+                if (profundidad >= PROFUNDIDAD_MAXIMA)
+                    return;
+                /* La hoja ya tenía un vértice: la partimos y lo bajamos. */
+                int otro = cuerpo[nodo];
+                cuerpo[nodo] = -1;
+                divide(nodo);
+                int h = cuadrante(nodo, x[otro], y[otro]);
+                masa[h] = 1;
+                sumaX[h] = x[otro];
+                sumaY[h] = y[otro];
+                cuerpo[h] = otro;
+            }
+            nodo = cuadrante(nodo, x[i], y[i]);
+        }
+    }
+
+    /* Calcula la repulsión sobre los vértices de una tarea, que comparten la
+     * pila con la que se recorre el árbol de cuadrantes. */
+    private void repulsiones(int tarea) {
+        int[] pila = new int[3 * PROFUNDIDAD_MAXIMA + 8];
+        int fin = Math.min(n, (tarea + 1) * VERTICES_POR_TAREA);
+        for (int i = tarea * VERTICES_POR_TAREA; i < fin; i++)
+            repulsion(i, pila);
+    }
+
+    /* Calcula la repulsión sobre un vértice recorriendo el árbol de
+     * cuadrantes con la pila recibida, más la gravedad hacia el origen. Sólo
+     * lee el árbol, así que puede llamarse en paralelo para distintos
+     * vértices con distintas pilas. */
+    private void repulsion(int i, int[] pila) {
+        double k2 = distancia * distancia;
+        double fx = 0, fy = 0;
+        int tope = 0;
+        pila[tope++] = 0;
+        while (tope > 0) {
+            int nodo = pila[--tope];
+            if (masa[nodo] == 0 || (masa[nodo] == 1 && cuerpo[nodo] == i))
+                continue;
+            double mx = sumaX[nodo] / masa[nodo];
+            double my = sumaY[nodo] / masa[nodo];
+            double ex = x[i] - mx;
+            double ey = y[i] - my;
+            double d2 = ex * ex + ey * ey;
+            if (hijo[nodo] < 0 || 4 * mitad[nodo] * mitad[nodo] < THETA * THETA * d2) {
+                if (d2 < 1e-9) {
+                    /* Vértices encimados: los separamos en una dirección
+                     * que depende del índice. */
+                    ex = Math.cos(i);
+                    ey = Math.sin(i);
+                    d2 = 1;
+                }
+                double f = k2 * masa[nodo] / d2;
+                fx += ex * f;
+                fy += ey * f;
+            } else {
+                int h = hijo[nodo];
+                pila[tope++] = h;
+                pila[tope++] = h + 1;
+                pila[tope++] = h + 2;
+                pila[tope++] = h + 3;
+            }
+        }
+        double d = Math.sqrt(x[i] * x[i] + y[i] * y[i]);
+        dx[i] = fx - GRAVEDAD * x[i] * d / distancia;
+        dy[i] = fy - GRAVEDAD * y[i] * d / distancia;
+    }
+
+    /* Suma la atracción de las aristas a los desplazamientos. */
+    private void atraccion() {
+        for (int i = 0; i < n; i++)
+            for (int a = inicio[i]; a < inicio[i + 1]; a++) {
+                int j = vecinos[a];
+                double ex = x[i] - x[j];
+                double ey = y[i] - y[j];
+                double d = Math.sqrt(ex * ex + ey * ey);
+                /* Fuerza d²/k en la dirección de la arista; cada arista se ve
+                 * desde sus dos extremos. */
+                dx[i] -= ex * d / distancia;
+                dy[i] -= ey * d / distancia;
+            }
+    }
+}
@@ -0,0 +1,154 @@
+package mx.unam.ciencias.edd.proyecto2.plotter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Canal que comprime en formato gzip lo que recibe y lo escribe en otro
+ * canal. Los bytes se comprimen conforme llegan, así que un documento
+ * comprimido (por ejemplo un <code>.svgz</code>) se produce en una sola
+ * pasada, sin tener nunca el documento completo en memoria.
+ *
+ * El compresor lee directamente de los búferes que recibe, y lo comprimido
+ * se junta en un solo búfer directo que se reutiliza en todas las
+ * escrituras.
+ *
+ * @author Luis
+ */
+public class CanalGzip implements WritableByteChannel {
+
+    /* Tamaño del búfer de bytes comprimidos. */
+    private static final int TAMANO_BUFER = 1 << 16;
+    /* El encabezado gzip: números mágicos, método deflate, sin banderas, sin
+     * fecha, sin banderas extra y sistema operativo desconocido. */
+    private static final byte[] ENCABEZADO = {
+        0x1f, (byte)0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte)0xff
+    };
+
+    /* Entrada vacía para el compresor. */
+    private static final byte[] VACIO = new byte[0];
+
+    /* El canal donde se escribe lo comprimido. */
+    private WritableByteChannel canal;
+    /* El compresor. */
+    private Deflater compresor;
+    /* La suma de verificación de los bytes sin comprimir. */
+    private CRC32 crc;
+    /* El búfer de bytes comprimidos. */
+    private ByteBuffer comprimidos;
+    /* Número de bytes sin comprimir recibidos, módulo 2<sup>32</sup>. */
+    private int recibidos;
+    /* Si el canal está abierto. */
+    private boolean abierto;
+
+    /**
+     * Crea un canal que comprime con el nivel de compresión por omisión.
+     *
+     * @param canal el canal donde se escribirá lo comprimido.
+     * @throws IOException si no se puede escribir el encabezado.
+     */
+    public CanalGzip(WritableByteChannel canal) throws IOException {
+        this(canal, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Crea un canal que comprime con el nivel de compresión recibido.
+     *
+     * @param canal el canal donde se escribirá lo comprimido.
+     * @param nivel el nivel de compresión, de 0 (sin compresión) a 9 (máxima
+     *        compresión), o -1 para el nivel por omisión.
+     * @throws IllegalArgumentException si el nivel no es válido.
+     * @throws IOException si no se puede escribir el encabezado.
+     */
+    public CanalGzip(WritableByteChannel canal, int nivel) throws IOException {
+        if (nivel < Deflater.DEFAULT_COMPRESSION || nivel > Deflater.BEST_COMPRESSION)
+            throw new IllegalArgumentException("Nivel de compresión inválido: " + nivel);
+        this.canal = canal;
+        compresor = new Deflater(nivel, true);
+        crc = new CRC32();
+        comprimidos = ByteBuffer.allocateDirect(TAMANO_BUFER);
+        abierto = true;
+        comprimidos.put(ENCABEZADO);
+    }
+
+    /**
+     * Comprime los bytes restantes del búfer recibido.
+     *
+     * @param fuente el búfer con los bytes a comprimir.
+     * @return el número de bytes comprimidos.
+     * @throws IOException si ocurre un error al escribir en el canal.
+     */
+    @Override public int write(ByteBuffer fuente) throws IOException {
+        if (!abierto)
+            throw new ClosedChannelException();
+        int n = fuente.remaining();
+        crc.update(fuente.duplicate());
+        recibidos += n;
+        compresor.setInput(fuente);
+        while (!compresor.needsInput())
+            comprime();
+        /* El compresor guarda una referencia al búfer, que quien escribe
+         * puede reutilizar; se la quitamos. */
+        compresor.setInput(VACIO);
+        return n;
+    }
+
+    /* Comprime lo que pueda en el búfer, y lo escribe si se llena. */
+    private void comprime() throws IOException {
+        compresor.deflate(comprimidos);
+        if (!comprimidos.hasRemaining())
+            escribe();
+    }
+
+    /* Escribe el búfer de bytes comprimidos en el canal y lo vacía. */
+    private void escribe() throws IOException {
+        comprimidos.flip();
+        while (comprimidos.hasRemaining())
+            canal.write(comprimidos);
+        comprimidos.clear();
+    }
+
+    /**
+     * Nos dice si el canal está abierto.
+     *
+     * @return <code>true</code> si el canal está abierto,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean isOpen() {
+        return abierto;
+    }
+
+    /**
+     * Termina la compresión, escribe la suma de verificación y el tamaño del
+     * documento, y cierra el canal de destino.
+     *
+     * @throws IOException si ocurre un error al escribir en el canal.
+     */
+    @Override public void close() throws IOException {
+        if (!abierto)
+            return;
+        abierto = false;
+        try {
+            compresor.finish();
+            while (!compresor.finished())
+                comprime();
+            if (comprimidos.remaining() < 8)
+                escribe();
+            comprimidos.put(enteroLE((int)crc.getValue()));
+            comprimidos.put(enteroLE(recibidos));
+            escribe();
+        } finally {
+            compresor.end();
+            canal.close();
+        }
+    }
+
+    /* Regresa los cuatro bytes de un entero en orden little-endian. */
+    private static byte[] enteroLE(int n) {
+        return new byte[] { (byte)n, (byte)(n >> 8), (byte)(n >> 16), (byte)(n >> 24) };
+    }
+}
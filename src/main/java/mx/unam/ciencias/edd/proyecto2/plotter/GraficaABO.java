@@ -1,7 +1,6 @@
 package mx.unam.ciencias.edd.proyecto2.plotter;
 
 import mx.unam.ciencias.edd.ArbolBinarioOrdenado;
-import mx.unam.ciencias.edd.VerticeArbolBinario;
 
 /**
  * Clase para dibujar árboles binarios ordenados en SVG.
@@ -13,6 +12,10 @@ public class GraficaABO extends SVG {
 
     int radio = 21;
     int margen = 50; 
+    /* Distancia horizontal mínima entre vértices del mismo nivel. */
+    int espacio = 50;
+    /* Distancia vertical entre niveles. */
+    int nivel = 100;
 
     /**
      * Dibuja un árbol binario ordenado en SVG.
@@ -21,71 +24,98 @@ public class GraficaABO extends SVG {
      * @return El código SVG que representa el árbol binario ordenado.
      */
     public String dibujaABO(ArbolBinarioOrdenado<Integer> elementos) {
-        int alturaArbol = elementos.altura();
-        int alto = 100 + alturaArbol * 110 + margen * 2;
-        int anchura = alturaArbol * 400 + margen * 2;
-        String lienzo = dimensiones(anchura, alto);
+        SalidaSVG salida = new SalidaSVG();
+        dibujaABO(elementos, salida);
+        return salida.toString();
+    }
 
-        String completa = inicioSVG() + lienzo + vertices(elementos.raiz(), anchura / 2, 40 + margen, anchura / 4, margen, anchura - margen) + finalSVG();
-        System.out.println(completa);
-        return completa;
+    /**
+     * Escribe un árbol binario ordenado en SVG en la salida recibida.
+     * 
+     * @param elementos El árbol binario ordenado a dibujar.
+     * @param salida La salida donde se escribe el código SVG.
+     */
+    public void dibujaABO(ArbolBinarioOrdenado<Integer> elementos, SalidaSVG salida) {
+        AcomodoArbol<Integer> acomodo = acomodo(elementos.raiz());
+        int alto = 40 + margen + acomodo.getProfundidad() * nivel + radio + margen;
+        int anchura = acomodo.getAnchura() * espacio / 2 + margen * 2;
+
+        inicioSVG(salida);
+        dimensiones(salida, anchura, alto);
+        vertices(salida, acomodo, margen, 40 + margen);
+        finalSVG(salida);
     }
 
     /**
-     * Genera el código SVG para dibujar los vértices del árbol binario ordenado y sus aristas.
+     * Escribe un árbol binario ordenado en SVG partido en mosaicos.
      * 
-     * @param vertice El vértice actual a dibujar.
-     * @param cx La coordenada x del centro del vértice.
-     * @param cy La coordenada y del centro del vértice.
-     * @param espacio El espacio horizontal entre vértices.
-     * @param margenIzquierdo El margen izquierdo del lienzo.
-     * @param margenDerecho El margen derecho del lienzo.
-     * @return El código SVG para los vértices y aristas del árbol binario ordenado.
+     * @param elementos El árbol binario ordenado a dibujar.
+     * @param mosaicos El destino de los mosaicos.
      */
-    public String vertices(VerticeArbolBinario<Integer> vertice, int cx, int cy, int espacio, int margenIzquierdo, int margenDerecho) {
-        String s = dibujaVertices(cx, cy, vertice.get());
+    public void dibujaABO(ArbolBinarioOrdenado<Integer> elementos, Mosaicos mosaicos) {
+        AcomodoArbol<Integer> acomodo = acomodo(elementos.raiz());
+        int alto = 40 + margen + acomodo.getProfundidad() * nivel + radio + margen;
+        int anchura = acomodo.getAnchura() * espacio / 2 + margen * 2;
 
-        if (vertice.hayIzquierdo()) {
-            int x = cx - espacio;
-            int y = cy + 100;
-            x = Math.max(x, margenIzquierdo);
-            s += dibujaAristas(cx, cy, x, y); 
-            s += vertices(vertice.izquierdo(), x, y, espacio / 2, margenIzquierdo, margenDerecho);
-        }
+        mosaicos(mosaicos, anchura, alto, acomodo, margen, 40 + margen, espacio, nivel,
+                 (salida, inicio, fin) -> vertices(salida, acomodo, margen, 40 + margen, inicio, fin),
+                 null);
+    }
 
-        if (vertice.hayDerecho()) {
-            int x = cx + espacio;
-            int y = cy + 100;
-            x = Math.min(x, margenDerecho); 
-            s += dibujaAristas(cx, cy, x, y); 
-            s += vertices(vertice.derecho(), x, y, espacio / 2, margenIzquierdo, margenDerecho);
-        }
+    /**
+     * Escribe el código SVG para dibujar los vértices del árbol binario ordenado y sus aristas.
+     * Los vértices se recorren en pre-orden, y la arista hacia cada vértice se escribe justo
+     * antes que él. Los subárboles se dibujan en paralelo; ver {@link SVG#verticesEnParalelo}.
+     * 
+     * @param salida La salida donde se escribe el código SVG.
+     * @param acomodo El acomodo del árbol.
+     * @param x0 La coordenada x de la posición horizontal cero del acomodo.
+     * @param y0 La coordenada y de la raíz.
+     */
+    public void vertices(SalidaSVG salida, AcomodoArbol<Integer> acomodo, int x0, int y0) {
+        verticesEnParalelo(salida, acomodo,
+                           (bloque, inicio, fin) -> vertices(bloque, acomodo, x0, y0, inicio, fin));
+    }
 
-        return s;
+    /* Escribe los vértices con índices de inicio a fin - 1, con sus
+     * aristas. */
+    private void vertices(SalidaSVG salida, AcomodoArbol<Integer> acomodo, int x0, int y0,
+                          int inicio, int fin) {
+        for (int i = inicio; i < fin; i++) {
+            int cx = x0 + acomodo.x(i) * espacio / 2;
+            int cy = y0 + acomodo.profundidad(i) * nivel;
+            int p = acomodo.padre(i);
+            if (p >= 0)
+                dibujaAristas(salida, x0 + acomodo.x(p) * espacio / 2, cy - nivel, cx, cy);
+            if (acomodo.esColapsado(i))
+                colapsado(salida, cx, cy, radio, acomodo.vertice(i));
+            else
+                dibujaVertices(salida, cx, cy, acomodo.vertice(i).get());
+        }
     }
 
     /**
-     * Genera el código SVG para dibujar un vértice del árbol binario ordenado.
+     * Escribe el código SVG para dibujar un vértice del árbol binario ordenado.
      * 
+     * @param salida La salida donde se escribe el código SVG.
      * @param cx La coordenada x del centro del vértice.
      * @param cy La coordenada y del centro del vértice.
      * @param text El valor del vértice.
-     * @return El código SVG para el vértice.
      */
-    public String dibujaVertices(int cx, int cy, int text) {
-        return circuloConTexto(cx, cy, radio, "black", 1, "white", "black", 15, text);
+    public void dibujaVertices(SalidaSVG salida, int cx, int cy, int text) {
+        circuloConTexto(salida, cx, cy, radio, "black", 1, "white", "black", 15, text);
     }
 
     /**
-     * Genera el código SVG para dibujar una arista entre dos vértices del árbol binario ordenado.
+     * Escribe el código SVG para dibujar una arista entre dos vértices del árbol binario ordenado.
      * 
+     * @param salida La salida donde se escribe el código SVG.
      * @param x1 La coordenada x del punto inicial de la arista.
      * @param y1 La coordenada y del punto inicial de la arista.
      * @param x2 La coordenada x del punto final de la arista.
      * @param y2 La coordenada y del punto final de la arista.
-     * @return El código SVG para la arista.
      */
-    public String dibujaAristas(int x1, int y1, int x2, int y2) {
-        return String.format("<line x1='%d' y1='%d' x2='%d' y2='%d' stroke='black' stroke-width='1'/>\n", x1, y1 + radio, x2, y2);
+    public void dibujaAristas(SalidaSVG salida, int x1, int y1, int x2, int y2) {
+        arista(salida, x1, y1 + radio, x2, y2);
     }
 }
@@ -3,42 +3,77 @@ import mx.unam.ciencias.edd.ArbolAVL;
 import mx.unam.ciencias.edd.VerticeArbolBinario;
 
 public class GraficaAVL extends SVG {
+
+    /* Plantilla de la altura y el balance de un vértice. */
+    private static final Plantilla BALANCE_ALTURA =
+        new Plantilla("<text fill='black' font-family='sans-serif' font-size='12' x='%d' y='%d' text-anchor='middle'>%d</text> \n" +
+                      "<text fill='black' font-family='sans-serif' font-size='12' x='%d' y='%d' text-anchor='middle'>/</text> \n" +
+                      "<text fill='black' font-family='sans-serif' font-size='12' x='%d' y='%d' text-anchor='middle'>%d</text> \n");
+    /* Plantilla de la altura y el balance en el formato compacto: un solo
+     * texto, centrado donde va la diagonal. */
+    private static final Plantilla BALANCE_ALTURA_COMPACTO =
+        new Plantilla("<text class='s12' x='%d' y='%d'>%d/%d</text>\n");
+
     int radio = 21;
     int margen = 50; 
+    /* Distancia horizontal mínima entre vértices del mismo nivel; deja lugar
+     * para la altura y el balance a la derecha de cada vértice. */
+    int espacio = 80;
+    /* Distancia vertical entre niveles. */
+    int nivel = 100;
 
     public String dibujaAVL(ArbolAVL<Integer> elementos) {
-        int alturaArbol = elementos.altura();
-        int alto = 100 + alturaArbol * 110 + margen * 2;
-        int anchura = alturaArbol * 200 + margen * 2;
-        String lienzo = dimensiones(anchura, alto);
-
-        String completa = inicioSVG() + lienzo + vertices(elementos.raiz(), anchura / 2, 40 + margen, anchura / 4, margen, anchura - margen) + finalSVG();
-		System.out.println(completa);
-        return completa;
+        SalidaSVG salida = new SalidaSVG();
+        dibujaAVL(elementos, salida);
+        return salida.toString();
     }
 
-	public String vertices(VerticeArbolBinario<Integer> vertice, int cx, int cy, int espacio, int margenIzquierdo, int margenDerecho) {
-		String s = dibujaVertices(cx, cy, vertice.get());
+    public void dibujaAVL(ArbolAVL<Integer> elementos, SalidaSVG salida) {
+        AcomodoArbol<Integer> acomodo = acomodo(elementos.raiz());
+        int alto = 40 + margen + acomodo.getProfundidad() * nivel + radio + margen;
+        int anchura = acomodo.getAnchura() * espacio / 2 + margen * 2;
 
-	    s += balanceAltura(cx + 30, cy + 30, alturaVertice(vertice), balanceVertice(vertice));
+        inicioSVG(salida);
+        dimensiones(salida, anchura, alto);
+        vertices(salida, acomodo, margen, 40 + margen);
+        finalSVG(salida);
+    }
 
-		if (vertice.hayIzquierdo()) {
-			int x = cx - espacio;
-			int y = cy + 100;
-			x = Math.max(x, margenIzquierdo);
-			s += dibujaAristas(cx, cy, x, y);
-			s += vertices(vertice.izquierdo(), x, y, espacio / 2, margenIzquierdo, margenDerecho);
-		}
+    public void dibujaAVL(ArbolAVL<Integer> elementos, Mosaicos mosaicos) {
+        AcomodoArbol<Integer> acomodo = acomodo(elementos.raiz());
+        int alto = 40 + margen + acomodo.getProfundidad() * nivel + radio + margen;
+        int anchura = acomodo.getAnchura() * espacio / 2 + margen * 2;
 
-		if (vertice.hayDerecho()) {
-			int x = cx + espacio;
-			int y = cy + 110;
-			x = Math.min(x, margenDerecho);
-			s += dibujaAristas(cx, cy, x, y);
-			s += vertices(vertice.derecho(), x, y, espacio / 2, margenIzquierdo, margenDerecho);
-		}
+        mosaicos(mosaicos, anchura, alto, acomodo, margen, 40 + margen, espacio, nivel,
+                 (salida, inicio, fin) -> vertices(salida, acomodo, margen, 40 + margen, inicio, fin),
+                 null);
+    }
 
-		return s;
+	// Recorre los vértices en pre-orden; la arista hacia cada vértice se escribe justo antes que él.
+	// Los subárboles se dibujan en paralelo; las alturas del árbol AVL siempre están al día, así
+	// que leerlas desde varios hilos no modifica nada.
+	public void vertices(SalidaSVG salida, AcomodoArbol<Integer> acomodo, int x0, int y0) {
+		verticesEnParalelo(salida, acomodo,
+						   (bloque, inicio, fin) -> vertices(bloque, acomodo, x0, y0, inicio, fin));
+	}
+
+	private void vertices(SalidaSVG salida, AcomodoArbol<Integer> acomodo, int x0, int y0,
+						  int inicio, int fin) {
+		for (int i = inicio; i < fin; i++) {
+			VerticeArbolBinario<Integer> vertice = acomodo.vertice(i);
+			int cx = x0 + acomodo.x(i) * espacio / 2;
+			int cy = y0 + acomodo.profundidad(i) * nivel;
+			int p = acomodo.padre(i);
+			if (p >= 0)
+				dibujaAristas(salida, x0 + acomodo.x(p) * espacio / 2, cy - nivel, cx, cy);
+			if (acomodo.esColapsado(i)) {
+				colapsado(salida, cx, cy, radio, vertice);
+				continue;
+			}
+			dibujaVertices(salida, cx, cy, vertice.get());
+
+			balanceAltura(salida, cx + 30, cy + 30, alturaVertice(vertice), balanceVertice(vertice));
+		}
 	}
 
 	public int alturaVertice(VerticeArbolBinario<Integer> v){
@@ -58,18 +93,23 @@ public class GraficaAVL extends SVG {
 		return 0;
 	}
 
-	public String balanceAltura(int x, int y, int text, int text2){
+	public void balanceAltura(SalidaSVG salida, int x, int y, int text, int text2){
 		
-		return String.format("<text fill='black' font-family='sans-serif' font-size='12' x='%d' y='%d' text-anchor='middle'>%d</text> \n", x, y, text) +
-			String.format("<text fill='black' font-family='sans-serif' font-size='12' x='%d' y='%d' text-anchor='middle'>/</text> \n", x + 6, y) +
-			String.format("<text fill='black' font-family='sans-serif' font-size='12' x='%d' y='%d' text-anchor='middle'>%d</text> \n", x + 12, y, text2);
+		if (salida.esCompacta()) {
+			salida.plantilla(BALANCE_ALTURA_COMPACTO).campo(x + 6).campo(y)
+				.campo(text).campo(text2);
+			return;
+		}
+		salida.plantilla(BALANCE_ALTURA).campo(x).campo(y).campo(text)
+			.campo(x + 6).campo(y)
+			.campo(x + 12).campo(y).campo(text2);
 	}
 
-    public String dibujaVertices(int cx, int cy, int text) {
-        return circuloConTexto(cx, cy, radio, "black", 1, "white", "black", 15, text);
+    public void dibujaVertices(SalidaSVG salida, int cx, int cy, int text) {
+        circuloConTexto(salida, cx, cy, radio, "black", 1, "white", "black", 15, text);
     }
 
-    public String dibujaAristas(int x1, int y1, int x2, int y2) {
-        return String.format("<line x1='%d' y1='%d' x2='%d' y2='%d' stroke='black' stroke-width='1'/>\n", x1, y1 + radio, x2, y2);
+    public void dibujaAristas(SalidaSVG salida, int x1, int y1, int x2, int y2) {
+        arista(salida, x1, y1 + radio, x2, y2);
     }
 }
@@ -10,6 +10,19 @@ import mx.unam.ciencias.edd.Lista;
  */
 public class GraficaCola extends SVG {
 
+    /* Hoja de estilos del formato compacto: los textos tienen el color y el
+     * tamaño de los elementos, y cada casilla usa el rectángulo que se
+     * define una sola vez. */
+    private static final String DEFINICIONES =
+        "<defs><style>" +
+        "text{font-family:sans-serif;font-size:24px;text-anchor:middle;fill:#3E3E3E}" +
+        ".c{fill:#B7B7B7;stroke:#717171}.f{fill:#717171;font-size:70px}" +
+        "</style><rect id='c' class='c' y='14' width='60' height='60' rx='10' ry='10'/></defs>";
+
+    /* Plantilla de una casilla con su elemento en el formato compacto. */
+    private static final Plantilla CASILLA_COMPACTA =
+        new Plantilla("<use href='#c' x='%d'/><text x='%d' y='54'>%d</text>\n");
+
     Lista<Integer> listaElementos = new Lista<>();
 
     /**
@@ -19,25 +32,80 @@ public class GraficaCola extends SVG {
      * @return El código SVG que representa la cola.
      */
     public String dibujaCola(Lista<Integer> elementos) {
-        int horizontal = 80;
+        SalidaSVG salida = new SalidaSVG();
+        dibujaCola(elementos, salida);
+        return salida.toString();
+    }
+
+    /**
+     * Escribe una cola en SVG en la salida recibida.
+     * 
+     * @param elementos La cola de elementos a dibujar.
+     * @param salida La salida donde se escribe el código SVG.
+     */
+    public void dibujaCola(Lista<Integer> elementos, SalidaSVG salida) {
+        dibujaCola(enteros(elementos), elementos.getElementos(), salida);
+    }
+
+    /**
+     * Escribe una cola de enteros primitivos en SVG en la salida recibida.
+     * 
+     * @param elementos El arreglo con los elementos a dibujar, del primero en
+     *        salir al último.
+     * @param n El número de elementos del arreglo que se dibujan.
+     * @param salida La salida donde se escribe el código SVG.
+     */
+    public void dibujaCola(int[] elementos, int n, SalidaSVG salida) {
+        inicioSVG(salida);
+        dimensiones(salida, n * 73, 90);
+        elementos(salida, elementos, 0, n);
+        finalSVG(salida);
+    }
+
+    /**
+     * Escribe una cola de enteros primitivos en SVG partida en mosaicos;
+     * cada mosaico sólo tiene los elementos que caen en él.
+     * 
+     * @param elementos El arreglo con los elementos a dibujar, del primero en
+     *        salir al último.
+     * @param n El número de elementos del arreglo que se dibujan.
+     * @param mosaicos El destino de los mosaicos.
+     */
+    public void dibujaCola(int[] elementos, int n, Mosaicos mosaicos) {
+        mosaicos(mosaicos, n * 73, 90, (salida, x, y, ancho, alto) -> {
+            int inicio = Math.max((x - 80) / 70 - 1, 0);
+            int fin = Math.min((x + ancho - 80) / 70 + 1, n);
+            elementos(salida, elementos, inicio, fin);
+        });
+    }
+
+    /* Escribe los elementos con índices de inicio a fin - 1, y la flecha de
+     * la dirección de la cola antes del primero. */
+    private void elementos(SalidaSVG salida, int[] elementos, int inicio, int fin) {
+        int horizontal = 80 + inicio * 70;
         int vertical = 14;
-        String inicio = inicioSVG();
-        String lienzo = dimensiones(elementos.getElementos() * 73, 90);
-        String s = "";
-        boolean primerElemento = true;
+        boolean primerElemento = inicio == 0;
 
-        for (Integer i : elementos) {
+        for (int j = inicio; j < fin; j++) {
+            int i = elementos[j];
             if (primerElemento) {
                 // Agrega la flecha que indica la dirección de la cola.
-                s += "<text fill='#717171' font-family='sans-serif' font-size='70' x='40' y='70' text-anchor='middle'>↦</text> \n";
+                if (salida.esCompacta())
+                    salida.append("<text x='40' y='70' class='f'>↦</text>\n");
+                else
+                    salida.append("<text fill='#717171' font-family='sans-serif' font-size='70' x='40' y='70' text-anchor='middle'>↦</text> \n");
                 primerElemento = false;
             }
 
-            s += rectanguloConTexto(horizontal, vertical, 60, 60, "#B7B7B7", "#717171", i, "#3E3E3E", 24, 54, 10, 10);  
+            if (salida.esCompacta())
+                salida.plantilla(CASILLA_COMPACTA).campo(horizontal).campo(horizontal + 30).campo(i);
+            else
+                rectanguloConTexto(salida, horizontal, vertical, 60, 60, "#B7B7B7", "#717171", i, "#3E3E3E", 24, 54, 10, 10);  
             horizontal += 70;
         }
-        String completa = inicioSVG() + lienzo + s + finalSVG();
-        System.out.println(completa);
-        return completa;
+    }
+
+    @Override protected String definiciones() {
+        return DEFINICIONES;
     }
 }
@@ -0,0 +1,108 @@
+package mx.unam.ciencias.edd.proyecto2.plotter;
+
+import java.util.Arrays;
+import mx.unam.ciencias.edd.Grafica;
+import mx.unam.ciencias.edd.VerticeGrafica;
+
+/**
+ * Clase para dibujar gráficas en SVG. Los vértices se acomodan con un
+ * algoritmo dirigido por fuerzas; ver {@link AcomodoGrafica}.
+ * Extiende la clase SVG.
+ *
+ * @author Luis
+ */
+public class GraficaGrafica extends SVG {
+
+    /* Número máximo de iteraciones del acomodo. */
+    private static final int ITERACIONES = 300;
+    /* Número de vértices por iteración que estamos dispuestos a procesar; las
+     * gráficas grandes hacen menos iteraciones. */
+    private static final int PRESUPUESTO = 2_000_000;
+    /* Número mínimo de iteraciones del acomodo. */
+    private static final int ITERACIONES_MINIMAS = 10;
+
+    int radio = 21;
+    int margen = 50;
+    int distancia = 90;
+
+    /**
+     * Dibuja una gráfica en SVG.
+     *
+     * @param grafica La gráfica a dibujar.
+     * @return El código SVG que representa la gráfica.
+     */
+    public String dibujaGrafica(Grafica<Integer> grafica) {
+        SalidaSVG salida = new SalidaSVG();
+        dibujaGrafica(grafica, salida);
+        return salida.toString();
+    }
+
+    /**
+     * Escribe una gráfica en SVG en la salida recibida.
+     *
+     * @param grafica La gráfica a dibujar.
+     * @param salida La salida donde se escribe el código SVG.
+     */
+    public void dibujaGrafica(Grafica<Integer> grafica, SalidaSVG salida) {
+        int n = grafica.getElementos();
+        int[] elementos = new int[n];
+        int i = 0;
+        for (Integer e : grafica)
+            elementos[i++] = e;
+
+        /* Ordenamos parejas (elemento, índice) para encontrar el índice de un
+         * elemento con búsqueda binaria. */
+        long[] parejas = new long[n];
+        for (i = 0; i < n; i++)
+            parejas[i] = ((long)elementos[i] << 32) | i;
+        Arrays.sort(parejas);
+        int[] ordenados = new int[n];
+        int[] indices = new int[n];
+        for (i = 0; i < n; i++) {
+            ordenados[i] = (int)(parejas[i] >> 32);
+            indices[i] = (int)parejas[i];
+        }
+
+        int[] inicio = new int[n + 1];
+        for (i = 0; i < n; i++)
+            inicio[i + 1] = inicio[i] + grafica.vertice(elementos[i]).getGrado();
+        int[] vecinos = new int[inicio[n]];
+        for (i = 0; i < n; i++) {
+            int a = inicio[i];
+            for (VerticeGrafica<Integer> v : grafica.vertice(elementos[i]).vecinos())
+                vecinos[a++] = indices[Arrays.binarySearch(ordenados, v.get())];
+        }
+
+        AcomodoGrafica acomodo = new AcomodoGrafica(n, inicio, vecinos, distancia);
+        int iteraciones = Math.min(ITERACIONES, PRESUPUESTO / Math.max(n, 1));
+        acomodo.acomoda(Math.max(ITERACIONES_MINIMAS, iteraciones));
+
+        double minX = 0, minY = 0, maxX = 0, maxY = 0;
+        for (i = 0; i < n; i++) {
+            double x = acomodo.getX(i), y = acomodo.getY(i);
+            if (i == 0 || x < minX) minX = x;
+            if (i == 0 || x > maxX) maxX = x;
+            if (i == 0 || y < minY) minY = y;
+            if (i == 0 || y > maxY) maxY = y;
+        }
+        int[] cx = new int[n];
+        int[] cy = new int[n];
+        for (i = 0; i < n; i++) {
+            cx[i] = (int)Math.round(acomodo.getX(i) - minX) + margen + radio;
+            cy[i] = (int)Math.round(acomodo.getY(i) - minY) + margen + radio;
+        }
+        int anchura = (int)Math.ceil(maxX - minX) + 2 * (margen + radio);
+        int alto = (int)Math.ceil(maxY - minY) + 2 * (margen + radio);
+
+        inicioSVG(salida);
+        dimensiones(salida, anchura, alto);
+        // Primero las aristas, para que los vértices queden encima.
+        for (i = 0; i < n; i++)
+            for (int a = inicio[i]; a < inicio[i + 1]; a++)
+                if (i < vecinos[a])
+                    linea(salida, cx[i], cy[i], cx[vecinos[a]], cy[vecinos[a]], "black", 1);
+        for (i = 0; i < n; i++)
+            circuloConTexto(salida, cx[i], cy[i], radio, "black", 1, "white", "black", 15, elementos[i]);
+        finalSVG(salida);
+    }
+}
@@ -10,6 +10,21 @@ import mx.unam.ciencias.edd.Lista;
  */
 public class GraficaListas extends SVG {
 
+    /* Plantilla de la flecha horizontal entre dos elementos. */
+    private static final Plantilla FLECHA =
+        new Plantilla("<line x1='%d' y1='%d' x2='%d' y2='%d' stroke='%s' marker-start='url(#arrowhead-start)' marker-end='url(#arrowhead-end)'/>\n");
+    /* Plantilla de las puntas de las flechas, que se definen una sola vez
+     * por documento. */
+    private static final Plantilla MARCADORES =
+        new Plantilla("<defs><marker id='arrowhead-start' markerWidth='13' markerHeight='10' refX='0' refY='3.5' orient='auto'>" +
+                      "<polygon points='0 0, 10 3.5, 0 7' fill='%s' transform='scale(-1,1)'/></marker>" +
+                      "<marker id='arrowhead-end' markerWidth='13' markerHeight='10' refX='0' refY='3.5' orient='auto'>" +
+                      "<polygon points='0 0, 10 3.5, 0 7' fill='%s'/></marker></defs>\n");
+    /* Plantilla de la flecha horizontal en el formato compacto; sus puntas
+     * están en la hoja de estilos. */
+    private static final Plantilla FLECHA_COMPACTO =
+        new Plantilla("<path class='flecha' d='M%d %dh%d'");
+
     /**
      * Dibuja una lista en SVG.
      * 
@@ -17,43 +32,104 @@ public class GraficaListas extends SVG {
      * @return El código SVG que representa la lista.
      */
     public String dibujaLista(Lista<Integer> elementos) {
-        int horizontal = 45;
+        SalidaSVG salida = new SalidaSVG();
+        dibujaLista(elementos, salida);
+        return salida.toString();
+    }
+
+    /**
+     * Escribe una lista en SVG en la salida recibida.
+     * 
+     * @param elementos La lista de elementos a dibujar.
+     * @param salida La salida donde se escribe el código SVG.
+     */
+    public void dibujaLista(Lista<Integer> elementos, SalidaSVG salida) {
+        dibujaLista(enteros(elementos), elementos.getElementos(), salida);
+    }
+
+    /**
+     * Escribe una lista de enteros primitivos en SVG en la salida recibida.
+     * 
+     * @param elementos El arreglo con los elementos a dibujar.
+     * @param n El número de elementos del arreglo que se dibujan.
+     * @param salida La salida donde se escribe el código SVG.
+     */
+    public void dibujaLista(int[] elementos, int n, SalidaSVG salida) {
+        inicioSVG(salida);
+        dimensiones(salida, n * 310, 270);
+        if (n > 1)
+            marcadores(salida, "black");
+        elementos(salida, elementos, n, 0, n);
+        finalSVG(salida);
+    }
+
+    /**
+     * Escribe una lista de enteros primitivos en SVG partida en mosaicos;
+     * cada mosaico sólo tiene los elementos que caen en él.
+     * 
+     * @param elementos El arreglo con los elementos a dibujar.
+     * @param n El número de elementos del arreglo que se dibujan.
+     * @param mosaicos El destino de los mosaicos.
+     */
+    public void dibujaLista(int[] elementos, int n, Mosaicos mosaicos) {
+        mosaicos(mosaicos, n * 310, 270, (salida, x, y, ancho, alto) -> {
+            if (n > 1)
+                marcadores(salida, "black");
+            int inicio = Math.max((x - 45) / 310 - 1, 0);
+            int fin = Math.min((x + ancho - 45) / 310 + 1, n);
+            elementos(salida, elementos, n, inicio, fin);
+        });
+    }
+
+    /* Escribe los elementos con índices de inicio a fin - 1; cada uno ocupa
+     * 310 pixeles, con la flecha hacia el siguiente. */
+    private void elementos(SalidaSVG salida, int[] elementos, int n, int inicio, int fin) {
+        int horizontal = 45 + inicio * 310;
         int vertical = 90;
-        String inicio = inicioSVG();
-        String lienzo = dimensiones(elementos.getElementos() * 310, 270);
-        StringBuilder s = new StringBuilder();
-        int contador = 0;
-        for (Integer elemento : elementos) {
-            s.append(rectanguloConTexto(horizontal, vertical, 180, 90, "white", "black", elemento, "black", 72, 162, 0, 0));  
+        for (int i = inicio; i < fin; i++) {
+            rectanguloConTexto(salida, horizontal, vertical, 180, 90, "white", "black", elementos[i], "black", 72, 162, 0, 0);  
             horizontal += 200;
-            contador++;
-            if (contador < elementos.getElementos()) {
+            if (i + 1 < n) {
                 // Pone una flecha después de cada rectángulo, excepto después del último
-                s.append(flechaHorizontal(horizontal, vertical + 45, 90, "black"));
+                flechaHorizontal(salida, horizontal, vertical + 45, 90, "black");
                 horizontal += 110; // Espacio entre la flecha y el próximo rectángulo
             }
         }
-        String completa = inicioSVG() + lienzo + s.toString() + finalSVG();
-        System.out.println(completa);
-        return completa;
     }
 
     /**
-     * Genera el código SVG para una flecha horizontal.
+     * Escribe las definiciones de las puntas de las flechas. Las flechas de
+     * un documento comparten sus puntas, así que se escriben una sola vez,
+     * antes de la primera flecha. En el formato compacto las puntas ya están
+     * definidas y son negras, y no se escribe nada.
      * 
+     * @param salida La salida donde se escribe el código SVG.
+     * @param color El color de las puntas.
+     */
+    public void marcadores(SalidaSVG salida, String color) {
+        if (!salida.esCompacta())
+            salida.plantilla(MARCADORES).campo(color).campo(color);
+    }
+
+    /**
+     * Escribe el código SVG para una flecha horizontal. Sus puntas deben
+     * estar definidas con {@link #marcadores}.
+     * 
+     * @param salida La salida donde se escribe el código SVG.
      * @param inicioEnX La coordenada x de inicio de la flecha.
      * @param inicioEnY La coordenada y de inicio de la flecha.
      * @param longitud La longitud de la flecha.
      * @param color El color de la flecha.
-     * @return El código SVG de la flecha.
      */
-    public String flechaHorizontal(int inicioEnX, int inicioEnY, int longitud, String color) {
+    public void flechaHorizontal(SalidaSVG salida, int inicioEnX, int inicioEnY, int longitud, String color) {
         // Código SVG para una flecha horizontal con cabezas en ambos extremos
-        return "<line x1='" + inicioEnX + "' y1='" + inicioEnY + "' x2='" + (inicioEnX + longitud) +
-            "' y2='" + inicioEnY + "' stroke='" + color + "' marker-start='url(#arrowhead-start)' marker-end='url(#arrowhead-end)'/>" +
-            "<marker id='arrowhead-start' markerWidth='13' markerHeight='10' refX='0' refY='3.5' orient='auto' transfom=''>" +
-            "<polygon points='0 0, 10 3.5, 0 7' fill='" + color + "' transform='scale(-1,1)'/></marker>" +
-            "<marker id='arrowhead-end' markerWidth='13' markerHeight='10' refX='0' refY='3.5' orient='auto'>" +
-            "<polygon points='0 0, 10 3.5, 0 7' fill='" + color + "'/></marker>";
+        if (salida.esCompacta()) {
+            salida.plantilla(FLECHA_COMPACTO).campo(inicioEnX).campo(inicioEnY).campo(longitud);
+            estilo(salida, null, null, color, "black", -1, 0);
+            salida.append("/>\n");
+            return;
+        }
+        salida.plantilla(FLECHA).campo(inicioEnX).campo(inicioEnY)
+            .campo(inicioEnX + longitud).campo(inicioEnY).campo(color);
     }
 }
@@ -1,7 +1,6 @@
 package mx.unam.ciencias.edd.proyecto2.plotter;
 
 import mx.unam.ciencias.edd.ArbolBinarioCompleto;
-import mx.unam.ciencias.edd.VerticeArbolBinario;
 import mx.unam.ciencias.edd.Lista;
 
 /**
@@ -15,6 +14,10 @@ public class GraficaMM extends SVG {
     int radio = 21;
     /** Espacio horizontal entre elementos en la gráfica. */
     int espacioHorizontal = 90;
+    /** Distancia horizontal mínima entre vértices del mismo nivel. */
+    int espacio = 50;
+    /** Distancia vertical entre niveles. */
+    int nivel = 100;
 
     /**
      * Dibuja una gráfica de montículos mínimos.
@@ -23,92 +26,141 @@ public class GraficaMM extends SVG {
      * @return una cadena que representa el gráfico SVG.
      */
     public String dibujaMM(ArbolBinarioCompleto<Integer> elementos, Lista<Integer> arreglo) {
+        SalidaSVG salida = new SalidaSVG();
+        dibujaMM(elementos, arreglo, salida);
+        return salida.toString();
+    }
+
+    /**
+     * Escribe una gráfica de montículos mínimos en la salida recibida.
+     * @param elementos el árbol binario completo que representa la estructura.
+     * @param arreglo la lista que representa el montículo mínimo.
+     * @param salida la salida donde se escribe el código SVG.
+     */
+    public void dibujaMM(ArbolBinarioCompleto<Integer> elementos, Lista<Integer> arreglo, SalidaSVG salida) {
         
-        int alturaArbol = elementos.altura();
-        int elementosLista = arreglo.getLongitud();
-        int alto = 100 + alturaArbol * 110 + 100; 
-        int anchuraArbol = (int) Math.pow(2, alturaArbol + 1) * espacioHorizontal;
+        AcomodoArbol<Integer> acomodo = acomodo(elementos.raiz());
+        /* El arreglo tiene los elementos por niveles, así que si el árbol no
+         * se dibuja completo, los primeros son justo los vértices dibujados. */
+        int elementosLista = Math.min(arreglo.getLongitud(), acomodo.getElementos());
+        int alto = 40 + acomodo.getProfundidad() * nivel + 160; 
+        int anchuraArbol = acomodo.getAnchura() * espacio / 2 + espacioHorizontal;
         int anchuraLista = elementosLista * espacioHorizontal;
         int anchuraTotal = Math.max(anchuraArbol, anchuraLista); 
-        String lienzo = dimensiones(anchuraTotal, alto);
-        String s = "";
+
+        inicioSVG(salida);
+        dimensiones(salida, anchuraTotal, alto);
+        vertices(salida, acomodo, (anchuraTotal - anchuraArbol + espacioHorizontal) / 2, 40);
 
         int posicionInicial = (anchuraTotal - anchuraLista) / 2; 
-        int xLista = posicionInicial;
-        for (Integer entero : arreglo) {
-            s += rectanguloConTexto(xLista, alto - 50, 90, 45, "white", "black", entero, "black", 18, 162, 0, 0);
-            xLista += espacioHorizontal;
-        }
+        arreglo(salida, enteros(arreglo), 0, elementosLista, posicionInicial, alto);
 
-        String arbol = vertices(elementos.raiz(), anchuraTotal / 2, 40, anchuraTotal / 4);
-        String completa = inicioSVG() + lienzo + arbol + s + finalSVG();
-        System.out.println(completa);
-        return completa;
+        finalSVG(salida);
     }
 
     /**
-     * Genera la representación de los vértices del árbol.
-     * @param vertice el vértice a dibujar.
-     * @param cx coordenada x del centro del vértice.
-     * @param cy coordenada y del centro del vértice.
-     * @param espacio el espacio horizontal entre vértices.
-     * @return una cadena que representa la gráfica SVG de los vértices del árbol.
+     * Escribe una gráfica de montículos mínimos partida en mosaicos.
+     * @param elementos el árbol binario completo que representa la estructura.
+     * @param arreglo la lista que representa el montículo mínimo.
+     * @param mosaicos el destino de los mosaicos.
      */
-    public String vertices(VerticeArbolBinario<Integer> vertice, int cx, int cy, int espacio) {
-        String s = dibujaVertices(cx, cy, vertice.get());
-
-        if (vertice.hayIzquierdo()) {
-            int x = cx - espacio;
-            int y = cy + 100;
-            s += dibujaAristas(cx, cy, x, y);
-            s += vertices(vertice.izquierdo(), x, y, espacio / 2);
-        }
+    public void dibujaMM(ArbolBinarioCompleto<Integer> elementos, Lista<Integer> arreglo, Mosaicos mosaicos) {
+        AcomodoArbol<Integer> acomodo = acomodo(elementos.raiz());
+        int elementosLista = Math.min(arreglo.getLongitud(), acomodo.getElementos());
+        int alto = 40 + acomodo.getProfundidad() * nivel + 160; 
+        int anchuraArbol = acomodo.getAnchura() * espacio / 2 + espacioHorizontal;
+        int anchuraLista = elementosLista * espacioHorizontal;
+        int anchuraTotal = Math.max(anchuraArbol, anchuraLista); 
+        int x0 = (anchuraTotal - anchuraArbol + espacioHorizontal) / 2;
+        int posicionInicial = (anchuraTotal - anchuraLista) / 2; 
+        int[] valores = enteros(arreglo);
+
+        mosaicos(mosaicos, anchuraTotal, alto, acomodo, x0, 40, espacio, nivel,
+                 (salida, inicio, fin) -> vertices(salida, acomodo, x0, 40, inicio, fin),
+                 (salida, x, y, ancho, altoMosaico) -> {
+                     int inicio = Math.max((x - posicionInicial) / espacioHorizontal - 1, 0);
+                     int fin = Math.min((x + ancho - posicionInicial) / espacioHorizontal + 1, elementosLista);
+                     arreglo(salida, valores, inicio, fin, posicionInicial, alto);
+                 });
+    }
 
-        if (vertice.hayDerecho()) {
-            int x = cx + espacio;
-            int y = cy + 100;
-            s += dibujaAristas(cx, cy, x, y);
-            s += vertices(vertice.derecho(), x, y, espacio / 2);
+    /* Escribe los elementos del arreglo con índices de inicio a fin - 1 en
+     * el renglón de abajo. */
+    private void arreglo(SalidaSVG salida, int[] valores, int inicio, int fin,
+                         int posicionInicial, int alto) {
+        int xLista = posicionInicial + inicio * espacioHorizontal;
+        for (int i = inicio; i < fin; i++) {
+            rectanguloConTexto(salida, xLista, alto - 50, 90, 45, "white", "black", valores[i], "black", 18, 162, 0, 0);
+            xLista += espacioHorizontal;
         }
+    }
+
+    /**
+     * Escribe la representación de los vértices del árbol. Los vértices se
+     * recorren en pre-orden, y la arista hacia cada vértice se escribe justo
+     * antes que él. Los subárboles se dibujan en paralelo; ver {@link
+     * SVG#verticesEnParalelo}.
+     * @param salida la salida donde se escribe el código SVG.
+     * @param acomodo el acomodo del árbol.
+     * @param x0 coordenada x de la posición horizontal cero del acomodo.
+     * @param y0 coordenada y de la raíz.
+     */
+    public void vertices(SalidaSVG salida, AcomodoArbol<Integer> acomodo, int x0, int y0) {
+        verticesEnParalelo(salida, acomodo,
+                           (bloque, inicio, fin) -> vertices(bloque, acomodo, x0, y0, inicio, fin));
+    }
 
-        return s;
+    /* Escribe los vértices con índices de inicio a fin - 1, con sus
+     * aristas. */
+    private void vertices(SalidaSVG salida, AcomodoArbol<Integer> acomodo, int x0, int y0,
+                          int inicio, int fin) {
+        for (int i = inicio; i < fin; i++) {
+            int cx = x0 + acomodo.x(i) * espacio / 2;
+            int cy = y0 + acomodo.profundidad(i) * nivel;
+            int p = acomodo.padre(i);
+            if (p >= 0)
+                dibujaAristas(salida, x0 + acomodo.x(p) * espacio / 2, cy - nivel, cx, cy);
+            if (acomodo.esColapsado(i))
+                colapsado(salida, cx, cy, radio, acomodo.vertice(i));
+            else
+                dibujaVertices(salida, cx, cy, acomodo.vertice(i).get());
+        }
     }
 
     /**
-     * Genera la representación de un vértice del árbol.
+     * Escribe la representación de un vértice del árbol.
+     * @param salida la salida donde se escribe el código SVG.
      * @param cx coordenada x del centro del vértice.
      * @param cy coordenada y del centro del vértice.
      * @param text el valor del vértice.
-     * @return una cadena que representa la gráfica SVG de un vértice del árbol.
      */
-    public String dibujaVertices(int cx, int cy, int text) {
-        return circuloConTexto(cx, cy, radio, "black", 1, "white", "black", 15, text);
+    public void dibujaVertices(SalidaSVG salida, int cx, int cy, int text) {
+        circuloConTexto(salida, cx, cy, radio, "black", 1, "white", "black", 15, text);
     }
 
     /**
-     * Genera la representación de una arista entre dos vértices.
+     * Escribe la representación de una arista entre dos vértices.
+     * @param salida la salida donde se escribe el código SVG.
      * @param x1 coordenada x del primer vértice.
      * @param y1 coordenada y del primer vértice.
      * @param x2 coordenada x del segundo vértice.
      * @param y2 coordenada y del segundo vértice.
-     * @return una cadena que representa la gráfica SVG de una arista entre dos vértices.
      */
-    public String dibujaAristas(int x1, int y1, int x2, int y2) {
-        return String.format("<line x1='%d' y1='%d' x2='%d' y2='%d' stroke='black' stroke-width='1'/>\n", x1, y1 + radio, x2, y2);
+    public void dibujaAristas(SalidaSVG salida, int x1, int y1, int x2, int y2) {
+        arista(salida, x1, y1 + radio, x2, y2);
     }
 
     @Override 
-    public String rectanguloConTexto(int inicioEnX, int finEnY, int ancho, 
-                                int alto, String rellenoRectangulo,
-                                String colorBorde, int texto, String colorTexto,
-                                int tamanoFuente, int centroEnY, int radioX, int radioY) {
+    public void rectanguloConTexto(SalidaSVG salida, int inicioEnX, int finEnY, int ancho, 
+                                   int alto, String rellenoRectangulo,
+                                   String colorBorde, int texto, String colorTexto,
+                                   int tamanoFuente, int centroEnY, int radioX, int radioY) {
 
         int centroEnX = inicioEnX + (ancho / 2);
         int coordenadaYTexto = finEnY + (alto/2) + 5; 
 
-        String codigo = rectangulo(inicioEnX, finEnY, ancho, alto, radioX, radioY, rellenoRectangulo, colorBorde);
-        codigo += texto(colorTexto, tamanoFuente, centroEnX, coordenadaYTexto, texto);
-        return codigo;
+        rectangulo(salida, inicioEnX, finEnY, ancho, alto, radioX, radioY, rellenoRectangulo, colorBorde);
+        texto(salida, colorTexto, tamanoFuente, centroEnX, coordenadaYTexto, texto);
     }
 
 }
@@ -3,31 +3,73 @@ import mx.unam.ciencias.edd.Lista;
 
 public class GraficaPila extends SVG{
 
+//Hoja de estilos del formato compacto: los textos tienen el color y el tamaño de los elementos,
+//y cada casilla usa el rectángulo que se define una sola vez.
+	private static final String DEFINICIONES =
+		"<defs><style>" +
+		"text{font-family:sans-serif;font-size:40px;text-anchor:middle;fill:#016B96}" +
+		".p{fill:#48BCEB;stroke:#016B96}.f{font-size:100px}" +
+		"</style><rect id='p' class='p' x='60' width='120' height='60' rx='7' ry='7'/></defs>";
+
+	private static final Plantilla CASILLA_COMPACTA =
+		new Plantilla("<use href='#p' y='%d'/><text x='120' y='%d'>%d</text>\n");
+
 //Para graficar pilas usamos una lista, esto nos facilita el trabajo.
 	public String dibujaPila(Lista<Integer> elementos){
+		SalidaSVG salida = new SalidaSVG();
+		dibujaPila(elementos, salida);
+		return salida.toString();
+	}
+
+	public void dibujaPila(Lista<Integer> elementos, SalidaSVG salida){
+		dibujaPila(enteros(elementos), elementos.getElementos(), salida);
+	}
+
+//El tope de la pila es el último elemento del arreglo, así que lo recorremos al revés.
+	public void dibujaPila(int[] elementos, int n, SalidaSVG salida){
+		inicioSVG(salida);
+		dimensiones(salida, 240, n * 73);
+		elementos(salida, elementos, n, 0, n);
+		finalSVG(salida);
+	}
+
+//Partida en mosaicos, cada mosaico sólo tiene los elementos que caen en él.
+	public void dibujaPila(int[] elementos, int n, Mosaicos mosaicos){
+		mosaicos(mosaicos, 240, n * 73, (salida, x, y, ancho, alto) -> {
+			int inicio = Math.max((y - 100) / 70 - 1, 0);
+			int fin = Math.min((y + alto - 100) / 70 + 1, n);
+			elementos(salida, elementos, n, inicio, fin);
+		});
+	}
+
+//Escribe los elementos que están de inicio a fin - 1 lugares debajo del tope.
+	private void elementos(SalidaSVG salida, int[] elementos, int n, int inicio, int fin){
 		int horizontal = 60;
-		int vertical = 100;
-		String inicio = inicioSVG();
-		String lienzo = dimensiones(240, elementos.getElementos() * 73);
-		String s = "";
-		Lista<Integer> rev = elementos.reversa();
+		int vertical = 100 + inicio * 70;
 		// Hacemos 30/2 ya que es el alto entre dos + el tamaño de la fuente entre 2 a esto le sumamos la coordenada vertical
 		// y así conseguimos que el texto se encuentre centrado y dentro de los rectangulos.
-		boolean primerElemento = true;
-		for(Integer i : rev){
+		boolean primerElemento = inicio == 0;
+		for(int j = n - 1 - inicio; j >= n - fin; j--){
+			int i = elementos[j];
 
 			if(primerElemento){
-				s += "<text fill='#016b96' font-family='sans-serif' font-size='100' x='120' y='85' text-anchor='middle'>↘ ↙</text> \n";
+				if (salida.esCompacta())
+					salida.append("<text x='120' y='85' class='f'>↘ ↙</text>\n");
+				else
+					salida.append("<text fill='#016b96' font-family='sans-serif' font-size='100' x='120' y='85' text-anchor='middle'>↘ ↙</text> \n");
 				primerElemento = false;
 			}
 
-			s += rectanguloConTexto(horizontal, vertical, 120, 60, "#48BCEB", "#016B96", i, "#016B96", 40, vertical+(60/2)+(40/2), 7,7);  
+			if (salida.esCompacta())
+				salida.plantilla(CASILLA_COMPACTA).campo(vertical).campo(vertical+(60/2)+(40/2)).campo(i);
+			else
+				rectanguloConTexto(salida, horizontal, vertical, 120, 60, "#48BCEB", "#016B96", i, "#016B96", 40, vertical+(60/2)+(40/2), 7,7);  
 			vertical += 70;
 		}
-		String completa = inicioSVG() + lienzo + s + finalSVG();
-		System.out.println(completa);
-		return completa;
+	}
 
+	@Override protected String definiciones(){
+		return DEFINICIONES;
 	}
 		
 } 
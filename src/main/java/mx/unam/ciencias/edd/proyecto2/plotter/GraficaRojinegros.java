@@ -15,6 +15,10 @@ public class GraficaRojinegros extends SVG {
     int radio = 20;
     /** Margen de la gráfica. */
     int margen = 50; 
+    /** Distancia horizontal mínima entre vértices del mismo nivel. */
+    int espacio = 50;
+    /** Distancia vertical entre niveles. */
+    int nivel = 150;
 
     /**
      * Dibuja una gráfica de árbol rojinegro.
@@ -22,49 +26,76 @@ public class GraficaRojinegros extends SVG {
      * @return una cadena que representa el gráfico SVG.
      */
     public String dibujaAR(ArbolRojinegro<Integer> elementos) {
-        int alturaArbol = elementos.altura();
-        int alto = 250 + alturaArbol * 110 + margen * 2;
-        int anchura = alturaArbol * 400 + margen * 2;
-        String lienzo = dimensiones(anchura, alto);
+        SalidaSVG salida = new SalidaSVG();
+        dibujaAR(elementos, salida);
+        return salida.toString();
+    }
+
+    /**
+     * Escribe una gráfica de árbol rojinegro en la salida recibida.
+     * @param elementos el árbol rojinegro que se desea graficar.
+     * @param salida la salida donde se escribe el código SVG.
+     */
+    public void dibujaAR(ArbolRojinegro<Integer> elementos, SalidaSVG salida) {
+        AcomodoArbol<Integer> acomodo = acomodo(elementos.raiz());
+        int alto = 40 + margen + acomodo.getProfundidad() * nivel + radio + margen;
+        int anchura = acomodo.getAnchura() * espacio / 2 + margen * 2;
 
-        String completa = inicioSVG() + lienzo + vertices(elementos.raiz(), anchura / 2, 40 + margen, anchura / 4, margen, anchura - margen, elementos) + finalSVG();
-        System.out.println(completa);
-        return completa;
+        inicioSVG(salida);
+        dimensiones(salida, anchura, alto);
+        vertices(salida, acomodo, margen, 40 + margen, elementos);
+        finalSVG(salida);
     }
 
     /**
-     * Genera la representación de los vértices del árbol.
-     * @param vertice el vértice a dibujar.
-     * @param cx coordenada x del centro del vértice.
-     * @param cy coordenada y del centro del vértice.
-     * @param espacio el espacio horizontal entre vértices.
-     * @param margenIzquierdo el margen izquierdo de la gráfica.
-     * @param margenDerecho el margen derecho de la gráfica.
+     * Escribe una gráfica de árbol rojinegro partida en mosaicos.
+     * @param elementos el árbol rojinegro que se desea graficar.
+     * @param mosaicos el destino de los mosaicos.
+     */
+    public void dibujaAR(ArbolRojinegro<Integer> elementos, Mosaicos mosaicos) {
+        AcomodoArbol<Integer> acomodo = acomodo(elementos.raiz());
+        int alto = 40 + margen + acomodo.getProfundidad() * nivel + radio + margen;
+        int anchura = acomodo.getAnchura() * espacio / 2 + margen * 2;
+
+        mosaicos(mosaicos, anchura, alto, acomodo, margen, 40 + margen, espacio, nivel,
+                 (salida, inicio, fin) -> vertices(salida, acomodo, margen, 40 + margen,
+                                                   elementos, inicio, fin),
+                 null);
+    }
+
+    /**
+     * Escribe la representación de los vértices del árbol. Los vértices se
+     * recorren en pre-orden, y la arista hacia cada vértice se escribe justo
+     * antes que él. Los subárboles se dibujan en paralelo; ver {@link
+     * SVG#verticesEnParalelo}.
+     * @param salida la salida donde se escribe el código SVG.
+     * @param acomodo el acomodo del árbol.
+     * @param x0 coordenada x de la posición horizontal cero del acomodo.
+     * @param y0 coordenada y de la raíz.
      * @param arn el árbol rojinegro.
-     * @return una cadena que representa la gráfica SVG de los vértices del árbol.
      */
-    public String vertices(VerticeArbolBinario<Integer> vertice, int cx, int cy, int espacio, 
-       int margenIzquierdo, int margenDerecho, ArbolRojinegro<Integer> arn) {
-        
-        String s = dibujaVertices(cx, cy, vertice.get(), dameColor(arn, vertice));
-        
-        if (vertice.hayIzquierdo()) {
-            int x = cx - espacio;
-            int y = cy + 150;
-            x = Math.max(x, margenIzquierdo);
-            s += dibujaAristas(cx, cy, x, y); 
-            s += vertices(vertice.izquierdo(), x, y, espacio * 1/2, margenIzquierdo, margenDerecho, arn);
-        }
+    public void vertices(SalidaSVG salida, AcomodoArbol<Integer> acomodo, int x0, int y0,
+                         ArbolRojinegro<Integer> arn) {
+        verticesEnParalelo(salida, acomodo,
+                           (bloque, inicio, fin) -> vertices(bloque, acomodo, x0, y0, arn, inicio, fin));
+    }
 
-        if (vertice.hayDerecho()) {
-            int x = cx + espacio;
-            int y = cy + 150;
-            x = Math.min(x, margenDerecho); 
-            s += dibujaAristas(cx, cy, x, y); 
-            s += vertices(vertice.derecho(), x, y, espacio * 1/2, margenIzquierdo, margenDerecho, arn);
+    /* Escribe los vértices con índices de inicio a fin - 1, con sus
+     * aristas. */
+    private void vertices(SalidaSVG salida, AcomodoArbol<Integer> acomodo, int x0, int y0,
+                          ArbolRojinegro<Integer> arn, int inicio, int fin) {
+        for (int i = inicio; i < fin; i++) {
+            VerticeArbolBinario<Integer> vertice = acomodo.vertice(i);
+            int cx = x0 + acomodo.x(i) * espacio / 2;
+            int cy = y0 + acomodo.profundidad(i) * nivel;
+            int p = acomodo.padre(i);
+            if (p >= 0)
+                dibujaAristas(salida, x0 + acomodo.x(p) * espacio / 2, cy - nivel, cx, cy);
+            if (acomodo.esColapsado(i))
+                colapsado(salida, cx, cy, radio, vertice);
+            else
+                dibujaVertices(salida, cx, cy, vertice.get(), dameColor(arn, vertice));
         }
-
-        return s;
     }
 
     /**
@@ -92,19 +123,19 @@ public class GraficaRojinegros extends SVG {
      * @param color el color del vértice.
      * @return una cadena que representa la gráfica SVG de un vértice del árbol.
      */
-    public String dibujaVertices(int cx, int cy, int text, String color) {
-        return circuloConTexto(cx, cy, radio, "black", 1, color, "white", 19, text);
+    public void dibujaVertices(SalidaSVG salida, int cx, int cy, int text, String color) {
+        circuloConTexto(salida, cx, cy, radio, "black", 1, color, "white", 19, text);
     }
 
     /**
-     * Genera la representación de una arista entre dos vértices.
+     * Escribe la representación de una arista entre dos vértices.
+     * @param salida la salida donde se escribe el código SVG.
      * @param x1 coordenada x del primer vértice.
      * @param y1 coordenada y del primer vértice.
      * @param x2 coordenada x del segundo vértice.
      * @param y2 coordenada y del segundo vértice.
-     * @return una cadena que representa la gráfica SVG de una arista entre dos vértices.
      */
-    public String dibujaAristas(int x1, int y1, int x2, int y2) {
-        return String.format("<line x1='%d' y1='%d' x2='%d' y2='%d' stroke='black' stroke-width='1'/>\n", x1, y1 + radio, x2, y2);
+    public void dibujaAristas(SalidaSVG salida, int x1, int y1, int x2, int y2) {
+        arista(salida, x1, y1 + radio, x2, y2);
     }
 }
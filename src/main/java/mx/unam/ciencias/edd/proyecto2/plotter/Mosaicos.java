@@ -0,0 +1,176 @@
+package mx.unam.ciencias.edd.proyecto2.plotter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Deflater;
+
+/**
+ * Destino de un dibujo partido en mosaicos. El lienzo se parte en cuadrados
+ * de tamaño fijo, y cada mosaico se escribe en su propio archivo SVG dentro
+ * de un directorio; cada archivo es un documento completo cuya caja de
+ * visión es su parte del lienzo, así que los mosaicos pueden abrirse solos o
+ * cargarse sólo cuando se ven.
+ *
+ * Además se escribe un índice en JSON con las dimensiones del lienzo y, para
+ * cada mosaico, su archivo, su posición y sus dimensiones:
+ *
+ * <pre>
+ * {"ancho":620,"alto":270,"tamano":512,"mosaicos":[
+ * {"archivo":"mosaico-0-0.svg","x":0,"y":0,"ancho":512,"alto":270},
+ * {"archivo":"mosaico-0-1.svg","x":512,"y":0,"ancho":108,"alto":270}
+ * ]}
+ * </pre>
+ *
+ * Los mosaicos se escriben uno por uno, y cada uno se cierra antes de abrir
+ * el siguiente, así que la memoria que se usa no depende del número de
+ * mosaicos. Todos los mosaicos se escriben con la misma salida, cuyos
+ * búferes se reutilizan.
+ *
+ * @author Luis
+ */
+public class Mosaicos {
+
+    /* El directorio de los mosaicos. */
+    private Path directorio;
+    /* El lado de los mosaicos. */
+    private int tamano;
+    /* La salida del índice. */
+    private SalidaSVG indice;
+    /* Si los mosaicos usan el formato compacto. */
+    private boolean compactos;
+    /* Si los mosaicos se comprimen, y con qué nivel. */
+    private boolean gzip;
+    private int nivel = Deflater.DEFAULT_COMPRESSION;
+    /* La salida de los mosaicos; null antes del primero. */
+    private SalidaSVG salida;
+    /* El número de mosaicos escritos. */
+    private int mosaicos;
+
+    /**
+     * Crea un destino de mosaicos. El directorio se crea si no existe.
+     *
+     * @param directorio el directorio donde se escriben los mosaicos.
+     * @param tamano     el lado de los mosaicos.
+     * @param indice     la salida donde se escribe el índice; se vacía al
+     *                   terminar, pero no se cierra.
+     * @throws IllegalArgumentException si el tamaño no es positivo.
+     * @throws UncheckedIOException si no se puede crear el directorio.
+     */
+    public Mosaicos(Path directorio, int tamano, SalidaSVG indice) {
+        if (tamano < 1)
+            throw new IllegalArgumentException("Tamaño de mosaico inválido: " + tamano);
+        this.directorio = directorio;
+        this.tamano = tamano;
+        this.indice = indice;
+        try {
+            Files.createDirectories(directorio);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /**
+     * Define si los mosaicos usan el formato compacto.
+     *
+     * @param compactos si los mosaicos usan el formato compacto.
+     */
+    public void setCompactos(boolean compactos) {
+        this.compactos = compactos;
+    }
+
+    /**
+     * Define si los mosaicos se comprimen en formato gzip; los mosaicos
+     * comprimidos tienen extensión <code>.svgz</code>.
+     *
+     * @param gzip  si los mosaicos se comprimen.
+     * @param nivel el nivel de compresión, de 0 a 9, o -1 para el nivel por
+     *              omisión.
+     */
+    public void setGzip(boolean gzip, int nivel) {
+        this.gzip = gzip;
+        this.nivel = nivel;
+    }
+
+    /**
+     * Regresa el lado de los mosaicos.
+     *
+     * @return el lado de los mosaicos.
+     */
+    public int getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Comienza el índice de un lienzo con las dimensiones recibidas.
+     *
+     * @param ancho el ancho del lienzo.
+     * @param alto  el alto del lienzo.
+     */
+    public void inicia(int ancho, int alto) {
+        indice.append("{\"ancho\":").entero(ancho)
+            .append(",\"alto\":").entero(alto)
+            .append(",\"tamano\":").entero(tamano)
+            .append(",\"mosaicos\":[");
+    }
+
+    /**
+     * Cierra el mosaico anterior, si lo hay, y abre el archivo del mosaico
+     * con la posición y las dimensiones recibidas, que se agrega al índice.
+     *
+     * @param x     la coordenada x del mosaico en el lienzo.
+     * @param y     la coordenada y del mosaico en el lienzo.
+     * @param ancho el ancho del mosaico.
+     * @param alto  el alto del mosaico.
+     * @return la salida donde se escribe el mosaico.
+     * @throws UncheckedIOException si no se puede abrir el archivo.
+     */
+    public SalidaSVG mosaico(int x, int y, int ancho, int alto) {
+        cierraMosaico();
+        String archivo = "mosaico-" + (y / tamano) + "-" + (x / tamano) +
+            (gzip ? ".svgz" : ".svg");
+        WritableByteChannel canal;
+        try {
+            canal = FileChannel.open(directorio.resolve(archivo), StandardOpenOption.CREATE,
+                                     StandardOpenOption.TRUNCATE_EXISTING,
+                                     StandardOpenOption.WRITE);
+            if (gzip)
+                canal = new CanalGzip(canal, nivel);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+        if (salida == null) {
+            salida = new SalidaSVG(canal);
+            salida.setCompacta(compactos);
+        } else {
+            salida.setCanal(canal);
+        }
+
+        indice.append(mosaicos++ == 0 ? "\n" : ",\n")
+            .append("{\"archivo\":\"").append(archivo)
+            .append("\",\"x\":").entero(x)
+            .append(",\"y\":").entero(y)
+            .append(",\"ancho\":").entero(ancho)
+            .append(",\"alto\":").entero(alto).append('}');
+        return salida;
+    }
+
+    /**
+     * Cierra el último mosaico y termina el índice.
+     */
+    public void termina() {
+        cierraMosaico();
+        indice.append("\n]}");
+        indice.flush();
+    }
+
+    /* Cierra el mosaico en curso, si lo hay. */
+    private void cierraMosaico() {
+        if (salida != null)
+            salida.close();
+    }
+}
@@ -0,0 +1,81 @@
+package mx.unam.ciencias.edd.proyecto2.plotter;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Plantilla precompilada para elementos SVG. La plantilla se construye a
+ * partir de una cadena de formato con campos <code>%d</code> y
+ * <code>%s</code>, y se guarda como los fragmentos de texto fijo que hay entre
+ * los campos. Al escribirla en una {@link SalidaSVG} no se analiza el formato
+ * ni se crean objetos por elemento.
+ *
+ * @author Luis
+ */
+public final class Plantilla {
+
+    /* Los fragmentos de texto fijo entre los campos. */
+    private final String[] fragmentos;
+    /* Los fragmentos codificados en UTF-8, para las salidas a canales. */
+    private final byte[][] octetos;
+
+    /**
+     * Compila una plantilla a partir de una cadena de formato.
+     *
+     * @param formato la cadena de formato, con campos <code>%d</code> y
+     *        <code>%s</code>.
+     * @throws IllegalArgumentException si el formato contiene un campo
+     *         distinto de <code>%d</code> o <code>%s</code>.
+     */
+    public Plantilla(String formato) {
+        int campos = 0;
+        for (int i = 0; i < formato.length(); i++)
+            if (formato.charAt(i) == '%') {
+                char c = i + 1 < formato.length() ? formato.charAt(i + 1) : ' ';
+                if (c != 'd' && c != 's')
+                    throw new IllegalArgumentException("Campo inválido en la plantilla: " + formato);
+                campos++;
+                i++;
+            }
+
+        fragmentos = new String[campos + 1];
+        int inicio = 0;
+        int campo = 0;
+        for (int i = 0; i < formato.length(); i++)
+            if (formato.charAt(i) == '%') {
+                fragmentos[campo++] = formato.substring(inicio, i);
+                inicio = i + 2;
+                i++;
+            }
+        fragmentos[campo] = formato.substring(inicio);
+
+        octetos = new byte[fragmentos.length][];
+        for (int i = 0; i < fragmentos.length; i++)
+            octetos[i] = fragmentos[i].getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Regresa el número de campos de la plantilla.
+     *
+     * @return el número de campos de la plantilla.
+     */
+    public int getCampos() {
+        return fragmentos.length - 1;
+    }
+
+    /**
+     * Regresa el <em>i</em>-ésimo fragmento de texto fijo de la plantilla. El
+     * fragmento 0 va antes del primer campo, y el último después del último
+     * campo.
+     *
+     * @param i el índice del fragmento.
+     * @return el <em>i</em>-ésimo fragmento de la plantilla.
+     */
+    public String fragmento(int i) {
+        return fragmentos[i];
+    }
+
+    /* Regresa el i-ésimo fragmento codificado en UTF-8. */
+    byte[] octetos(int i) {
+        return octetos[i];
+    }
+}
@@ -0,0 +1,103 @@
+package mx.unam.ciencias.edd.proyecto2.plotter;
+
+import mx.unam.ciencias.edd.VerticeArbolBinario;
+
+/**
+ * Resumen de un subárbol que no se dibuja completo: su número de elementos,
+ * su elemento mínimo y máximo y su altura. El resumen se calcula con un solo
+ * recorrido del subárbol, sin recursión, en tiempo <em>O(n)</em>; no usa las
+ * alturas guardadas en los vértices, así que puede calcularse desde varios
+ * hilos a la vez para subárboles distintos.
+ *
+ * @param <T> El tipo de los elementos del árbol.
+ * @author Luis
+ */
+public class ResumenSubarbol<T extends Comparable<T>> {
+
+    /* El número de elementos del subárbol. */
+    private int elementos;
+    /* El elemento mínimo y el máximo. */
+    private T minimo, maximo;
+    /* La altura del subárbol. */
+    private int altura;
+
+    /**
+     * Calcula el resumen del subárbol con la raíz recibida.
+     *
+     * @param raiz La raíz del subárbol.
+     */
+    public ResumenSubarbol(VerticeArbolBinario<T> raiz) {
+        minimo = maximo = raiz.get();
+        /* Recorremos en pre-orden: bajamos siempre que se pueda, y en las
+         * hojas subimos por los padres hasta el siguiente hijo derecho
+         * pendiente, llevando la cuenta de la profundidad. */
+        int profundidad = 0;
+        VerticeArbolBinario<T> v = raiz;
+        while (v != null) {
+            elementos++;
+            T e = v.get();
+            if (e.compareTo(minimo) < 0)
+                minimo = e;
+            if (e.compareTo(maximo) > 0)
+                maximo = e;
+            altura = Math.max(altura, profundidad);
+            if (v.hayIzquierdo()) {
+                v = v.izquierdo();
+                profundidad++;
+                continue;
+            }
+            if (v.hayDerecho()) {
+                v = v.derecho();
+                profundidad++;
+                continue;
+            }
+            VerticeArbolBinario<T> siguiente = null;
+            while (v != raiz) {
+                VerticeArbolBinario<T> p = v.padre();
+                if (p.hayIzquierdo() && p.izquierdo() == v && p.hayDerecho()) {
+                    siguiente = p.derecho();
+                    break;
+                }
+                v = p;
+                profundidad--;
+            }
+            v = siguiente;
+        }
+    }
+
+    /**
+     * Regresa el número de elementos del subárbol.
+     *
+     * @return El número de elementos del subárbol.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Regresa el elemento mínimo del subárbol.
+     *
+     * @return El elemento mínimo del subárbol.
+     */
+    public T getMinimo() {
+        return minimo;
+    }
+
+    /**
+     * Regresa el elemento máximo del subárbol.
+     *
+     * @return El elemento máximo del subárbol.
+     */
+    public T getMaximo() {
+        return maximo;
+    }
+
+    /**
+     * Regresa la altura del subárbol.
+     *
+     * @return La altura del subárbol.
+     */
+    public int getAltura() {
+        return altura;
+    }
+}
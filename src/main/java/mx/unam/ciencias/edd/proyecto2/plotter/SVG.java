@@ -1,12 +1,179 @@
 package mx.unam.ciencias.edd.proyecto2.plotter;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.VerticeArbolBinario;
+
 public abstract class SVG {
 
+	/**
+	 * Interfaz para dibujar un intervalo de vértices de un acomodo de árbol,
+	 * en pre-orden.
+	 */
+	@FunctionalInterface
+	protected interface DibujoVertices {
+
+		/**
+		 * Dibuja los vértices del acomodo con índices de <code>inicio</code>
+		 * a <code>fin - 1</code>.
+		 *
+		 * @param salida la salida donde se escriben los vértices.
+		 * @param inicio el índice del primer vértice a dibujar.
+		 * @param fin    el índice siguiente al último vértice a dibujar.
+		 */
+		void dibuja(SalidaSVG salida, int inicio, int fin);
+	}
+
+	/**
+	 * Interfaz para dibujar la parte de un lienzo que cae en un mosaico.
+	 */
+	@FunctionalInterface
+	protected interface DibujoMosaico {
+
+		/**
+		 * Dibuja los elementos del lienzo que tocan el rectángulo recibido;
+		 * los que quedan fuera pueden omitirse, y lo que se salga del
+		 * rectángulo no se ve.
+		 *
+		 * @param salida la salida donde se escribe el mosaico.
+		 * @param x      la coordenada x del mosaico en el lienzo.
+		 * @param y      la coordenada y del mosaico en el lienzo.
+		 * @param ancho  el ancho del mosaico.
+		 * @param alto   el alto del mosaico.
+		 */
+		void dibuja(SalidaSVG salida, int x, int y, int ancho, int alto);
+	}
+
+	/* Número de vértices por subárbol que se busca al elegir
+	 * automáticamente la profundidad de corte, y número máximo de vértices
+	 * de cada bloque que se dibuja en paralelo. */
+	private static final int VERTICES_POR_SUBARBOL = 1 << 14;
+
+	/* La profundidad a la que se corta el árbol para dibujarlo en paralelo;
+	 * 0 para dibujarlo en secuencia, o -1 para elegirla automáticamente. */
+	private int profundidadParalela = -1;
+
+	/* La profundidad máxima de los vértices de un árbol que se dibujan, o
+	 * -1 para dibujarlos todos. */
+	private int profundidadMaxima = -1;
+	/* El número máximo de vértices de un árbol que se dibujan, o -1 para
+	 * dibujarlos todos. */
+	private int verticesMaximos = -1;
+
+	/* Distancia alrededor de un vértice, y de la arista hacia él, que cubren
+	 * su dibujo y sus etiquetas; los mosaicos a esa distancia lo dibujan. */
+	private static final int HOLGURA = 100;
+
+	/* Plantillas precompiladas de los elementos SVG. */
+	private static final Plantilla DIMENSIONES =
+		new Plantilla("<svg width='%d' height='%d'><g>" + "\n");
+	private static final Plantilla DIMENSIONES_MOSAICO =
+		new Plantilla("<svg xmlns='http://www.w3.org/2000/svg' width='%d' height='%d' viewBox='%d %d %d %d'><g>\n");
+	private static final Plantilla LINEA =
+		new Plantilla("<line x1='%d' y1='%d' x2='%d' y2='%d' stroke='%s' stroke-width='%d' /> \n");
+	private static final Plantilla TEXTO =
+		new Plantilla("<text fill='%s' font-family='sans-serif' font-size='%d' x='%d' y='%d' text-anchor='middle'>%d</text> \n");
+	private static final Plantilla CIRCULO =
+		new Plantilla("<circle cx='%d' cy='%d' r='%d' stroke='%s' stroke-width='%d' fill='%s' /> \n");
+	private static final Plantilla RECTANGULO =
+		new Plantilla("<rect x='%d' y='%d' width='%d' height='%d' rx='%d' ry='%d' fill='%s' stroke='%s'/> \n");
+
+	/* Plantilla de las aristas entre vértices de los árboles. */
+	private static final Plantilla ARISTA =
+		new Plantilla("<line x1='%d' y1='%d' x2='%d' y2='%d' stroke='black' stroke-width='1'/>\n");
+
+	/* Plantilla de un subárbol colapsado: un triángulo con el número de
+	 * elementos, y debajo el mínimo, el máximo y la altura. */
+	private static final Plantilla COLAPSADO =
+		new Plantilla("<polygon points='%d,%d %d,%d %d,%d' fill='lightgray' stroke='black' stroke-width='1' /> \n" +
+		              "<text fill='black' font-family='sans-serif' font-size='12' x='%d' y='%d' text-anchor='middle'>%d</text> \n" +
+		              "<text fill='black' font-family='sans-serif' font-size='12' x='%d' y='%d' text-anchor='middle'>mín %d</text> \n" +
+		              "<text fill='black' font-family='sans-serif' font-size='12' x='%d' y='%d' text-anchor='middle'>máx %d</text> \n" +
+		              "<text fill='black' font-family='sans-serif' font-size='12' x='%d' y='%d' text-anchor='middle'>altura %d</text> \n");
+
+	/* Hoja de estilos del formato compacto. Da a cada tipo de elemento los
+	 * valores más usados, y tiene clases para los colores y tamaños de
+	 * fuente que más se repiten; las flechas de las listas toman sus puntas
+	 * de los marcadores en <defs>. Las reglas de la hoja tienen precedencia
+	 * sobre los atributos de presentación, así que en el formato compacto los
+	 * valores distintos se escriben como clases o con style. */
+	private static final String DEFINICIONES =
+		"<defs><style>" +
+		"text{font-family:sans-serif;font-size:15px;text-anchor:middle;fill:black}" +
+		"circle{stroke:black;stroke-width:1;fill:white}" +
+		"path{stroke:black;stroke-width:1;fill:none}" +
+		"rect{stroke:black;fill:white}" +
+		".r{fill:red}.n{fill:black}.b{fill:white}" +
+		".s12{font-size:12px}.s18{font-size:18px}.s19{font-size:19px}" +
+		".s24{font-size:24px}.s40{font-size:40px}.s72{font-size:72px}" +
+		".flecha{marker-start:url(#flecha-inicio);marker-end:url(#flecha-fin)}" +
+		"</style>" +
+		"<marker id='flecha-inicio' markerWidth='13' markerHeight='10' refX='0' refY='3.5' orient='auto'>" +
+		"<polygon points='0 0, 10 3.5, 0 7' style='fill:black;stroke:none' transform='scale(-1,1)'/></marker>" +
+		"<marker id='flecha-fin' markerWidth='13' markerHeight='10' refX='0' refY='3.5' orient='auto'>" +
+		"<polygon points='0 0, 10 3.5, 0 7' style='fill:black;stroke:none'/></marker>" +
+		"</defs>";
+
+	/* Plantillas del formato compacto; el campo después de las dimensiones
+	 * son las definiciones de la gráfica. */
+	private static final Plantilla DIMENSIONES_COMPACTO =
+		new Plantilla("<svg xmlns='http://www.w3.org/2000/svg' width='%d' height='%d'>%s<g>\n");
+	private static final Plantilla DIMENSIONES_MOSAICO_COMPACTO =
+		new Plantilla("<svg xmlns='http://www.w3.org/2000/svg' width='%d' height='%d' viewBox='%d %d %d %d'>%s<g>\n");
+	private static final Plantilla ARISTA_COMPACTO =
+		new Plantilla("<path d='M%d %dL%d %d'/>\n");
+	private static final Plantilla TRAZO_COMPACTO =
+		new Plantilla("<path d='M%d %dL%d %d'");
+	private static final Plantilla TEXTO_COMPACTO =
+		new Plantilla("<text x='%d' y='%d'");
+	private static final Plantilla CIRCULO_COMPACTO =
+		new Plantilla("<circle cx='%d' cy='%d' r='%d'");
+	private static final Plantilla RECTANGULO_COMPACTO =
+		new Plantilla("<rect x='%d' y='%d' width='%d' height='%d'");
+	private static final Plantilla RADIOS_COMPACTO =
+		new Plantilla(" rx='%d' ry='%d'");
+	private static final Plantilla COLAPSADO_COMPACTO =
+		new Plantilla("<path d='M%d %dL%d %dL%d %dz' style='fill:lightgray'/>\n" +
+		              "<text class='s12' x='%d' y='%d'>%d</text>\n" +
+		              "<text class='s12' x='%d' y='%d'>mín %d</text>\n" +
+		              "<text class='s12' x='%d' y='%d'>máx %d</text>\n" +
+		              "<text class='s12' x='%d' y='%d'>altura %d</text>\n");
+
+	/**
+	 * Escribe la declaración XML del documento SVG.
+	 *
+	 * @param salida la salida donde se escribe el documento.
+	 */
+	public void inicioSVG(SalidaSVG salida){
+		salida.append("<?xml version='1.0' encoding='UTF-8'?>" + "\n");
+	}
+
 	/**
 	 * @return la declaración XML del documento SVG.
 	 */
 	public String inicioSVG(){
-		return "<?xml version='1.0' encoding='UTF-8'?>" + "\n";
+		SalidaSVG salida = new SalidaSVG();
+		inicioSVG(salida);
+		return salida.toString();
+	}
+
+	/**
+	 * Escribe la declaración de las dimensiones del lienzo SVG.
+	 *
+	 * @param salida la salida donde se escribe el documento.
+	 * @param ancho el ancho del lienzo SVG.
+	 * @param alto  el alto del lienzo SVG.
+	 */
+	public void dimensiones(SalidaSVG salida, int ancho, int alto){
+		if (salida.esCompacta()) {
+			salida.plantilla(DIMENSIONES_COMPACTO).campo(ancho).campo(alto)
+				.campo(definiciones());
+			return;
+		}
+		salida.plantilla(DIMENSIONES).campo(ancho).campo(alto);
 	}
 
 	/**
@@ -17,7 +184,50 @@ public abstract class SVG {
 	 * @return la declaración de las dimensiones del lienzo SVG.
 	 */
 	public String dimensiones(int ancho, int alto){
-		return String.format("<svg width='%d' height='%d'><g>" + "\n", ancho, alto);
+		SalidaSVG salida = new SalidaSVG();
+		dimensiones(salida, ancho, alto);
+		return salida.toString();
+	}
+
+	/**
+	 * Escribe la declaración de las dimensiones de un mosaico: un documento
+	 * del tamaño del mosaico que muestra su parte del lienzo.
+	 *
+	 * @param salida la salida donde se escribe el documento.
+	 * @param x     la coordenada x del mosaico en el lienzo.
+	 * @param y     la coordenada y del mosaico en el lienzo.
+	 * @param ancho el ancho del mosaico.
+	 * @param alto  el alto del mosaico.
+	 */
+	public void dimensiones(SalidaSVG salida, int x, int y, int ancho, int alto){
+		if (salida.esCompacta()) {
+			salida.plantilla(DIMENSIONES_MOSAICO_COMPACTO).campo(ancho).campo(alto)
+				.campo(x).campo(y).campo(ancho).campo(alto).campo(definiciones());
+			return;
+		}
+		salida.plantilla(DIMENSIONES_MOSAICO)
+			.campo(ancho).campo(alto).campo(x).campo(y).campo(ancho).campo(alto);
+	}
+
+	/**
+	 * Regresa las definiciones que van al inicio de los documentos en el
+	 * formato compacto: la hoja de estilos y los marcadores. Las gráficas
+	 * que sólo usan unos cuantos elementos pueden regresar una hoja propia,
+	 * más corta, con clases para sus colores.
+	 *
+	 * @return las definiciones del formato compacto.
+	 */
+	protected String definiciones() {
+		return DEFINICIONES;
+	}
+
+	/**
+	 * Escribe el cierre del documento SVG.
+	 *
+	 * @param salida la salida donde se escribe el documento.
+	 */
+	public void finalSVG(SalidaSVG salida){
+		salida.append("</g></svg>");
 	}
 	
 	/**
@@ -26,7 +236,33 @@ public abstract class SVG {
 	 * @return el cierre del documento SVG.
 	 */
 	public String finalSVG(){
-		return "</g></svg>";
+		SalidaSVG salida = new SalidaSVG();
+		finalSVG(salida);
+		return salida.toString();
+	}
+
+	/**
+	 * Escribe la representación SVG de una línea.
+	 *
+	 * @param salida  la salida donde se escribe el documento.
+	 * @param x1      la coordenada x del primer punto de la línea.
+	 * @param y1      la coordenada y del primer punto de la línea.
+	 * @param x2      la coordenada x del segundo punto de la línea.
+	 * @param y2      la coordenada y del segundo punto de la línea.
+	 * @param color   el color de la línea.
+	 * @param ancho   el ancho de la línea.
+	 */
+	public void linea(SalidaSVG salida, int x1, int y1, int x2, int y2, 
+					  String color, int ancho){
+		
+		if (salida.esCompacta()) {
+			salida.plantilla(TRAZO_COMPACTO).campo(x1).campo(y1).campo(x2).campo(y2);
+			estilo(salida, null, null, color, "black", ancho, 0);
+			salida.append("/>\n");
+			return;
+		}
+		salida.plantilla(LINEA).campo(x1).campo(y1).campo(x2).campo(y2)
+			.campo(color).campo(ancho);
 	}
 	
 	/**
@@ -43,10 +279,34 @@ public abstract class SVG {
 	public String linea(int x1, int y1, int x2, int y2, 
 						String color, int ancho){
 		
-		return String.format("<line x1='%d' y1='%d' x2='%d' y2='%d' stroke='%s' stroke-width='%d' /> \n", 
-				x1, y1, x2, y2, color, ancho);
+		SalidaSVG salida = new SalidaSVG();
+		linea(salida, x1, y1, x2, y2, color, ancho);
+		return salida.toString();
 	}	
 
+    /**
+     * Escribe la representación SVG de un texto.
+     * 
+     * @param salida        la salida donde se escribe el documento.
+     * @param colorTexto    el color del texto.
+     * @param tamanoFuente  el tamaño de la fuente del texto.
+     * @param x             la coordenada x del texto.
+     * @param y             la coordenada y del texto.
+     * @param text          el texto a ser mostrado.
+     */
+	public void texto(SalidaSVG salida, String colorTexto, int tamanoFuente, 
+					  int x, int y, int text){
+		
+		if (salida.esCompacta()) {
+			salida.plantilla(TEXTO_COMPACTO).campo(x).campo(y);
+			estilo(salida, colorTexto, "black", null, null, -1, tamanoFuente);
+			salida.append('>').entero(text).append("</text>\n");
+			return;
+		}
+		salida.plantilla(TEXTO).campo(colorTexto).campo(tamanoFuente)
+			.campo(x).campo(y).campo(text);
+	}
+
     /**
      * Genera la representación SVG de un texto.
      * 
@@ -60,8 +320,33 @@ public abstract class SVG {
 	public String texto(String colorTexto, int tamanoFuente, 
 						int x, int y, int text){
 		
-		return String.format("<text fill='%s' font-family='sans-serif' font-size='%d' x='%d' y='%d' text-anchor='middle'>%d</text> \n", 
-				colorTexto, tamanoFuente, x, y, text);
+		SalidaSVG salida = new SalidaSVG();
+		texto(salida, colorTexto, tamanoFuente, x, y, text);
+		return salida.toString();
+	}
+
+	/**
+	 * Escribe la representación SVG de un círculo.
+	 * 
+	 * @param salida  la salida donde se escribe el documento.
+	 * @param cx      la coordenada x del centro del círculo.
+	 * @param cy      la coordenada y del centro del círculo.
+	 * @param radio   el radio del círculo.
+	 * @param color   el color del círculo.
+	 * @param ancho   el ancho del borde del círculo.
+	 * @param relleno el color de relleno del círculo.
+	 */
+	public void circulo(SalidaSVG salida, int cx, int cy, int radio, 
+						String colorBorde, int anchoBorde, String relleno){
+		
+		if (salida.esCompacta()) {
+			salida.plantilla(CIRCULO_COMPACTO).campo(cx).campo(cy).campo(radio);
+			estilo(salida, relleno, "white", colorBorde, "black", anchoBorde, 0);
+			salida.append("/>\n");
+			return;
+		}
+		salida.plantilla(CIRCULO).campo(cx).campo(cy).campo(radio)
+			.campo(colorBorde).campo(anchoBorde).campo(relleno);
 	}
 
 	/**
@@ -78,8 +363,33 @@ public abstract class SVG {
 	public String circulo(int cx, int cy, int radio, 
 						String colorBorde, int anchoBorde, String relleno){
 		
-		return String.format("<circle cx='%d' cy='%d' r='%d' stroke='%s' stroke-width='%d' fill='%s' /> \n", 
-				cx, cy, radio, colorBorde, anchoBorde, relleno);
+		SalidaSVG salida = new SalidaSVG();
+		circulo(salida, cx, cy, radio, colorBorde, anchoBorde, relleno);
+		return salida.toString();
+	}
+
+    /**
+     * Escribe la representación SVG de un círculo con texto dentro.
+     * 
+     * @param salida        la salida donde se escribe el documento.
+     * @param cx            la coordenada x del centro del círculo.
+     * @param cy            la coordenada y del centro del círculo.
+     * @param radio         el radio del círculo.
+     * @param colorBorde    el color del borde del círculo.
+     * @param anchoBorde    el ancho del borde del círculo.
+     * @param colorRelleno  el color de relleno del círculo.
+     * @param colorTexto    el color del texto dentro del círculo.
+     * @param tamanoFuente  el tamaño de la fuente del texto.
+     * @param text         el texto a ser mostrado dentro del círculo.
+     */
+	public void circuloConTexto(SalidaSVG salida, int cx, int cy, int radio, 
+								String colorBorde, int anchoBorde, 
+								String colorRelleno,
+								String colorTexto, int tamanoFuente, 
+								int text){
+
+		circulo(salida, cx, cy, radio, colorBorde, anchoBorde, colorRelleno);
+		texto(salida, colorTexto, tamanoFuente, cx, cy, text);
 	}
 
     /**
@@ -102,10 +412,10 @@ public abstract class SVG {
 								String colorTexto, int tamanoFuente, 
 								int text){
 
-		String codigo = circulo(cx, cy, radio, colorBorde, 
-				anchoBorde, colorRelleno);
-		codigo += texto(colorTexto, tamanoFuente, cx, cy, text);
-		return codigo;
+		SalidaSVG salida = new SalidaSVG();
+		circuloConTexto(salida, cx, cy, radio, colorBorde, anchoBorde,
+						colorRelleno, colorTexto, tamanoFuente, text);
+		return salida.toString();
 	}
 
 	/**
@@ -125,12 +435,29 @@ public abstract class SVG {
 //				x, y, ancho, alto, color, colorborde);
 //	}
 
+	public void rectangulo(SalidaSVG salida, int x, int y, int ancho, int alto, 
+						   int radioX, int radioY, String color, 
+						   String colorborde) {
+		
+		if (salida.esCompacta()) {
+			salida.plantilla(RECTANGULO_COMPACTO).campo(x).campo(y).campo(ancho).campo(alto);
+			if (radioX != 0 || radioY != 0)
+				salida.plantilla(RADIOS_COMPACTO).campo(radioX).campo(radioY);
+			estilo(salida, color, "white", colorborde, "black", -1, 0);
+			salida.append("/>\n");
+			return;
+		}
+		salida.plantilla(RECTANGULO).campo(x).campo(y).campo(ancho).campo(alto)
+			.campo(radioX).campo(radioY).campo(color).campo(colorborde);
+	}
+
 	public String rectangulo(int x, int y, int ancho, int alto, 
 							int radioX, int radioY, String color, 
 							String colorborde) {
 		
-		return String.format("<rect x='%d' y='%d' width='%d' height='%d' rx='%d' ry='%d' fill='%s' stroke='%s'/> \n", 
-			                 x, y, ancho, alto, radioX, radioY, color, colorborde);
+		SalidaSVG salida = new SalidaSVG();
+		rectangulo(salida, x, y, ancho, alto, radioX, radioY, color, colorborde);
+		return salida.toString();
 	}
 
     /**
@@ -161,17 +488,432 @@ public abstract class SVG {
 //		return codigo;
 //	}
 
+	public void rectanguloConTexto(SalidaSVG salida, int inicioEnX, int finEnY, int ancho, 
+								   int alto, String rellenoRectangulo,
+								   String colorBorde, int texto, String colorTexto,
+								   int tamanoFuente, int centroEnY, int radioX, int radioY) {
+
+		int centroEnX = inicioEnX + (ancho / 2);
+
+		rectangulo(salida, inicioEnX, finEnY, ancho, alto, radioX, radioY, rellenoRectangulo, colorBorde);
+		texto(salida, colorTexto, tamanoFuente, centroEnX, centroEnY, texto);
+	}
+
 	public String rectanguloConTexto(int inicioEnX, int finEnY, int ancho, 
 									int alto, String rellenoRectangulo,
 									String colorBorde, int texto, String colorTexto,
 									int tamanoFuente, int centroEnY, int radioX, int radioY) {
 
-		int centroEnX = inicioEnX + (ancho / 2);
+		SalidaSVG salida = new SalidaSVG();
+		rectanguloConTexto(salida, inicioEnX, finEnY, ancho, alto, rellenoRectangulo,
+						   colorBorde, texto, colorTexto, tamanoFuente, centroEnY,
+						   radioX, radioY);
+		return salida.toString();
+	}
 
-		String codigo = rectangulo(inicioEnX, finEnY, ancho, alto, radioX, radioY, rellenoRectangulo, colorBorde);
-		codigo += texto(colorTexto, tamanoFuente, centroEnX, centroEnY, texto);
-		return codigo;
-	
+	/**
+	 * Define la profundidad a la que se corta un árbol para dibujar sus
+	 * subárboles en paralelo. Con 0 el árbol se dibuja en secuencia; con -1
+	 * la profundidad se elige según el número de vértices y de procesadores.
+	 *
+	 * @param profundidad la profundidad de corte, 0 para dibujar en
+	 *                    secuencia o -1 para elegirla automáticamente.
+	 * @throws IllegalArgumentException si la profundidad es menor que -1.
+	 */
+	public void setProfundidadParalela(int profundidad) {
+		if (profundidad < -1)
+			throw new IllegalArgumentException("Profundidad inválida: " + profundidad);
+		profundidadParalela = profundidad;
+	}
+
+	/**
+	 * Dibuja los vértices de un acomodo de árbol, cortando el árbol a la
+	 * profundidad definida con {@link #setProfundidadParalela}. Los
+	 * subárboles cuya raíz está a esa profundidad, y los tramos de vértices
+	 * menos profundos que quedan entre ellos, se dibujan en paralelo, cada
+	 * uno en su propio bloque de la salida; como en pre-orden cada subárbol
+	 * ocupa un intervalo contiguo, los bloques se agregan a la salida en el
+	 * orden de sus intervalos y el resultado es idéntico al dibujo en
+	 * secuencia.
+	 *
+	 * Un árbol desbalanceado puede tener casi todos sus vértices en un solo
+	 * subárbol, así que los intervalos con más de 2<sup>14</sup> vértices
+	 * se parten en bloques de ese tamaño;
+	 * cada vértice se dibuja por sí solo, así que cualquier intervalo puede
+	 * dibujarse aparte. A lo más hay <code>2p + 1</code> bloques en memoria
+	 * a la vez, con <code>p</code> el paralelismo de la alberca, y cada uno
+	 * tiene a lo más 2<sup>14</sup> vértices, así que la
+	 * memoria que se usa no depende del tamaño del árbol.
+	 *
+	 * @param salida  la salida donde se escriben los vértices.
+	 * @param acomodo el acomodo del árbol.
+	 * @param dibujo  cómo se dibuja un intervalo de vértices; se llama desde
+	 *                varios hilos a la vez, así que no debe modificar nada
+	 *                compartido.
+	 */
+	protected void verticesEnParalelo(SalidaSVG salida, AcomodoArbol<?> acomodo,
+									 DibujoVertices dibujo) {
+		int n = acomodo.getElementos();
+		ForkJoinPool alberca = ForkJoinPool.commonPool();
+		int corte = profundidadParalela;
+		if (corte < 0)
+			corte = alberca.getParallelism() < 2 ? 0 :
+				31 - Integer.numberOfLeadingZeros(Math.max(n / VERTICES_POR_SUBARBOL, 1));
+		if (corte == 0 || corte > acomodo.getProfundidad()) {
+			dibujo.dibuja(salida, 0, n);
+			return;
+		}
+
+		int ventana = 2 * alberca.getParallelism() + 1;
+		ArrayDeque<ForkJoinTask<SalidaSVG>> pendientes = new ArrayDeque<>();
+		int i = 0;
+		while (i < n) {
+			int inicio = i;
+			if (acomodo.profundidad(i) == corte)
+				i = acomodo.finSubarbol(i);
+			else
+				while (i < n && acomodo.profundidad(i) < corte)
+					i++;
+			for (int j = inicio; j < i; j += VERTICES_POR_SUBARBOL) {
+				int a = j, b = Math.min(i, j + VERTICES_POR_SUBARBOL);
+				SalidaSVG bloque = salida.bloque();
+				pendientes.add(alberca.submit(() -> {
+					dibujo.dibuja(bloque, a, b);
+					return bloque;
+				}));
+				if (pendientes.size() == ventana)
+					salida.agrega(pendientes.poll().join());
+			}
+		}
+		while (!pendientes.isEmpty())
+			salida.agrega(pendientes.poll().join());
+	}
+
+	/**
+	 * Define la profundidad máxima de los vértices de un árbol que se
+	 * dibujan; los subárboles de los vértices a esa profundidad se dibujan
+	 * colapsados.
+	 *
+	 * @param profundidad la profundidad máxima, o -1 para dibujar todos los
+	 *                    vértices.
+	 * @throws IllegalArgumentException si la profundidad es menor que -1.
+	 */
+	public void setProfundidadMaxima(int profundidad) {
+		if (profundidad < -1)
+			throw new IllegalArgumentException("Profundidad inválida: " + profundidad);
+		profundidadMaxima = profundidad;
+	}
+
+	/**
+	 * Define el número máximo de vértices de un árbol que se dibujan. El
+	 * árbol se dibuja hasta la mayor profundidad que no excede ese número,
+	 * y los subárboles de los vértices a esa profundidad se dibujan
+	 * colapsados; la raíz siempre se dibuja.
+	 *
+	 * @param vertices el número máximo de vértices, o -1 para dibujarlos
+	 *                 todos.
+	 * @throws IllegalArgumentException si el número no es positivo ni -1.
+	 */
+	public void setVerticesMaximos(int vertices) {
+		if (vertices < 1 && vertices != -1)
+			throw new IllegalArgumentException("Número de vértices inválido: " + vertices);
+		verticesMaximos = vertices;
+	}
+
+	/**
+	 * Acomoda un árbol hasta la profundidad máxima y el número máximo de
+	 * vértices definidos con {@link #setProfundidadMaxima} y {@link
+	 * #setVerticesMaximos}.
+	 *
+	 * @param <T>  el tipo de los elementos del árbol.
+	 * @param raiz la raíz del árbol.
+	 * @return el acomodo del árbol.
+	 */
+	protected <T> AcomodoArbol<T> acomodo(VerticeArbolBinario<T> raiz) {
+		int limite = profundidadMaxima < 0 ? Integer.MAX_VALUE : profundidadMaxima;
+		if (verticesMaximos > 0)
+			limite = Math.min(limite, AcomodoArbol.profundidadPara(raiz, verticesMaximos));
+		return new AcomodoArbol<>(raiz, limite);
+	}
+
+	/**
+	 * Escribe un subárbol colapsado: un triángulo gris con la punta donde
+	 * iría el vértice y el número de elementos del subárbol dentro, y debajo
+	 * su elemento mínimo, su elemento máximo y su altura. El resumen se
+	 * calcula recorriendo el subárbol; ver {@link ResumenSubarbol}.
+	 *
+	 * @param salida  la salida donde se escribe el documento.
+	 * @param cx      la coordenada x donde iría el centro del vértice.
+	 * @param cy      la coordenada y donde iría el centro del vértice.
+	 * @param radio   el radio de los vértices del árbol.
+	 * @param vertice la raíz del subárbol.
+	 */
+	protected void colapsado(SalidaSVG salida, int cx, int cy, int radio,
+							 VerticeArbolBinario<Integer> vertice) {
+		ResumenSubarbol<Integer> resumen = new ResumenSubarbol<>(vertice);
+		int base = cy + radio;
+		salida.plantilla(salida.esCompacta() ? COLAPSADO_COMPACTO : COLAPSADO)
+			.campo(cx).campo(cy - radio).campo(cx - radio).campo(base).campo(cx + radio).campo(base)
+			.campo(cx).campo(base - 5).campo(resumen.getElementos())
+			.campo(cx).campo(base + 14).campo(resumen.getMinimo())
+			.campo(cx).campo(base + 28).campo(resumen.getMaximo())
+			.campo(cx).campo(base + 42).campo(resumen.getAltura());
+	}
+
+	/**
+	 * Dibuja un lienzo partido en mosaicos: para cada mosaico, por renglones,
+	 * abre su documento, dibuja la parte del lienzo que le toca y lo cierra.
+	 *
+	 * @param mosaicos el destino de los mosaicos.
+	 * @param ancho    el ancho del lienzo.
+	 * @param alto     el alto del lienzo.
+	 * @param dibujo   cómo se dibuja la parte de un mosaico.
+	 */
+	protected void mosaicos(Mosaicos mosaicos, int ancho, int alto, DibujoMosaico dibujo) {
+		int tamano = mosaicos.getTamano();
+		mosaicos.inicia(ancho, alto);
+		for (int y = 0; y < alto; y += tamano)
+			for (int x = 0; x < ancho; x += tamano) {
+				int w = Math.min(tamano, ancho - x);
+				int h = Math.min(tamano, alto - y);
+				SalidaSVG salida = mosaicos.mosaico(x, y, w, h);
+				inicioSVG(salida);
+				dimensiones(salida, x, y, w, h);
+				dibujo.dibuja(salida, x, y, w, h);
+				finalSVG(salida);
+			}
+		mosaicos.termina();
+	}
+
+	/**
+	 * Dibuja un acomodo de árbol partido en mosaicos. El vértice con índice
+	 * <em>i</em> se dibuja en la posición <code>(x0 + x(i) * espacio / 2,
+	 * y0 + profundidad(i) * nivel)</code>. Antes de dibujar, cada vértice se
+	 * asigna a los mosaicos que tocan él o la arista hacia su padre: por
+	 * cada columna de mosaicos se guarda una lista de parejas (renglón,
+	 * vértice) ordenada, y cada mosaico busca su renglón en la lista de su
+	 * columna. Así cada vértice se visita una vez por cada mosaico que toca,
+	 * aunque el árbol sea muy alto o muy angosto. Dentro de un mosaico los
+	 * vértices quedan en pre-orden, y cada mosaico se ve igual que su parte
+	 * del dibujo completo.
+	 *
+	 * @param mosaicos el destino de los mosaicos.
+	 * @param ancho    el ancho del lienzo.
+	 * @param alto     el alto del lienzo.
+	 * @param acomodo  el acomodo del árbol.
+	 * @param x0       la coordenada x de la posición horizontal cero.
+	 * @param y0       la coordenada y de la raíz.
+	 * @param espacio  la distancia horizontal entre vértices del mismo nivel.
+	 * @param nivel    la distancia vertical entre niveles.
+	 * @param dibujo   cómo se dibuja un intervalo de vértices, con las
+	 *                 aristas hacia ellos.
+	 * @param resto    cómo se dibuja lo que no es del árbol en un mosaico, o
+	 *                 <code>null</code> si no hay nada más.
+	 */
+	protected void mosaicos(Mosaicos mosaicos, int ancho, int alto, AcomodoArbol<?> acomodo,
+							int x0, int y0, int espacio, int nivel,
+							DibujoVertices dibujo, DibujoMosaico resto) {
+		int n = acomodo.getElementos();
+		int tamano = mosaicos.getTamano();
+		int columnas = Math.max((ancho + tamano - 1) / tamano, 1);
+		int renglones = Math.max((alto + tamano - 1) / tamano, 1);
+		/* Ordenamos por cubetas: primero contamos cuántos mosaicos toca cada
+		 * vértice en cada columna, y luego repartimos las parejas (renglón,
+		 * vértice) en su columna, codificadas en un long con el renglón en los
+		 * bits altos. Al ordenar cada columna, las parejas de un mosaico
+		 * quedan juntas y en pre-orden. */
+		int[] inicio = new int[columnas + 1];
+		for (int i = 0; i < n; i++) {
+			int filas = ultimoRenglon(acomodo, i, y0, nivel, tamano, renglones) -
+				primerRenglon(acomodo, i, y0, nivel, tamano) + 1;
+			for (int c = primeraColumna(acomodo, i, x0, espacio, tamano);
+				 c <= ultimaColumna(acomodo, i, x0, espacio, tamano, columnas); c++)
+				inicio[c + 1] += filas;
+		}
+		for (int c = 0; c < columnas; c++)
+			inicio[c + 1] += inicio[c];
+		int[] siguiente = Arrays.copyOf(inicio, columnas);
+		long[] parejas = new long[inicio[columnas]];
+		for (int i = 0; i < n; i++) {
+			int primero = primerRenglon(acomodo, i, y0, nivel, tamano);
+			int ultimo = ultimoRenglon(acomodo, i, y0, nivel, tamano, renglones);
+			for (int c = primeraColumna(acomodo, i, x0, espacio, tamano);
+				 c <= ultimaColumna(acomodo, i, x0, espacio, tamano, columnas); c++)
+				for (int r = primero; r <= ultimo; r++)
+					parejas[siguiente[c]++] = (long)r << 32 | i;
+		}
+		for (int c = 0; c < columnas; c++)
+			Arrays.sort(parejas, inicio[c], inicio[c + 1]);
+
+		mosaicos(mosaicos, ancho, alto, (salida, x, y, w, h) -> {
+			int c = x / tamano;
+			long r = y / tamano;
+			int k = Arrays.binarySearch(parejas, inicio[c], inicio[c + 1], r << 32);
+			if (k < 0)
+				k = -k - 1;
+			for (; k < inicio[c + 1] && parejas[k] >>> 32 == r; k++) {
+				int i = (int)parejas[k];
+				dibujo.dibuja(salida, i, i + 1);
+			}
+			if (resto != null)
+				resto.dibuja(salida, x, y, w, h);
+		});
+	}
+
+	/* Regresa el primer renglón de mosaicos que toca un vértice o la arista
+	 * hacia su padre. */
+	private static int primerRenglon(AcomodoArbol<?> acomodo, int i, int y0,
+									 int nivel, int tamano) {
+		int p = acomodo.padre(i);
+		int arriba = y0 + acomodo.profundidad(p < 0 ? i : p) * nivel - HOLGURA;
+		return Math.max(arriba, 0) / tamano;
+	}
+
+	/* Regresa el último renglón de mosaicos que toca un vértice. */
+	private static int ultimoRenglon(AcomodoArbol<?> acomodo, int i, int y0,
+									 int nivel, int tamano, int renglones) {
+		int abajo = y0 + acomodo.profundidad(i) * nivel + HOLGURA;
+		return Math.min(abajo / tamano, renglones - 1);
+	}
+
+	/* Regresa la primera columna de mosaicos que toca un vértice o la arista
+	 * hacia su padre. */
+	private static int primeraColumna(AcomodoArbol<?> acomodo, int i, int x0,
+									  int espacio, int tamano) {
+		int p = acomodo.padre(i);
+		int x = Math.min(acomodo.x(i), p < 0 ? acomodo.x(i) : acomodo.x(p));
+		return Math.max(x0 + x * espacio / 2 - HOLGURA, 0) / tamano;
+	}
+
+	/* Regresa la última columna de mosaicos que toca un vértice o la arista
+	 * hacia su padre. */
+	private static int ultimaColumna(AcomodoArbol<?> acomodo, int i, int x0,
+									 int espacio, int tamano, int columnas) {
+		int p = acomodo.padre(i);
+		int x = Math.max(acomodo.x(i), p < 0 ? acomodo.x(i) : acomodo.x(p));
+		return Math.min((x0 + x * espacio / 2 + HOLGURA) / tamano, columnas - 1);
+	}
+
+	/**
+	 * Escribe una arista entre dos vértices de un árbol, en negro y con
+	 * ancho 1.
+	 *
+	 * @param salida la salida donde se escribe el documento.
+	 * @param x1     la coordenada x del primer extremo de la arista.
+	 * @param y1     la coordenada y del primer extremo de la arista.
+	 * @param x2     la coordenada x del segundo extremo de la arista.
+	 * @param y2     la coordenada y del segundo extremo de la arista.
+	 */
+	protected void arista(SalidaSVG salida, int x1, int y1, int x2, int y2) {
+		salida.plantilla(salida.esCompacta() ? ARISTA_COMPACTO : ARISTA)
+			.campo(x1).campo(y1).campo(x2).campo(y2);
+	}
+
+	/**
+	 * Escribe la clase y el estilo de un elemento en el formato compacto. Los
+	 * valores iguales a los que la hoja de estilos le da al elemento se
+	 * omiten; los colores y tamaños de fuente que tienen clase se escriben
+	 * como clases, y los demás en el atributo style.
+	 *
+	 * @param salida             la salida donde se escribe el documento.
+	 * @param relleno            el color de relleno, o <code>null</code>.
+	 * @param rellenoPorOmision  el color de relleno de la hoja de estilos.
+	 * @param borde              el color del borde, o <code>null</code>.
+	 * @param bordePorOmision    el color del borde de la hoja de estilos.
+	 * @param anchoBorde         el ancho del borde, o -1 si el elemento no lo
+	 *                           define; el de la hoja de estilos es 1.
+	 * @param tamanoFuente       el tamaño de la fuente, o 0 si el elemento no
+	 *                           la define; el de la hoja de estilos es 15.
+	 */
+	protected static void estilo(SalidaSVG salida, String relleno, String rellenoPorOmision,
+								 String borde, String bordePorOmision,
+								 int anchoBorde, int tamanoFuente) {
+		boolean cambiaRelleno = relleno != null && !relleno.equals(rellenoPorOmision);
+		boolean cambiaTamano = tamanoFuente != 0 && tamanoFuente != 15;
+		String claseRelleno = cambiaRelleno ? claseColor(relleno) : null;
+		String claseTamano = cambiaTamano ? claseTamano(tamanoFuente) : null;
+
+		if (claseRelleno != null || claseTamano != null) {
+			salida.append(" class='");
+			if (claseRelleno != null)
+				salida.append(claseRelleno);
+			if (claseRelleno != null && claseTamano != null)
+				salida.append(' ');
+			if (claseTamano != null)
+				salida.append(claseTamano);
+			salida.append('\'');
+		}
+
+		boolean estiloRelleno = cambiaRelleno && claseRelleno == null;
+		boolean estiloTamano = cambiaTamano && claseTamano == null;
+		boolean estiloBorde = borde != null && !borde.equals(bordePorOmision);
+		boolean estiloAncho = anchoBorde >= 0 && anchoBorde != 1;
+		if (!estiloRelleno && !estiloTamano && !estiloBorde && !estiloAncho)
+			return;
+		salida.append(" style='");
+		char separador = 0;
+		if (estiloRelleno) {
+			salida.append("fill:").append(relleno);
+			separador = ';';
+		}
+		if (estiloTamano) {
+			if (separador != 0)
+				salida.append(separador);
+			salida.append("font-size:").entero(tamanoFuente).append("px");
+			separador = ';';
+		}
+		if (estiloBorde) {
+			if (separador != 0)
+				salida.append(separador);
+			salida.append("stroke:").append(borde);
+			separador = ';';
+		}
+		if (estiloAncho) {
+			if (separador != 0)
+				salida.append(separador);
+			salida.append("stroke-width:").entero(anchoBorde).append("px");
+		}
+		salida.append('\'');
+	}
+
+	/* Regresa la clase de la hoja de estilos para un color de relleno, o
+	 * null si no tiene. */
+	private static String claseColor(String color) {
+		switch (color) {
+			case "red":   return "r";
+			case "black": return "n";
+			case "white": return "b";
+			default:      return null;
+		}
+	}
+
+	/* Regresa la clase de la hoja de estilos para un tamaño de fuente, o
+	 * null si no tiene. */
+	private static String claseTamano(int tamano) {
+		switch (tamano) {
+			case 12: return "s12";
+			case 18: return "s18";
+			case 19: return "s19";
+			case 24: return "s24";
+			case 40: return "s40";
+			case 72: return "s72";
+			default: return null;
+		}
+	}
+
+	/**
+	 * Copia los elementos de una lista de enteros a un arreglo de enteros
+	 * primitivos, en el mismo orden.
+	 *
+	 * @param elementos la lista a copiar.
+	 * @return un arreglo con los elementos de la lista.
+	 */
+	protected static int[] enteros(Lista<Integer> elementos) {
+		int[] arreglo = new int[elementos.getElementos()];
+		int i = 0;
+		for (Integer e : elementos)
+			arreglo[i++] = e;
+		return arreglo;
 	}
 
 }
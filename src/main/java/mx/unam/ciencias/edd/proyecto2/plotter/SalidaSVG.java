@@ -0,0 +1,507 @@
+package mx.unam.ciencias.edd.proyecto2.plotter;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Salida con búfer para documentos SVG. Las gráficas escriben directamente en
+ * esta salida en lugar de concatenar cadenas, de modo que el documento nunca
+ * se materializa completo en memoria.
+ *
+ * Si la salida no tiene destino, el búfer crece conforme se escribe y el
+ * documento puede recuperarse con {@link #toString}.
+ *
+ * Si el destino es un canal, la salida escribe bytes en lugar de caracteres:
+ * los codifica en UTF-8 a mano, sin pasar por un {@link
+ * java.nio.charset.CharsetEncoder}, y los fragmentos de las plantillas ya
+ * vienen codificados. Casi todo el SVG es ASCII, así que casi todos los
+ * caracteres se copian como un solo byte. Los bytes se juntan en un búfer
+ * directo grande antes de escribirse en el canal.
+ *
+ * Una salida puede ser compacta: en ella las gráficas escriben los estilos
+ * compartidos una sola vez, en una hoja de estilos al inicio del documento,
+ * y cada elemento sólo lleva los atributos que lo distinguen.
+ *
+ * @author Luis
+ */
+public class SalidaSVG implements Appendable, Flushable, Closeable {
+
+    /* Tamaño del búfer cuando la salida tiene destino. */
+    private static final int TAMANO_BUFER = 1 << 16;
+
+    /* Tamaño del búfer directo cuando el destino es un canal. */
+    private static final int TAMANO_BUFER_DIRECTO = 1 << 20;
+
+    /* Tamaño máximo del búfer de bytes de un bloque. */
+    private static final int TAMANO_MAXIMO_BLOQUE = Integer.MAX_VALUE - 8;
+
+    /* El destino de la salida; null si la salida es en memoria o a un
+     * canal. */
+    private Writer destino;
+    /* El canal de destino; null si la salida no es a un canal. */
+    private WritableByteChannel canal;
+    /* El búfer de caracteres; null si la salida es a un canal. */
+    private char[] bufer;
+    /* El búfer de bytes si la salida es a un canal o es un bloque de una
+     * salida a un canal, y el búfer directo donde se juntan antes de
+     * escribirlos. */
+    private byte[] octetos;
+    private ByteBuffer directo;
+    /* Sustituto alto que espera a su pareja, o 0. */
+    private char sustituto;
+    /* Número de caracteres o bytes en el búfer. */
+    private int posicion;
+    /* Si la salida es compacta. */
+    private boolean compacta;
+    /* La plantilla que se está escribiendo. */
+    private Plantilla plantilla;
+    /* El índice del fragmento que sigue en la plantilla. */
+    private int campo;
+
+    /**
+     * Crea una salida en memoria.
+     */
+    public SalidaSVG() {
+        bufer = new char[1024];
+    }
+
+    /**
+     * Crea una salida que vacía su búfer en el escritor recibido.
+     *
+     * @param destino el escritor donde se escribirá el documento.
+     */
+    public SalidaSVG(Writer destino) {
+        this.destino = destino;
+        bufer = new char[TAMANO_BUFER];
+    }
+
+    /**
+     * Crea una salida que codifica el documento en UTF-8 y lo escribe en el
+     * canal recibido.
+     *
+     * @param canal el canal donde se escribirá el documento.
+     */
+    public SalidaSVG(WritableByteChannel canal) {
+        this.canal = canal;
+        octetos = new byte[TAMANO_BUFER];
+        directo = ByteBuffer.allocateDirect(TAMANO_BUFER_DIRECTO);
+    }
+
+    /**
+     * Crea un bloque para esta salida: una salida en memoria, con el mismo
+     * formato y la misma representación que ésta, cuyo contenido puede
+     * agregarse después con {@link #agrega}. Así varias partes de un
+     * documento pueden escribirse al mismo tiempo, cada una en su bloque, y
+     * juntarse en orden al final; si la salida es a un canal, cada bloque se
+     * codifica a bytes en el hilo que lo escribe.
+     *
+     * @return un bloque para esta salida.
+     */
+    public SalidaSVG bloque() {
+        SalidaSVG bloque = new SalidaSVG();
+        if (octetos != null) {
+            bloque.bufer = null;
+            bloque.octetos = new byte[1024];
+        }
+        bloque.compacta = compacta;
+        return bloque;
+    }
+
+    /**
+     * Agrega a esta salida el contenido de un bloque creado con {@link
+     * #bloque}.
+     *
+     * @param bloque el bloque a agregar.
+     * @return la salida misma.
+     */
+    public SalidaSVG agrega(SalidaSVG bloque) {
+        if (octetos == null && bloque.octetos == null) {
+            int j = 0;
+            while (j < bloque.posicion) {
+                int n = espacio(bloque.posicion - j);
+                System.arraycopy(bloque.bufer, j, bufer, posicion, n);
+                posicion += n;
+                j += n;
+            }
+            return this;
+        }
+        if (octetos == null || bloque.octetos == null)
+            return append(bloque.toString());
+        int j = 0;
+        while (j < bloque.posicion) {
+            if (posicion == octetos.length)
+                vacia();
+            int n = Math.min(bloque.posicion - j, octetos.length - posicion);
+            System.arraycopy(bloque.octetos, j, octetos, posicion, n);
+            posicion += n;
+            j += n;
+        }
+        return this;
+    }
+
+    /**
+     * Nos dice si la salida es compacta.
+     *
+     * @return <code>true</code> si la salida es compacta, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esCompacta() {
+        return compacta;
+    }
+
+    /**
+     * Define si la salida es compacta. Debe definirse antes de comenzar a
+     * escribir el documento.
+     *
+     * @param compacta si la salida es compacta.
+     */
+    public void setCompacta(boolean compacta) {
+        this.compacta = compacta;
+    }
+
+    /**
+     * Agrega una secuencia de caracteres a la salida.
+     *
+     * @param cadena la secuencia a agregar.
+     * @return la salida misma.
+     */
+    @Override public SalidaSVG append(CharSequence cadena) {
+        if (cadena == null)
+            cadena = "null";
+        return append(cadena, 0, cadena.length());
+    }
+
+    /**
+     * Agrega una subsecuencia de caracteres a la salida.
+     *
+     * @param cadena la secuencia de donde se toman los caracteres.
+     * @param inicio el índice del primer caracter a agregar.
+     * @param fin el índice siguiente al último caracter a agregar.
+     * @return la salida misma.
+     */
+    @Override public SalidaSVG append(CharSequence cadena, int inicio, int fin) {
+        if (cadena == null)
+            cadena = "null";
+        if (octetos != null)
+            return codifica(cadena, inicio, fin);
+        while (inicio < fin) {
+            int n = Math.min(fin - inicio, espacio(fin - inicio));
+            if (cadena instanceof String)
+                ((String)cadena).getChars(inicio, inicio + n, bufer, posicion);
+            else
+                for (int i = 0; i < n; i++)
+                    bufer[posicion + i] = cadena.charAt(inicio + i);
+            posicion += n;
+            inicio += n;
+        }
+        return this;
+    }
+
+    /**
+     * Agrega un caracter a la salida.
+     *
+     * @param c el caracter a agregar.
+     * @return la salida misma.
+     */
+    @Override public SalidaSVG append(char c) {
+        if (octetos != null) {
+            if (posicion + 4 > octetos.length)
+                vacia();
+            codifica(c);
+            return this;
+        }
+        espacio(1);
+        bufer[posicion++] = c;
+        return this;
+    }
+
+    /**
+     * Agrega la representación decimal de un entero a la salida. Los dígitos
+     * se escriben directamente en el búfer, sin crear cadenas.
+     *
+     * @param n el entero a agregar.
+     * @return la salida misma.
+     */
+    public SalidaSVG entero(int n) {
+        reserva(11);
+        if (n == Integer.MIN_VALUE)
+            return append("-2147483648");
+        boolean negativo = n < 0;
+        if (negativo)
+            n = -n;
+        int digitos = negativo ? 2 : 1;
+        for (int m = n; m >= 10; m /= 10)
+            digitos++;
+        int i = posicion + digitos;
+        posicion = i;
+        if (octetos != null) {
+            do {
+                octetos[--i] = (byte)('0' + n % 10);
+                n /= 10;
+            } while (n != 0);
+            if (negativo)
+                octetos[--i] = '-';
+        } else {
+            do {
+                bufer[--i] = (char)('0' + n % 10);
+                n /= 10;
+            } while (n != 0);
+            if (negativo)
+                bufer[--i] = '-';
+        }
+        return this;
+    }
+
+    /**
+     * Comienza a escribir una plantilla: agrega su primer fragmento. Cada
+     * llamada posterior a {@link #campo(int)} o {@link #campo(String)} escribe
+     * el siguiente campo seguido del fragmento que le sigue en la plantilla.
+     *
+     * @param plantilla la plantilla a escribir.
+     * @return la salida misma.
+     */
+    public SalidaSVG plantilla(Plantilla plantilla) {
+        this.plantilla = plantilla;
+        campo = 1;
+        return fragmento(0);
+    }
+
+    /**
+     * Escribe un campo entero de la plantilla en curso.
+     *
+     * @param n el valor del campo.
+     * @return la salida misma.
+     */
+    public SalidaSVG campo(int n) {
+        entero(n);
+        return fragmento(campo++);
+    }
+
+    /**
+     * Escribe un campo de texto de la plantilla en curso.
+     *
+     * @param s el valor del campo.
+     * @return la salida misma.
+     */
+    public SalidaSVG campo(String s) {
+        append(s);
+        return fragmento(campo++);
+    }
+
+    /* Escribe un fragmento de la plantilla en curso; en una salida a un
+     * canal se copian los bytes ya codificados del fragmento. */
+    private SalidaSVG fragmento(int i) {
+        if (octetos == null)
+            return append(plantilla.fragmento(i));
+        byte[] f = plantilla.octetos(i);
+        int j = 0;
+        while (j < f.length) {
+            if (posicion == octetos.length)
+                vacia();
+            int n = Math.min(f.length - j, octetos.length - posicion);
+            System.arraycopy(f, j, octetos, posicion, n);
+            posicion += n;
+            j += n;
+        }
+        return this;
+    }
+
+    /* Codifica en UTF-8 una subsecuencia de caracteres en el búfer de
+     * bytes. Los caracteres ASCII se copian en un ciclo aparte, que es el
+     * caso común. */
+    private SalidaSVG codifica(CharSequence cadena, int inicio, int fin) {
+        int i = inicio;
+        while (i < fin) {
+            if (posicion + 4 > octetos.length)
+                vacia();
+            int limite = Math.min(fin, i + octetos.length - posicion);
+            char c;
+            while (i < limite && (c = cadena.charAt(i)) < 0x80 && sustituto == 0) {
+                octetos[posicion++] = (byte)c;
+                i++;
+            }
+            if (i < fin && posicion + 4 <= octetos.length)
+                codifica(cadena.charAt(i++));
+        }
+        return this;
+    }
+
+    /* Codifica un caracter en UTF-8 en el búfer de bytes, que debe tener
+     * lugar para cuatro bytes. Un sustituto alto se guarda hasta que llegue
+     * su pareja; los sustitutos sin pareja se escriben como '?'. */
+    private void codifica(char c) {
+        if (sustituto != 0) {
+            char alto = sustituto;
+            sustituto = 0;
+            if (Character.isLowSurrogate(c)) {
+                int p = Character.toCodePoint(alto, c);
+                octetos[posicion++] = (byte)(0xf0 | (p >> 18));
+                octetos[posicion++] = (byte)(0x80 | ((p >> 12) & 0x3f));
+                octetos[posicion++] = (byte)(0x80 | ((p >> 6) & 0x3f));
+                octetos[posicion++] = (byte)(0x80 | (p & 0x3f));
+                return;
+            }
+            octetos[posicion++] = '?';
+            if (posicion + 4 > octetos.length)
+                vacia();
+        }
+        if (c < 0x80) {
+            octetos[posicion++] = (byte)c;
+        } else if (c < 0x800) {
+            octetos[posicion++] = (byte)(0xc0 | (c >> 6));
+            octetos[posicion++] = (byte)(0x80 | (c & 0x3f));
+        } else if (Character.isHighSurrogate(c)) {
+            sustituto = c;
+        } else if (Character.isLowSurrogate(c)) {
+            octetos[posicion++] = '?';
+        } else {
+            octetos[posicion++] = (byte)(0xe0 | (c >> 12));
+            octetos[posicion++] = (byte)(0x80 | ((c >> 6) & 0x3f));
+            octetos[posicion++] = (byte)(0x80 | (c & 0x3f));
+        }
+    }
+
+    /* Garantiza que haya lugar contiguo en el búfer para n caracteres. */
+    private void reserva(int n) {
+        if (posicion + n <= (octetos != null ? octetos.length : bufer.length))
+            return;
+        if (octetos == null && destino == null)
+            espacio(n);
+        else
+            vacia();
+    }
+
+    /* Garantiza que haya lugar en el búfer para al menos un caracter y a lo
+     * más n; regresa cuántos caracteres caben. */
+    private int espacio(int n) {
+        if (posicion + n <= bufer.length)
+            return n;
+        if (destino == null) {
+            int nuevo = Math.max(bufer.length * 2, posicion + n);
+            char[] b = new char[nuevo];
+            System.arraycopy(bufer, 0, b, 0, posicion);
+            bufer = b;
+            return n;
+        }
+        if (posicion == bufer.length)
+            vacia();
+        return Math.min(n, bufer.length - posicion);
+    }
+
+    /* Escribe el contenido del búfer en el destino. En una salida a un
+     * canal, los bytes pasan al búfer directo, que se escribe en el canal
+     * cuando se llena; en un bloque, el búfer de bytes crece. */
+    private void vacia() {
+        if (octetos != null && canal == null) {
+            if (octetos.length == TAMANO_MAXIMO_BLOQUE)
+                throw new OutOfMemoryError("Bloque demasiado grande.");
+            octetos = Arrays.copyOf(octetos, (int)Math.min(octetos.length * 2L,
+                                                           TAMANO_MAXIMO_BLOQUE));
+            return;
+        }
+        if (canal != null) {
+            int j = 0;
+            while (j < posicion) {
+                if (!directo.hasRemaining())
+                    escribeDirecto();
+                int n = Math.min(posicion - j, directo.remaining());
+                directo.put(octetos, j, n);
+                j += n;
+            }
+            posicion = 0;
+            return;
+        }
+        try {
+            destino.write(bufer, 0, posicion);
+            posicion = 0;
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /* Escribe el búfer directo en el canal y lo vacía. */
+    private void escribeDirecto() {
+        directo.flip();
+        try {
+            while (directo.hasRemaining())
+                canal.write(directo);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        } finally {
+            directo.clear();
+        }
+    }
+
+    /**
+     * Escribe el contenido del búfer en el destino y lo vacía.
+     *
+     * @throws UncheckedIOException si ocurre un error al escribir.
+     */
+    @Override public void flush() {
+        if (destino == null && canal == null)
+            return;
+        vacia();
+        if (canal != null) {
+            escribeDirecto();
+            return;
+        }
+        try {
+            destino.flush();
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /**
+     * Vacía el búfer y cierra el destino.
+     *
+     * @throws UncheckedIOException si ocurre un error al escribir.
+     */
+    @Override public void close() {
+        if (destino == null && canal == null)
+            return;
+        flush();
+        try {
+            if (canal != null)
+                canal.close();
+            else
+                destino.close();
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /**
+     * Cambia el canal de una salida a un canal, que ya debe estar cerrada.
+     * Así una salida, con sus búferes, se reutiliza para escribir varios
+     * documentos seguidos.
+     *
+     * @param canal el nuevo canal donde se escribirá el documento.
+     * @throws IllegalStateException si la salida no es a un canal, o si aún
+     *         tiene bytes sin escribir.
+     */
+    public void setCanal(WritableByteChannel canal) {
+        if (this.canal == null || posicion != 0 || directo.position() != 0)
+            throw new IllegalStateException("La salida no es a un canal o no está cerrada.");
+        this.canal = canal;
+    }
+
+    /**
+     * Regresa el contenido del búfer. En una salida en memoria es el documento
+     * completo.
+     *
+     * @return el contenido del búfer.
+     */
+    @Override public String toString() {
+        if (octetos != null)
+            return new String(octetos, 0, posicion, StandardCharsets.UTF_8);
+        return new String(bufer, 0, posicion);
+    }
+}
@@ -0,0 +1,123 @@
+package mx.unam.ciencias.edd;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link TablaDispersion}. Está en
+ * el paquete de la tabla porque la clase no es pública.
+ */
+public class TestTablaDispersion {
+
+    /** Expiración para que ninguna prueba tarde más de 10 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(10);
+
+    /* Generador de números aleatorios. */
+    private Random random = new Random(2028);
+
+    /* Llave con pocos códigos de dispersión distintos, para que haya grupos
+     * largos de colisiones. */
+    private static class Llave {
+
+        /* El valor de la llave. */
+        private int valor;
+
+        /* Crea una llave con el valor recibido. */
+        public Llave(int valor) {
+            this.valor = valor;
+        }
+
+        @Override public boolean equals(Object objeto) {
+            return objeto instanceof Llave && ((Llave)objeto).valor == valor;
+        }
+
+        @Override public int hashCode() {
+            return valor % 7;
+        }
+    }
+
+    /**
+     * Prueba la tabla contra {@link HashMap} con agregados, reemplazos,
+     * eliminaciones y limpiezas al azar.
+     */
+    @Test public void testContraHashMap() {
+        TablaDispersion<Integer, Integer> tabla = new TablaDispersion<>(1);
+        Map<Integer, Integer> modelo = new HashMap<>();
+        for (int i = 0; i < 200000; i++) {
+            int llave = random.nextInt(2000);
+            int operacion = random.nextInt(1000);
+            if (operacion == 0) {
+                tabla.limpia();
+                modelo.clear();
+            } else if (operacion < 550) {
+                tabla.agrega(llave, i);
+                modelo.put(llave, i);
+            } else {
+                tabla.elimina(llave);
+                modelo.remove(llave);
+            }
+            Assert.assertEquals(modelo.size(), tabla.getElementos());
+            Assert.assertEquals(modelo.get(llave), tabla.get(llave));
+            Assert.assertEquals(modelo.containsKey(llave), tabla.contiene(llave));
+            if (i % 1000 == 0)
+                verifica(tabla, modelo, 2000);
+        }
+        verifica(tabla, modelo, 2000);
+    }
+
+    /**
+     * Prueba que la tabla funcione con muchas llaves que chocan, en especial
+     * al eliminar entradas de grupos que dan la vuelta al arreglo.
+     */
+    @Test public void testColisiones() {
+        TablaDispersion<Llave, Integer> tabla = new TablaDispersion<>(4);
+        Map<Llave, Integer> modelo = new HashMap<>();
+        for (int i = 0; i < 50000; i++) {
+            Llave llave = new Llave(random.nextInt(300));
+            if (random.nextInt(10) < 6) {
+                tabla.agrega(llave, i);
+                modelo.put(llave, i);
+            } else {
+                tabla.elimina(llave);
+                modelo.remove(llave);
+            }
+            Assert.assertEquals(modelo.size(), tabla.getElementos());
+            Assert.assertEquals(modelo.get(llave), tabla.get(llave));
+        }
+        for (int v = 0; v < 300; v++) {
+            Llave llave = new Llave(v);
+            Assert.assertEquals(modelo.get(llave), tabla.get(llave));
+        }
+    }
+
+    /**
+     * Prueba que la tabla no acepte a <code>null</code> como llave, pero que
+     * buscarla o eliminarla no haga nada.
+     */
+    @Test public void testLlaveNula() {
+        TablaDispersion<Integer, Integer> tabla = new TablaDispersion<>(1);
+        tabla.agrega(1, 1);
+        Assert.assertNull(tabla.get(null));
+        Assert.assertFalse(tabla.contiene(null));
+        tabla.elimina(null);
+        Assert.assertEquals(1, tabla.getElementos());
+        try {
+            tabla.agrega(null, 2);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /* Verifica cada llave del intervalo [0, n) contra el modelo. */
+    private static void verifica(TablaDispersion<Integer, Integer> tabla,
+                                 Map<Integer, Integer> modelo, int n) {
+        for (int llave = 0; llave < n; llave++) {
+            Assert.assertEquals(modelo.get(llave), tabla.get(llave));
+            Assert.assertEquals(modelo.containsKey(llave), tabla.contiene(llave));
+        }
+    }
+}
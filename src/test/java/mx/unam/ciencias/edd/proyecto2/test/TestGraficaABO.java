@@ -0,0 +1,115 @@
+package mx.unam.ciencias.edd.proyecto2.test;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import mx.unam.ciencias.edd.ArbolBinarioOrdenado;
+import mx.unam.ciencias.edd.proyecto2.plotter.GraficaABO;
+import mx.unam.ciencias.edd.proyecto2.plotter.SalidaSVG;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link GraficaABO}.
+ */
+public class TestGraficaABO {
+
+    /** Expiración para que ninguna prueba tarde más de 60 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(60);
+
+    /* Tamaño de la pila del hilo que dibuja: muy lejos de lo que necesitaría
+     * un recorrido recursivo de un árbol degenerado. */
+    private static final long PILA = 256 * 1024;
+
+    /**
+     * Prueba que un árbol de un millón de elementos agregados en orden, que
+     * es una lista de un millón de niveles, se dibuje completo en un hilo
+     * con una pila pequeña.
+     */
+    @Test public void testArbolDegenerado() throws Throwable {
+        int n = 1000000;
+        ArbolBinarioOrdenado<Integer> arbol = new ArbolBinarioOrdenado<>();
+        for (int i = 0; i < n; i++)
+            arbol.agrega(i);
+        Assert.assertEquals(n - 1, arbol.altura());
+
+        CanalContador canal = new CanalContador("<circle");
+        Throwable[] error = new Throwable[1];
+        Thread hilo = new Thread(null, () -> {
+                try {
+                    SalidaSVG salida = new SalidaSVG(canal);
+                    new GraficaABO().dibujaABO(arbol, salida);
+                    salida.close();
+                } catch (Throwable t) {
+                    error[0] = t;
+                }
+            }, "dibujo", PILA);
+        hilo.start();
+        hilo.join();
+        if (error[0] != null)
+            throw error[0];
+
+        Assert.assertFalse(canal.isOpen());
+        Assert.assertEquals(n, canal.apariciones);
+        Assert.assertTrue(canal.cola().trim().endsWith("</svg>"));
+    }
+
+    /* Canal que descarta lo que recibe, pero cuenta las apariciones de un
+     * patrón sin prefijos que sean sufijos, y guarda los últimos bytes. */
+    private static class CanalContador implements WritableByteChannel {
+
+        /* El patrón. */
+        private byte[] patron;
+        /* Cuántos bytes del patrón coinciden con los últimos recibidos. */
+        private int coincidencia;
+        /* Las apariciones del patrón. */
+        private int apariciones;
+        /* Los últimos bytes recibidos. */
+        private byte[] ultimos = new byte[64];
+        /* El número de bytes recibidos. */
+        private long recibidos;
+        /* Si el canal está abierto. */
+        private boolean abierto = true;
+
+        /* Crea un canal que cuenta las apariciones del patrón. */
+        public CanalContador(String patron) {
+            this.patron = patron.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override public int write(ByteBuffer origen) {
+            int n = origen.remaining();
+            while (origen.hasRemaining()) {
+                byte b = origen.get();
+                ultimos[(int)(recibidos++ % ultimos.length)] = b;
+                if (b == patron[coincidencia]) {
+                    if (++coincidencia == patron.length) {
+                        apariciones++;
+                        coincidencia = 0;
+                    }
+                } else {
+                    coincidencia = b == patron[0] ? 1 : 0;
+                }
+            }
+            return n;
+        }
+
+        /* Regresa los últimos bytes recibidos. */
+        public String cola() {
+            int n = (int)Math.min(recibidos, ultimos.length);
+            byte[] cola = new byte[n];
+            for (int i = 0; i < n; i++)
+                cola[i] = ultimos[(int)((recibidos - n + i) % ultimos.length)];
+            return new String(cola, StandardCharsets.UTF_8);
+        }
+
+        @Override public boolean isOpen() {
+            return abierto;
+        }
+
+        @Override public void close() {
+            abierto = false;
+        }
+    }
+}
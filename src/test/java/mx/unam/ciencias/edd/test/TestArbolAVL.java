@@ -0,0 +1,97 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import mx.unam.ciencias.edd.ArbolAVL;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.VerticeArbolBinario;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ArbolAVL}.
+ */
+public class TestArbolAVL {
+
+    /** Expiración para que ninguna prueba tarde más de 10 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(10);
+
+    /* Generador de números aleatorios. */
+    private Random random = new Random(2025);
+
+    /**
+     * Prueba que el árbol siga balanceado, ordenado y con alturas correctas
+     * con agregados y eliminaciones mezclados, incluyendo corridas ordenadas.
+     */
+    @Test public void testOperacionesMixtas() {
+        ArbolAVL<Integer> arbol = new ArbolAVL<>();
+        VerificaArboles.operacionesMixtas(arbol, random, 300, modelo -> {
+                VerificaArboles.verificaOrden(arbol, modelo);
+                verificaAVL(arbol);
+            });
+    }
+
+    /**
+     * Prueba que una corrida creciente larga deje al árbol con altura
+     * logarítmica.
+     */
+    @Test public void testCorridaCreciente() {
+        ArbolAVL<Integer> arbol = new ArbolAVL<>();
+        int n = 100000;
+        for (int i = 0; i < n; i++)
+            arbol.agrega(i);
+        verificaAVL(arbol);
+        /* La altura de un árbol AVL es menor que 1.44 log2(n + 2). */
+        Assert.assertTrue(arbol.altura() < 1.45 * Math.log(n + 2) / Math.log(2));
+        for (int i = 0; i < n; i += 2)
+            arbol.elimina(i);
+        verificaAVL(arbol);
+        Assert.assertEquals(n / 2, arbol.getElementos());
+    }
+
+    /**
+     * Prueba los constructores que reciben elementos ordenados.
+     */
+    @Test public void testConstructoresOrdenados() {
+        for (int n = 0; n <= 130; n++) {
+            Integer[] ordenados = TestArbolBinarioOrdenado.ordenados(n);
+            Lista<Integer> lista = new Lista<>();
+            for (int i = n - 1; i >= 0; i--)
+                lista.agrega(ordenados[i]);
+            List<Integer> esperados = Arrays.asList(ordenados);
+
+            ArbolAVL<Integer> arbol = new ArbolAVL<>(ordenados);
+            VerificaArboles.verificaOrden(arbol, esperados);
+            verificaAVL(arbol);
+            arbol = new ArbolAVL<>(lista, false);
+            VerificaArboles.verificaOrden(arbol, esperados);
+            verificaAVL(arbol);
+            if (n > 0)
+                Assert.assertEquals(VerificaArboles.alturaMinima(n), arbol.altura());
+
+            /* El árbol construido sigue balanceándose. */
+            for (int i = 0; i < n; i++)
+                arbol.agrega(random.nextInt(n));
+            verificaAVL(arbol);
+        }
+        try {
+            new ArbolAVL<>(new Integer[] { 2, 1 });
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /* Verifica la estructura del árbol y que cada vértice esté balanceado. */
+    private static void verificaAVL(ArbolAVL<Integer> arbol) {
+        Map<VerticeArbolBinario<Integer>, Integer> alturas =
+            VerificaArboles.verificaEstructura(arbol);
+        for (VerticeArbolBinario<Integer> v : alturas.keySet()) {
+            int izquierda = v.hayIzquierdo() ? alturas.get(v.izquierdo()) : -1;
+            int derecha = v.hayDerecho() ? alturas.get(v.derecho()) : -1;
+            Assert.assertTrue(Math.abs(izquierda - derecha) <= 1);
+        }
+    }
+}
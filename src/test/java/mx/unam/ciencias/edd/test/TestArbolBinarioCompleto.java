@@ -0,0 +1,105 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import mx.unam.ciencias.edd.ArbolBinarioCompleto;
+import mx.unam.ciencias.edd.VerticeArbolBinario;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ArbolBinarioCompleto}.
+ */
+public class TestArbolBinarioCompleto {
+
+    /** Expiración para que ninguna prueba tarde más de 10 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(10);
+
+    /* Generador de números aleatorios. */
+    private Random random = new Random(2027);
+
+    /**
+     * Prueba que el recorrido BFS, el iterador y la forma del árbol sean los
+     * esperados después de agregar y eliminar elementos. Al eliminar, el
+     * último elemento en BFS toma el lugar del eliminado.
+     */
+    @Test public void testAgregaElimina() {
+        ArbolBinarioCompleto<Integer> arbol = new ArbolBinarioCompleto<>();
+        List<Integer> modelo = new ArrayList<>();
+        int siguiente = 0;
+        for (int ronda = 0; ronda < 200; ronda++) {
+            int n = random.nextInt(40);
+            if (random.nextBoolean()) {
+                for (int i = 0; i < n; i++) {
+                    arbol.agrega(siguiente);
+                    modelo.add(siguiente++);
+                }
+            } else {
+                for (int i = 0; i < n && !modelo.isEmpty(); i++) {
+                    int j = random.nextInt(modelo.size());
+                    arbol.elimina(modelo.get(j));
+                    int ultimo = modelo.remove(modelo.size() - 1);
+                    if (j < modelo.size())
+                        modelo.set(j, ultimo);
+                }
+                /* Eliminar un elemento que no está no hace nada. */
+                arbol.elimina(-1);
+            }
+            verifica(arbol, modelo);
+        }
+        while (!modelo.isEmpty()) {
+            arbol.elimina(modelo.get(0));
+            int ultimo = modelo.remove(modelo.size() - 1);
+            if (!modelo.isEmpty())
+                modelo.set(0, ultimo);
+            verifica(arbol, modelo);
+        }
+        arbol.agrega(7);
+        modelo.add(7);
+        verifica(arbol, modelo);
+        arbol.limpia();
+        modelo.clear();
+        verifica(arbol, modelo);
+    }
+
+    /**
+     * Prueba que agregar <code>null</code> lance una excepción.
+     */
+    @Test(expected=IllegalArgumentException.class)
+    public void testAgregaNulo() {
+        new ArbolBinarioCompleto<Integer>().agrega(null);
+    }
+
+    /* Verifica que el BFS y el iterador recorran el modelo, que el vértice
+     * en el índice i tenga sus hijos en 2i + 1 y 2i + 2, y las alturas. */
+    private static void verifica(ArbolBinarioCompleto<Integer> arbol,
+                                 List<Integer> modelo) {
+        List<VerticeArbolBinario<Integer>> vertices = new ArrayList<>();
+        arbol.bfs(v -> vertices.add(v));
+        List<Integer> elementos = new ArrayList<>();
+        for (VerticeArbolBinario<Integer> v : vertices)
+            elementos.add(v.get());
+        Assert.assertEquals(modelo, elementos);
+        List<Integer> iterados = new ArrayList<>();
+        for (Integer e : arbol)
+            iterados.add(e);
+        Assert.assertEquals(modelo, iterados);
+
+        int n = vertices.size();
+        for (int i = 0; i < n; i++) {
+            VerticeArbolBinario<Integer> v = vertices.get(i);
+            Assert.assertEquals(2 * i + 1 < n, v.hayIzquierdo());
+            Assert.assertEquals(2 * i + 2 < n, v.hayDerecho());
+            if (v.hayIzquierdo())
+                Assert.assertSame(vertices.get(2 * i + 1), v.izquierdo());
+            if (v.hayDerecho())
+                Assert.assertSame(vertices.get(2 * i + 2), v.derecho());
+        }
+        VerificaArboles.verificaEstructura(arbol);
+        if (n > 0)
+            Assert.assertEquals(VerificaArboles.alturaMinima(n), arbol.altura());
+    }
+}
@@ -0,0 +1,221 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import mx.unam.ciencias.edd.ArbolBinarioOrdenado;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.VerticeArbolBinario;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ArbolBinarioOrdenado}.
+ */
+public class TestArbolBinarioOrdenado {
+
+    /** Expiración para que ninguna prueba tarde más de 10 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(10);
+
+    /* Generador de números aleatorios. */
+    private Random random = new Random(2024);
+
+    /**
+     * Prueba que el árbol conserve su orden, los padres de sus vértices y sus
+     * alturas con agregados y eliminaciones mezclados, incluyendo corridas
+     * ordenadas que usan la inserción por dedo.
+     */
+    @Test public void testOperacionesMixtas() {
+        ArbolBinarioOrdenado<Integer> arbol = new ArbolBinarioOrdenado<>();
+        VerificaArboles.operacionesMixtas(arbol, random, 300, modelo -> {
+                VerificaArboles.verificaOrden(arbol, modelo);
+                VerificaArboles.verificaEstructura(arbol);
+            });
+    }
+
+    /**
+     * Prueba que una corrida creciente agregue cada elemento como hijo
+     * derecho del anterior, y que las alturas se actualicen.
+     */
+    @Test public void testCorridaCreciente() {
+        ArbolBinarioOrdenado<Integer> arbol = new ArbolBinarioOrdenado<>();
+        int n = 5000;
+        for (int i = 0; i < n; i++) {
+            arbol.agrega(i);
+            VerticeArbolBinario<Integer> v = arbol.getUltimoVerticeAgregado();
+            Assert.assertEquals(Integer.valueOf(i), v.get());
+            Assert.assertEquals(i, v.profundidad());
+        }
+        Assert.assertEquals(n - 1, arbol.altura());
+        VerificaArboles.verificaEstructura(arbol);
+        arbol.agrega(n / 2);
+        Assert.assertEquals(n - 1, arbol.altura());
+        arbol.agrega(n);
+        Assert.assertEquals(n, arbol.altura());
+        VerificaArboles.verificaEstructura(arbol);
+    }
+
+    /**
+     * Prueba que los recorridos DFS visiten los vértices en el orden
+     * esperado, también en un árbol degenerado.
+     */
+    @Test public void testDfs() {
+        ArbolBinarioOrdenado<Integer> arbol = new ArbolBinarioOrdenado<>();
+        for (int i = 0; i < 500; i++)
+            arbol.agrega(random.nextInt(100));
+        for (int i = 0; i < 5000; i++)
+            arbol.agrega(1000 - i);
+        List<Integer> pre = new ArrayList<>();
+        for (VerticeArbolBinario<Integer> v : VerificaArboles.preOrden(arbol))
+            pre.add(v.get());
+        List<Integer> visitados = new ArrayList<>();
+        arbol.dfsPreOrder(v -> visitados.add(v.get()));
+        Assert.assertEquals(pre, visitados);
+
+        visitados.clear();
+        arbol.dfsInOrder(v -> visitados.add(v.get()));
+        Assert.assertEquals(VerificaArboles.inOrden(arbol), visitados);
+
+        Map<VerticeArbolBinario<Integer>, Integer> post = new IdentityHashMap<>();
+        arbol.dfsPostOrder(v -> post.put(v, post.size()));
+        Assert.assertEquals(arbol.getElementos(), post.size());
+        /* En post-orden cada vértice aparece después de sus hijos, y la raíz
+         * al final. */
+        Assert.assertEquals(post.size() - 1, (int)post.get(arbol.raiz()));
+        for (VerticeArbolBinario<Integer> v : post.keySet())
+            if (v.hayPadre())
+                Assert.assertTrue(post.get(v.padre()) > post.get(v));
+    }
+
+    /**
+     * Prueba que los giros conserven el orden, los padres y las alturas.
+     */
+    @Test public void testGiros() {
+        ArbolBinarioOrdenado<Integer> arbol = new ArbolBinarioOrdenado<>();
+        List<Integer> modelo = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int e = random.nextInt(100);
+            arbol.agrega(e);
+            modelo.add(e);
+        }
+        Collections.sort(modelo);
+        for (int i = 0; i < 500; i++) {
+            List<VerticeArbolBinario<Integer>> vertices = VerificaArboles.preOrden(arbol);
+            VerticeArbolBinario<Integer> v = vertices.get(random.nextInt(vertices.size()));
+            if (random.nextBoolean())
+                arbol.giraDerecha(v);
+            else
+                arbol.giraIzquierda(v);
+            VerificaArboles.verificaOrden(arbol, modelo);
+            VerificaArboles.verificaEstructura(arbol);
+        }
+    }
+
+    /**
+     * Prueba el constructor que recibe un arreglo ordenado.
+     */
+    @Test public void testConstructorArreglo() {
+        for (int n = 0; n <= 130; n++) {
+            Integer[] ordenados = ordenados(n);
+            ArbolBinarioOrdenado<Integer> arbol = new ArbolBinarioOrdenado<>(ordenados);
+            verificaBalanceado(arbol, Arrays.asList(ordenados));
+        }
+        ArbolBinarioOrdenado<Integer> arbol =
+            new ArbolBinarioOrdenado<>(new Integer[] { 1, 1, 2, 2, 2, 3 });
+        verificaBalanceado(arbol, Arrays.asList(1, 1, 2, 2, 2, 3));
+    }
+
+    /**
+     * Prueba el constructor que recibe una lista, ordenada o no.
+     */
+    @Test public void testConstructorLista() {
+        for (int n = 0; n <= 130; n++) {
+            Integer[] ordenados = ordenados(n);
+            Lista<Integer> lista = new Lista<>();
+            for (Integer e : ordenados)
+                lista.agrega(e);
+            verificaBalanceado(new ArbolBinarioOrdenado<>(lista, true),
+                               Arrays.asList(ordenados));
+
+            List<Integer> revueltos = new ArrayList<>(Arrays.asList(ordenados));
+            Collections.shuffle(revueltos, random);
+            Lista<Integer> desordenada = new Lista<>();
+            for (Integer e : revueltos)
+                desordenada.agrega(e);
+            verificaBalanceado(new ArbolBinarioOrdenado<>(desordenada, false),
+                               Arrays.asList(ordenados));
+            Assert.assertEquals(n, desordenada.getLongitud());
+        }
+    }
+
+    /**
+     * Prueba que los constructores rechacen elementos desordenados o nulos.
+     */
+    @Test public void testConstructoresInvalidos() {
+        try {
+            new ArbolBinarioOrdenado<>(new Integer[] { 1, 3, 2 });
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new ArbolBinarioOrdenado<>(new Integer[] { 1, null, 2 });
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Lista<Integer> lista = new Lista<>();
+        lista.agrega(2);
+        lista.agrega(1);
+        try {
+            new ArbolBinarioOrdenado<>(lista, true);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba que un árbol construido balanceado siga funcionando como árbol
+     * binario ordenado.
+     */
+    @Test public void testAgregaDespuesDeConstruir() {
+        Integer[] pares = new Integer[100];
+        for (int i = 0; i < pares.length; i++)
+            pares[i] = 2 * i;
+        ArbolBinarioOrdenado<Integer> arbol = new ArbolBinarioOrdenado<>(pares);
+        List<Integer> modelo = new ArrayList<>(Arrays.asList(pares));
+        for (int i = 0; i < 100; i++) {
+            arbol.agrega(2 * i + 1);
+            modelo.add(2 * i + 1);
+        }
+        Collections.sort(modelo);
+        VerificaArboles.verificaOrden(arbol, modelo);
+        VerificaArboles.verificaEstructura(arbol);
+        for (int i = 0; i < 200; i += 3) {
+            arbol.elimina(i);
+            modelo.remove(Integer.valueOf(i));
+        }
+        VerificaArboles.verificaOrden(arbol, modelo);
+        VerificaArboles.verificaEstructura(arbol);
+    }
+
+    /* Regresa un arreglo ordenado de n enteros, algunos repetidos. */
+    static Integer[] ordenados(int n) {
+        Integer[] ordenados = new Integer[n];
+        for (int i = 0; i < n; i++)
+            ordenados[i] = i - i % 3 / 2;
+        return ordenados;
+    }
+
+    /* Verifica que el árbol tenga los elementos recibidos y altura mínima. */
+    private static void verificaBalanceado(ArbolBinarioOrdenado<Integer> arbol,
+                                           List<Integer> ordenados) {
+        Assert.assertEquals(ordenados.size(), arbol.getElementos());
+        VerificaArboles.verificaOrden(arbol, ordenados);
+        VerificaArboles.verificaEstructura(arbol);
+        if (!ordenados.isEmpty())
+            Assert.assertEquals(VerificaArboles.alturaMinima(ordenados.size()),
+                                arbol.altura());
+    }
+}
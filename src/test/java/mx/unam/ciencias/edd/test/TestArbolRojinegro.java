@@ -0,0 +1,119 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import mx.unam.ciencias.edd.Color;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.VerticeArbolBinario;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ArbolRojinegro}.
+ */
+public class TestArbolRojinegro {
+
+    /** Expiración para que ninguna prueba tarde más de 10 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(10);
+
+    /* Generador de números aleatorios. */
+    private Random random = new Random(2026);
+
+    /**
+     * Prueba que el árbol cumpla las propiedades rojinegras, siga ordenado y
+     * con alturas correctas con agregados y eliminaciones mezclados,
+     * incluyendo corridas ordenadas.
+     */
+    @Test public void testOperacionesMixtas() {
+        ArbolRojinegro<Integer> arbol = new ArbolRojinegro<>();
+        VerificaArboles.operacionesMixtas(arbol, random, 300, modelo -> {
+                VerificaArboles.verificaOrden(arbol, modelo);
+                verificaRojinegro(arbol);
+            });
+    }
+
+    /**
+     * Prueba que una corrida creciente larga deje al árbol con altura
+     * logarítmica.
+     */
+    @Test public void testCorridaCreciente() {
+        ArbolRojinegro<Integer> arbol = new ArbolRojinegro<>();
+        int n = 100000;
+        for (int i = 0; i < n; i++)
+            arbol.agrega(i);
+        verificaRojinegro(arbol);
+        /* La altura de un árbol rojinegro es a lo más 2 log2(n + 1). */
+        Assert.assertTrue(arbol.altura() <= 2 * Math.log(n + 1) / Math.log(2));
+        for (int i = 0; i < n; i += 2)
+            arbol.elimina(i);
+        verificaRojinegro(arbol);
+        Assert.assertEquals(n / 2, arbol.getElementos());
+    }
+
+    /**
+     * Prueba los constructores que reciben elementos ordenados.
+     */
+    @Test public void testConstructoresOrdenados() {
+        for (int n = 0; n <= 130; n++) {
+            Integer[] ordenados = TestArbolBinarioOrdenado.ordenados(n);
+            Lista<Integer> lista = new Lista<>();
+            for (Integer e : ordenados)
+                lista.agrega(e);
+            List<Integer> esperados = Arrays.asList(ordenados);
+
+            ArbolRojinegro<Integer> arbol = new ArbolRojinegro<>(ordenados);
+            VerificaArboles.verificaOrden(arbol, esperados);
+            verificaRojinegro(arbol);
+            arbol = new ArbolRojinegro<>(lista, true);
+            VerificaArboles.verificaOrden(arbol, esperados);
+            verificaRojinegro(arbol);
+            if (n > 0)
+                Assert.assertEquals(VerificaArboles.alturaMinima(n), arbol.altura());
+
+            /* El árbol construido sigue balanceándose. */
+            for (int i = 0; i < n; i++)
+                if (random.nextBoolean())
+                    arbol.agrega(random.nextInt(n));
+                else
+                    arbol.elimina(random.nextInt(n));
+            verificaRojinegro(arbol);
+        }
+        try {
+            new ArbolRojinegro<>(new Integer[] { 2, null });
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /* Verifica la estructura del árbol, que la raíz sea negra, que ningún
+     * vértice rojo tenga hijos rojos, y que todos los caminos de la raíz a
+     * un subárbol vacío tengan el mismo número de vértices negros. */
+    private static void verificaRojinegro(ArbolRojinegro<Integer> arbol) {
+        VerificaArboles.verificaEstructura(arbol);
+        if (arbol.esVacia())
+            return;
+        Assert.assertEquals(Color.NEGRO, arbol.getColor(arbol.raiz()));
+        int negros = -1;
+        for (VerticeArbolBinario<Integer> v : VerificaArboles.preOrden(arbol)) {
+            Color color = arbol.getColor(v);
+            Assert.assertTrue(color == Color.ROJO || color == Color.NEGRO);
+            if (color == Color.ROJO && v.hayPadre())
+                Assert.assertEquals(Color.NEGRO, arbol.getColor(v.padre()));
+            if (v.hayIzquierdo() && v.hayDerecho())
+                continue;
+            int n = 0;
+            for (VerticeArbolBinario<Integer> u = v; ; u = u.padre()) {
+                if (arbol.getColor(u) == Color.NEGRO)
+                    n++;
+                if (!u.hayPadre())
+                    break;
+            }
+            if (negros < 0)
+                negros = n;
+            Assert.assertEquals(negros, n);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Arrays;
+import java.util.Random;
+import mx.unam.ciencias.edd.Arreglos;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de los ordenamientos y búsquedas de arreglos
+ * primitivos de la clase {@link Arreglos}.
+ */
+public class TestArreglos {
+
+    /** Expiración para que ninguna prueba tarde más de 10 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(10);
+
+    /* Generador de números aleatorios. */
+    private Random random = new Random(2031);
+
+    /**
+     * Prueba RadixSort contra {@link Arrays#sort(int[])} con enteros
+     * cualesquiera, con pocos valores distintos, y con los extremos.
+     */
+    @Test public void testRadixSort() {
+        for (int n = 0; n < 600; n += 1 + n / 4) {
+            int[] cualesquiera = new int[n];
+            int[] pocos = new int[n];
+            int[] extremos = new int[n];
+            for (int i = 0; i < n; i++) {
+                cualesquiera[i] = random.nextInt();
+                pocos[i] = random.nextInt(7) - 3;
+                int k = random.nextInt(4);
+                extremos[i] = k == 0 ? Integer.MIN_VALUE :
+                    k == 1 ? Integer.MAX_VALUE : k == 2 ? -1 : 0;
+            }
+            verificaRadix(cualesquiera);
+            verificaRadix(pocos);
+            verificaRadix(extremos);
+        }
+        int[] iguales = new int[1000];
+        for (int v : new int[] { Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE }) {
+            Arrays.fill(iguales, v);
+            verificaRadix(iguales);
+        }
+        verificaRadix(new int[] { Integer.MAX_VALUE, Integer.MIN_VALUE });
+        verificaRadix(new int[] { 0x100, 0x1, 0x10000, 0x1000000, -0x100 });
+    }
+
+    /**
+     * Prueba QuickSort de dobles contra {@link Arrays#sort(double[])} con
+     * arreglos llenos de NaN, infinitos y ceros con signo. Los NaN deben
+     * quedar al final.
+     */
+    @Test public void testQuickSortDoubleConNaN() {
+        double[] especiales = {
+            Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+            0.0, -0.0, Double.MIN_VALUE, -Double.MAX_VALUE, Double.MAX_VALUE
+        };
+        for (int n = 0; n < 600; n += 1 + n / 4) {
+            double[] arreglo = new double[n];
+            double[] soloNaN = new double[n];
+            for (int i = 0; i < n; i++) {
+                int k = random.nextInt(4);
+                arreglo[i] = k == 0 ? especiales[random.nextInt(especiales.length)] :
+                    k == 1 ? random.nextInt(10) : random.nextGaussian();
+                soloNaN[i] = Double.NaN;
+            }
+            verificaQuickSort(arreglo);
+            verificaQuickSort(soloNaN);
+        }
+        /* Arreglos ordenados, al revés y con muchos repetidos. */
+        int n = 5000;
+        double[] creciente = new double[n], decreciente = new double[n];
+        double[] repetidos = new double[n];
+        for (int i = 0; i < n; i++) {
+            creciente[i] = i % 97 == 0 ? Double.NaN : i;
+            decreciente[i] = n - i;
+            repetidos[i] = i % 3;
+        }
+        verificaQuickSort(creciente);
+        verificaQuickSort(decreciente);
+        verificaQuickSort(repetidos);
+    }
+
+    /* Ordena una copia del arreglo con RadixSort y la compara con
+     * Arrays.sort; después busca cada elemento y algunos que no están. */
+    private void verificaRadix(int[] arreglo) {
+        int[] esperado = arreglo.clone();
+        Arrays.sort(esperado);
+        int[] ordenado = arreglo.clone();
+        Arreglos.radixSort(ordenado);
+        Assert.assertArrayEquals(esperado, ordenado);
+        for (int i = 0; i < 50; i++) {
+            int e = random.nextBoolean() && ordenado.length > 0 ?
+                ordenado[random.nextInt(ordenado.length)] : random.nextInt();
+            int j = Arreglos.busquedaBinaria(ordenado, e);
+            Assert.assertEquals(Arrays.binarySearch(esperado, e) >= 0, j >= 0);
+            if (j >= 0)
+                Assert.assertEquals(e, ordenado[j]);
+        }
+    }
+
+    /* Ordena una copia del arreglo con QuickSort y la compara con
+     * Arrays.sort. Los ceros con signo son iguales para el ordenamiento, así
+     * que se comparan con ==. */
+    private void verificaQuickSort(double[] arreglo) {
+        double[] esperado = arreglo.clone();
+        Arrays.sort(esperado);
+        double[] ordenado = arreglo.clone();
+        Arreglos.quickSort(ordenado);
+        for (int i = 0; i < esperado.length; i++)
+            if (Double.isNaN(esperado[i]))
+                Assert.assertTrue(Double.isNaN(ordenado[i]));
+            else
+                Assert.assertTrue(esperado[i] + " != " + ordenado[i], esperado[i] == ordenado[i]);
+        for (int i = 0; i < 50 && ordenado.length > 0; i++) {
+            double e = ordenado[random.nextInt(ordenado.length)];
+            if (random.nextBoolean())
+                e += 0.5;
+            int j = Arreglos.busquedaBinaria(ordenado, e);
+            if (Double.isNaN(e) || e == 0.0) {
+                /* Arrays.binarySearch distingue -0.0 de 0.0 y encuentra a
+                 * NaN; la búsqueda de Arreglos no. */
+                if (Double.isNaN(e))
+                    Assert.assertEquals(-1, j);
+                continue;
+            }
+            Assert.assertEquals(Arrays.binarySearch(esperado, e) >= 0, j >= 0);
+            if (j >= 0) {
+                Assert.assertTrue(e == ordenado[j]);
+                Assert.assertTrue(j + 1 == ordenado.length || ordenado[j + 1] != e);
+            }
+        }
+    }
+}
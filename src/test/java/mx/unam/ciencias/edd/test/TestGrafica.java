@@ -0,0 +1,126 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import mx.unam.ciencias.edd.Grafica;
+import mx.unam.ciencias.edd.VerticeGrafica;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link Grafica}.
+ */
+public class TestGrafica {
+
+    /** Expiración para que ninguna prueba tarde más de 10 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(10);
+
+    /* Generador de números aleatorios. */
+    private Random random = new Random(2029);
+
+    /**
+     * Prueba los grados, los vecinos y el número de aristas con conexiones,
+     * desconexiones y eliminaciones al azar.
+     */
+    @Test public void testConectaDesconectaElimina() {
+        int n = 60;
+        Grafica<Integer> grafica = new Grafica<>();
+        List<Set<Integer>> modelo = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            grafica.agrega(i);
+            modelo.add(new HashSet<>());
+        }
+        verifica(grafica, modelo);
+        for (int i = 0; i < 5000; i++) {
+            int a = random.nextInt(n), b = random.nextInt(n);
+            if (modelo.get(a) == null || modelo.get(b) == null)
+                continue;
+            if (a == b) {
+                try {
+                    grafica.conecta(a, b);
+                    Assert.fail();
+                } catch (IllegalArgumentException iae) {}
+            } else if (modelo.get(a).contains(b)) {
+                try {
+                    grafica.conecta(a, b);
+                    Assert.fail();
+                } catch (IllegalArgumentException iae) {}
+                grafica.desconecta(a, b);
+                modelo.get(a).remove(b);
+                modelo.get(b).remove(a);
+            } else {
+                try {
+                    grafica.desconecta(a, b);
+                    Assert.fail();
+                } catch (IllegalArgumentException iae) {}
+                grafica.conecta(a, b);
+                modelo.get(a).add(b);
+                modelo.get(b).add(a);
+            }
+            if (i % 500 == 499) {
+                /* Eliminamos un vértice y lo volvemos a agregar, aislado. */
+                int v = random.nextInt(n);
+                grafica.elimina(v);
+                for (Integer u : modelo.get(v))
+                    modelo.get(u).remove(v);
+                modelo.set(v, null);
+                verifica(grafica, modelo);
+                try {
+                    grafica.conecta(v, (v + 1) % n);
+                    Assert.fail();
+                } catch (NoSuchElementException nsee) {}
+                grafica.agrega(v);
+                modelo.set(v, new HashSet<>());
+            }
+            verifica(grafica, modelo);
+        }
+    }
+
+    /**
+     * Prueba que los vértices aislados no sean vecinos de nadie.
+     */
+    @Test public void testAislados() {
+        Grafica<String> grafica = new Grafica<>();
+        grafica.agrega("a");
+        grafica.agrega("b");
+        Assert.assertFalse(grafica.sonVecinos("a", "b"));
+        Assert.assertEquals(0, grafica.vertice("a").getGrado());
+        try {
+            grafica.desconecta("a", "b");
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        grafica.elimina("a");
+        Assert.assertEquals(1, grafica.getElementos());
+        Assert.assertEquals(0, grafica.getAristas());
+    }
+
+    /* Verifica los grados, los vecinos y el número de aristas. */
+    private static void verifica(Grafica<Integer> grafica, List<Set<Integer>> modelo) {
+        int vertices = 0, grados = 0;
+        for (int v = 0; v < modelo.size(); v++) {
+            Set<Integer> vecinos = modelo.get(v);
+            Assert.assertEquals(vecinos != null, grafica.contiene(v));
+            if (vecinos == null)
+                continue;
+            vertices++;
+            VerticeGrafica<Integer> vertice = grafica.vertice(v);
+            Assert.assertEquals(vecinos.size(), vertice.getGrado());
+            grados += vertice.getGrado();
+            Set<Integer> iterados = new HashSet<>();
+            for (VerticeGrafica<Integer> u : vertice.vecinos())
+                Assert.assertTrue(iterados.add(u.get()));
+            Assert.assertEquals(vecinos, iterados);
+            for (int u = 0; u < modelo.size(); u++)
+                if (modelo.get(u) != null)
+                    Assert.assertEquals(vecinos.contains(u), grafica.sonVecinos(v, u));
+        }
+        Assert.assertEquals(vertices, grafica.getElementos());
+        Assert.assertEquals(grados / 2, grafica.getAristas());
+    }
+}
@@ -0,0 +1,171 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import mx.unam.ciencias.edd.IteradorLista;
+import mx.unam.ciencias.edd.Lista;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias del ordenamiento de la clase {@link Lista}.
+ */
+public class TestLista {
+
+    /** Expiración para que ninguna prueba tarde más de 10 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(10);
+
+    /* Generador de números aleatorios. */
+    private Random random = new Random(2030);
+
+    /* Elemento con una llave, por la que se ordena, y su posición original,
+     * para revisar la estabilidad. */
+    private static class Par {
+
+        /* La llave. */
+        private int llave;
+        /* La posición original. */
+        private int posicion;
+
+        /* Crea un par con la llave y posición recibidas. */
+        public Par(int llave, int posicion) {
+            this.llave = llave;
+            this.posicion = posicion;
+        }
+
+        @Override public String toString() {
+            return llave + "@" + posicion;
+        }
+    }
+
+    /* Compara pares sólo por su llave. */
+    private static final Comparator<Par> POR_LLAVE = (a, b) -> Integer.compare(a.llave, b.llave);
+
+    /**
+     * Prueba que ordenar sea estable con muchas llaves iguales, comparando
+     * contra {@link Collections#sort}, que también es estable.
+     */
+    @Test public void testEstable() {
+        for (int n = 0; n < 300; n++) {
+            List<Par> pares = new ArrayList<>();
+            for (int i = 0; i < n; i++)
+                pares.add(new Par(random.nextInt(1 + n / 8), i));
+            verificaOrdena(pares);
+        }
+    }
+
+    /**
+     * Prueba listas hechas de corridas: crecientes, estrictamente
+     * decrecientes, decrecientes con llaves iguales, y mezclas de ellas.
+     */
+    @Test public void testCorridas() {
+        for (int n = 0; n < 200; n++) {
+            List<Par> crecientes = new ArrayList<>();
+            List<Par> decrecientes = new ArrayList<>();
+            List<Par> decrecientesConIguales = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                crecientes.add(new Par(i, i));
+                decrecientes.add(new Par(n - i, i));
+                decrecientesConIguales.add(new Par((n - i) / 2, i));
+            }
+            verificaOrdena(crecientes);
+            verificaOrdena(decrecientes);
+            verificaOrdena(decrecientesConIguales);
+
+            List<Par> corridas = new ArrayList<>();
+            while (corridas.size() < n) {
+                int largo = 1 + random.nextInt(10);
+                int inicio = random.nextInt(20);
+                boolean crece = random.nextBoolean();
+                for (int i = 0; i < largo; i++)
+                    corridas.add(new Par(crece ? inicio + i : inicio - i, corridas.size()));
+            }
+            verificaOrdena(corridas);
+        }
+    }
+
+    /**
+     * Prueba listas vacías y de un elemento.
+     */
+    @Test public void testVaciaYUnElemento() {
+        Lista<Integer> lista = new Lista<>();
+        Lista.ordena(lista);
+        Assert.assertTrue(lista.esVacia());
+        Assert.assertTrue(Lista.mergeSort(lista).esVacia());
+        lista.agrega(5);
+        Lista.ordena(lista);
+        Assert.assertEquals(1, lista.getLongitud());
+        Assert.assertEquals(Integer.valueOf(5), lista.getPrimero());
+        Assert.assertEquals(Integer.valueOf(5), lista.getUltimo());
+        Assert.assertEquals(Integer.valueOf(5), lista.eliminaUltimo());
+        Assert.assertTrue(lista.esVacia());
+    }
+
+    /**
+     * Prueba que {@link Lista#mergeSort} regrese una copia ordenada sin
+     * modificar la lista original.
+     */
+    @Test public void testMergeSortCopia() {
+        Lista<Integer> lista = new Lista<>();
+        List<Integer> elementos = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int e = random.nextInt(100);
+            lista.agrega(e);
+            elementos.add(e);
+        }
+        Lista<Integer> ordenada = Lista.mergeSort(lista);
+        Assert.assertEquals(elementos, aLista(lista));
+        Collections.sort(elementos);
+        Assert.assertEquals(elementos, aLista(ordenada));
+        verificaLigas(ordenada, elementos);
+    }
+
+    /* Ordena una lista con los pares y verifica que quede como con
+     * Collections.sort, con sus ligas hacia atrás y su rabo correctos. */
+    private static void verificaOrdena(List<Par> pares) {
+        Lista<Par> lista = new Lista<>();
+        for (Par p : pares)
+            lista.agrega(p);
+        List<Par> esperados = new ArrayList<>(pares);
+        esperados.sort(POR_LLAVE);
+        lista.ordena(POR_LLAVE);
+        Assert.assertEquals(esperados, aLista(lista));
+        verificaLigas(lista, esperados);
+    }
+
+    /* Verifica que la lista tenga los elementos esperados al recorrerla
+     * hacia atrás, y que su rabo funcione al agregar y eliminar. */
+    private static <T> void verificaLigas(Lista<T> lista, List<T> esperados) {
+        Assert.assertEquals(esperados.size(), lista.getLongitud());
+        List<T> haciaAtras = new ArrayList<>();
+        IteradorLista<T> iterador = lista.iteradorLista();
+        iterador.end();
+        while (iterador.hasPrevious())
+            haciaAtras.add(iterador.previous());
+        Collections.reverse(haciaAtras);
+        Assert.assertEquals(esperados, haciaAtras);
+        if (esperados.isEmpty())
+            return;
+        Assert.assertSame(esperados.get(0), lista.getPrimero());
+        Assert.assertSame(esperados.get(esperados.size() - 1), lista.getUltimo());
+        /* Agregar y eliminar al final usa el rabo. */
+        T ultimo = lista.eliminaUltimo();
+        Assert.assertSame(esperados.get(esperados.size() - 1), ultimo);
+        lista.agregaFinal(ultimo);
+        Assert.assertEquals(esperados, aLista(lista));
+        Assert.assertEquals(esperados.size(), lista.getLongitud());
+    }
+
+    /* Regresa los elementos de la lista en una lista de Java. */
+    private static <T> List<T> aLista(Lista<T> lista) {
+        List<T> elementos = new ArrayList<>();
+        for (T e : lista)
+            elementos.add(e);
+        return elementos;
+    }
+}
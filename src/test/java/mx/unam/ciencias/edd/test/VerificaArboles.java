@@ -0,0 +1,194 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+import mx.unam.ciencias.edd.ArbolBinario;
+import mx.unam.ciencias.edd.ArbolBinarioOrdenado;
+import mx.unam.ciencias.edd.VerticeArbolBinario;
+import org.junit.Assert;
+
+/**
+ * Verificaciones comunes a las pruebas de árboles binarios. Todas recorren el
+ * árbol con una pila explícita, para poder revisar árboles degenerados.
+ */
+final class VerificaArboles {
+
+    private VerificaArboles() {}
+
+    /**
+     * Regresa los vértices del árbol en pre-orden.
+     * @param arbol el árbol.
+     * @return los vértices del árbol en pre-orden.
+     */
+    static <T> List<VerticeArbolBinario<T>> preOrden(ArbolBinario<T> arbol) {
+        List<VerticeArbolBinario<T>> vertices = new ArrayList<>();
+        if (arbol.esVacia())
+            return vertices;
+        ArrayDeque<VerticeArbolBinario<T>> pila = new ArrayDeque<>();
+        pila.push(arbol.raiz());
+        while (!pila.isEmpty()) {
+            VerticeArbolBinario<T> v = pila.pop();
+            vertices.add(v);
+            if (v.hayDerecho())
+                pila.push(v.derecho());
+            if (v.hayIzquierdo())
+                pila.push(v.izquierdo());
+        }
+        return vertices;
+    }
+
+    /**
+     * Regresa los elementos del árbol en in-orden, recorriendo sus vértices.
+     * @param arbol el árbol.
+     * @return los elementos del árbol en in-orden.
+     */
+    static <T> List<T> inOrden(ArbolBinario<T> arbol) {
+        List<T> elementos = new ArrayList<>();
+        if (arbol.esVacia())
+            return elementos;
+        ArrayDeque<VerticeArbolBinario<T>> pila = new ArrayDeque<>();
+        VerticeArbolBinario<T> v = arbol.raiz();
+        while (v != null || !pila.isEmpty()) {
+            while (v != null) {
+                pila.push(v);
+                v = v.hayIzquierdo() ? v.izquierdo() : null;
+            }
+            v = pila.pop();
+            elementos.add(v.get());
+            v = v.hayDerecho() ? v.derecho() : null;
+        }
+        return elementos;
+    }
+
+    /**
+     * Verifica que los padres de los vértices sean consistentes con sus
+     * hijos, que el número de vértices sea el número de elementos, y que la
+     * altura de cada vértice y del árbol sea la que se calcula desde cero.
+     * @param arbol el árbol.
+     * @return la altura recalculada de cada vértice.
+     */
+    static <T> Map<VerticeArbolBinario<T>, Integer>
+    verificaEstructura(ArbolBinario<T> arbol) {
+        Map<VerticeArbolBinario<T>, Integer> alturas = new IdentityHashMap<>();
+        List<VerticeArbolBinario<T>> vertices = preOrden(arbol);
+        Assert.assertEquals(arbol.getElementos(), vertices.size());
+        if (arbol.esVacia()) {
+            Assert.assertEquals(-1, arbol.altura());
+            return alturas;
+        }
+        Assert.assertFalse(arbol.raiz().hayPadre());
+        /* En pre-orden invertido los hijos aparecen antes que su padre. */
+        for (int i = vertices.size() - 1; i >= 0; i--) {
+            VerticeArbolBinario<T> v = vertices.get(i);
+            int izquierda = -1, derecha = -1;
+            if (v.hayIzquierdo()) {
+                Assert.assertSame(v, v.izquierdo().padre());
+                izquierda = alturas.get(v.izquierdo());
+            }
+            if (v.hayDerecho()) {
+                Assert.assertSame(v, v.derecho().padre());
+                derecha = alturas.get(v.derecho());
+            }
+            int altura = 1 + Math.max(izquierda, derecha);
+            alturas.put(v, altura);
+            Assert.assertEquals(altura, v.altura());
+        }
+        Assert.assertEquals((int)alturas.get(arbol.raiz()), arbol.altura());
+        return alturas;
+    }
+
+    /**
+     * Verifica que el in-orden del árbol, tanto por sus vértices como por su
+     * iterador, sea la lista ordenada recibida.
+     * @param arbol el árbol.
+     * @param ordenados los elementos esperados, ordenados.
+     */
+    static <T> void verificaOrden(ArbolBinario<T> arbol, List<T> ordenados) {
+        Assert.assertEquals(ordenados, inOrden(arbol));
+        List<T> iterados = new ArrayList<>();
+        for (T e : arbol)
+            iterados.add(e);
+        Assert.assertEquals(ordenados, iterados);
+    }
+
+    /**
+     * Hace rondas de operaciones sobre el árbol: agregados al azar, corridas
+     * crecientes y decrecientes (que usan la inserción por dedo), y
+     * eliminaciones al azar, de elementos que no están, y de corridas. Al
+     * final de cada ronda se invoca la verificación con los elementos que
+     * debe tener el árbol, ordenados.
+     * @param arbol el árbol, vacío.
+     * @param random el generador de números.
+     * @param rondas el número de rondas.
+     * @param verifica la verificación que se hace al final de cada ronda.
+     */
+    static void operacionesMixtas(ArbolBinarioOrdenado<Integer> arbol, Random random,
+                                  int rondas, Consumer<List<Integer>> verifica) {
+        List<Integer> modelo = new ArrayList<>();
+        for (int ronda = 0; ronda < rondas; ronda++) {
+            int n = 1 + random.nextInt(64);
+            int inicio = random.nextInt(1000);
+            switch (random.nextInt(5)) {
+            case 0:
+                for (int i = 0; i < n; i++)
+                    agrega(arbol, modelo, random.nextInt(1000));
+                break;
+            case 1:
+                for (int i = 0; i < n; i++)
+                    agrega(arbol, modelo, inicio + i);
+                break;
+            case 2:
+                for (int i = 0; i < n; i++)
+                    agrega(arbol, modelo, inicio - i);
+                break;
+            case 3:
+                for (int i = 0; i < n && !modelo.isEmpty(); i++) {
+                    Integer e = random.nextBoolean() ?
+                        modelo.get(random.nextInt(modelo.size())) :
+                        Integer.valueOf(random.nextInt(1000));
+                    arbol.elimina(e);
+                    modelo.remove(e);
+                }
+                break;
+            default:
+                for (int i = 0; i < n; i++) {
+                    Integer e = inicio + i;
+                    arbol.elimina(e);
+                    modelo.remove(e);
+                }
+                break;
+            }
+            verifica.accept(modelo);
+        }
+        for (Integer e : new ArrayList<>(modelo)) {
+            arbol.elimina(e);
+            modelo.remove(e);
+        }
+        verifica.accept(modelo);
+        Assert.assertTrue(arbol.esVacia());
+    }
+
+    /* Agrega el elemento al árbol y a la lista ordenada que lo modela. */
+    private static void agrega(ArbolBinarioOrdenado<Integer> arbol,
+                               List<Integer> modelo, int elemento) {
+        arbol.agrega(elemento);
+        int i = Collections.binarySearch(modelo, elemento);
+        modelo.add(i < 0 ? -i - 1 : i, elemento);
+    }
+
+    /**
+     * Regresa la altura de un árbol balanceado con el número de elementos
+     * recibido: &lfloor;log<sub>2</sub> n&rfloor;.
+     * @param n el número de elementos; debe ser positivo.
+     * @return la altura mínima de un árbol con <em>n</em> elementos.
+     */
+    static int alturaMinima(int n) {
+        return 31 - Integer.numberOfLeadingZeros(n);
+    }
+}